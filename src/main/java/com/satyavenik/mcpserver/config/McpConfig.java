@@ -0,0 +1,40 @@
+package com.satyavenik.mcpserver.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * MCP Configuration - Shared infrastructure beans for request execution
+ */
+@Configuration
+@EnableConfigurationProperties(McpProperties.class)
+public class McpConfig {
+
+    /**
+     * Bounded executor for batched and pipelined MCP requests. When the queue is full the
+     * submitting thread runs the request itself, which throttles clients instead of growing memory.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService mcpExecutor(McpProperties properties) {
+        McpProperties.Executor config = properties.getExecutor();
+        AtomicInteger counter = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "mcp-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return new ThreadPoolExecutor(config.getThreads(), config.getThreads(),
+                60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(config.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+}
@@ -0,0 +1,241 @@
+package com.satyavenik.mcpserver.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MCP Properties - Server tuning options bound from the "mcp" configuration prefix
+ */
+@Data
+@ConfigurationProperties(prefix = "mcp")
+public class McpProperties {
+
+    private final Batch batch = new Batch();
+
+    private final Executor executor = new Executor();
+
+    private final WebSocket websocket = new WebSocket();
+
+    private final Http http = new Http();
+
+    private final Jdbc jdbc = new Jdbc();
+
+    private final Registry registry = new Registry();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Notifications notifications = new Notifications();
+
+    private final Templates templates = new Templates();
+
+    /**
+     * Additional databases served by the schema registry, by name
+     */
+    private final Map<String, Database> databases = new LinkedHashMap<>();
+
+    @Data
+    public static class Batch {
+
+        /**
+         * Maximum number of requests accepted in a single JSON-RPC batch
+         */
+        private int maxSize = 100;
+    }
+
+    @Data
+    public static class Executor {
+
+        /**
+         * Number of worker threads executing batched and pipelined requests
+         */
+        private int threads = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Maximum number of queued requests before callers run requests themselves
+         */
+        private int queueCapacity = 1000;
+    }
+
+    @Data
+    public static class WebSocket {
+
+        /**
+         * Maximum number of requests a session may have in flight; further frames wait until one completes
+         */
+        private int maxInFlight = 64;
+
+        /**
+         * Maximum size in bytes of an inbound text frame
+         */
+        private int maxMessageSize = 1024 * 1024;
+
+        /**
+         * Maximum time in milliseconds a send may take before the session is closed
+         */
+        private int sendTimeLimit = 10_000;
+
+        /**
+         * Maximum number of bytes queued for a slow session before it is closed
+         */
+        private int sendBufferSize = 4 * 1024 * 1024;
+
+        /**
+         * Origins allowed to open WebSocket sessions from a browser; empty allows same-origin only
+         */
+        private List<String> allowedOrigins = new ArrayList<>();
+    }
+
+    @Data
+    public static class Http {
+
+        /**
+         * Interval in milliseconds between keep-alive comments on open event streams
+         */
+        private long keepAliveInterval = 30_000;
+
+        /**
+         * Idle time in milliseconds after which a session without an open stream expires
+         */
+        private long sessionTimeout = 30 * 60_000;
+    }
+
+    @Data
+    public static class Jdbc {
+
+        /**
+         * JDBC URL of the database to introspect; the built-in example schema is served when unset
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        /**
+         * Name reported for the schema; defaults to the connection catalog
+         */
+        private String name;
+
+        /**
+         * Catalog to introspect; all catalogs when unset
+         */
+        private String catalog;
+
+        /**
+         * Schema name pattern to introspect, e.g. PUBLIC; all schemas when unset
+         */
+        private String schemaPattern;
+
+        /**
+         * Table types to include
+         */
+        private List<String> tableTypes = new ArrayList<>(List.of("TABLE", "VIEW"));
+
+        /**
+         * Number of connections used to read table keys in parallel
+         */
+        private int parallelism = 4;
+
+        /**
+         * Interval in milliseconds between background refreshes; 0 disables refreshing
+         */
+        private long refreshInterval = 60_000;
+
+        /**
+         * Every n-th refresh re-reads all tables, picking up key changes on otherwise unchanged tables
+         */
+        private int fullRefreshEvery = 10;
+
+        /**
+         * File the schema is saved to as a binary image after each change. When the file exists at startup
+         * the schema is served from it immediately and the database is introspected in the background.
+         */
+        private String snapshotFile;
+    }
+
+    @Data
+    public static class Registry {
+
+        /**
+         * Name under which the primary schema is published, as in schema://database/{name}
+         */
+        private String defaultName = "ecommerce";
+
+        /**
+         * Estimated bytes of loaded schemas kept in memory; less frequently used schemas are evicted beyond it
+         */
+        private long maxBytes = 256L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Pagination {
+
+        /**
+         * Largest page returned by paginated listings; also the page size when the client does not ask for one
+         */
+        private int maxPageSize = 100;
+    }
+
+    @Data
+    public static class Notifications {
+
+        /**
+         * Milliseconds to wait after a change before notifying subscribers; changes within the window
+         * are sent as one update
+         */
+        private long coalesceWindow = 200;
+    }
+
+    @Data
+    public static class Templates {
+
+        /**
+         * Directory of *.yml, *.yaml and *.json template files added to the built-in templates;
+         * a file template replaces a built-in template of the same name
+         */
+        private String directory;
+
+        /**
+         * Reload changed files while the server runs
+         */
+        private boolean watch = true;
+
+        /**
+         * Milliseconds to wait for further changes after a file changes before reloading
+         */
+        private long reloadDelay = 100;
+    }
+
+    @Data
+    public static class Database {
+
+        private String description;
+
+        /**
+         * JDBC URL to introspect on first access
+         */
+        private String url;
+
+        private String username;
+
+        private String password;
+
+        private String catalog;
+
+        private String schemaPattern;
+
+        private List<String> tableTypes = new ArrayList<>(List.of("TABLE", "VIEW"));
+
+        private int parallelism = 4;
+
+        /**
+         * Location of a schema JSON file, e.g. file:/etc/mcp/sales.json, used instead of a JDBC URL
+         */
+        private String location;
+    }
+}
@@ -0,0 +1,29 @@
+package com.satyavenik.mcpserver.config;
+
+import com.satyavenik.mcpserver.controller.McpWebSocketHandler;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+/**
+ * WebSocket Configuration - Registers the MCP WebSocket transport at /mcp/ws
+ */
+@Configuration
+@EnableWebSocket
+public class WebSocketConfig implements WebSocketConfigurer {
+
+    private final McpWebSocketHandler mcpWebSocketHandler;
+    private final McpProperties properties;
+
+    public WebSocketConfig(McpWebSocketHandler mcpWebSocketHandler, McpProperties properties) {
+        this.mcpWebSocketHandler = mcpWebSocketHandler;
+        this.properties = properties;
+    }
+
+    @Override
+    public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+        registry.addHandler(mcpWebSocketHandler, "/mcp/ws")
+                .setAllowedOrigins(properties.getWebsocket().getAllowedOrigins().toArray(String[]::new));
+    }
+}
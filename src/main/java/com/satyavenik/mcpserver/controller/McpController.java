@@ -1,36 +1,188 @@
 package com.satyavenik.mcpserver.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.satyavenik.mcpserver.model.ResourceContent;
+import com.satyavenik.mcpserver.protocol.McpBatch;
+import com.satyavenik.mcpserver.protocol.McpException;
 import com.satyavenik.mcpserver.protocol.McpRequest;
 import com.satyavenik.mcpserver.protocol.McpResponse;
-import com.satyavenik.mcpserver.service.McpService;
+import com.satyavenik.mcpserver.service.McpDispatcher;
+import com.satyavenik.mcpserver.service.McpMessageReader;
+import com.satyavenik.mcpserver.service.McpSession;
+import com.satyavenik.mcpserver.service.McpSessionRegistry;
+import com.satyavenik.mcpserver.service.ResourceService;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 
 /**
- * MCP Controller - REST endpoint for MCP protocol
+ * MCP Controller - REST endpoint for MCP protocol.
+ * Supports plain JSON request/response as well as the streamable HTTP transport: clients that accept
+ * text/event-stream get responses as server-sent events, and may hold a GET stream per session for
+ * server-initiated notifications.
  */
 @RestController
 @RequestMapping("/mcp")
 @Slf4j
 public class McpController {
 
-    private final McpService mcpService;
+    public static final String SESSION_HEADER = "Mcp-Session-Id";
+
+    private static final byte[] EVENT_PREFIX = "event: message\ndata: ".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] EVENT_SUFFIX = "\n\n".getBytes(StandardCharsets.US_ASCII);
 
-    public McpController(McpService mcpService) {
-        this.mcpService = mcpService;
+    private final McpMessageReader messageReader;
+    private final McpDispatcher dispatcher;
+    private final McpSessionRegistry sessionRegistry;
+    private final ResourceService resourceService;
+    private final ObjectWriter eventWriter;
+
+    public McpController(McpMessageReader messageReader, McpDispatcher dispatcher,
+                         McpSessionRegistry sessionRegistry, ResourceService resourceService,
+                         ObjectMapper objectMapper) {
+        this.messageReader = messageReader;
+        this.dispatcher = dispatcher;
+        this.sessionRegistry = sessionRegistry;
+        this.resourceService = resourceService;
+        // Event data must stay on one line and the servlet stream must stay open between events
+        this.eventWriter = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
     }
 
     /**
-     * Handle MCP JSON-RPC requests
-     * @param request MCP request
-     * @return MCP response
+     * Handle MCP JSON-RPC requests. Accepts a single request object or a batch array;
+     * batched requests run in parallel and responses are returned in request order.
+     * @param body Raw JSON-RPC payload
+     * @param sessionId Session id returned by initialize, if the client has one
+     * @param accept Accept header; text/event-stream selects a streamed response
+     * @param servletResponse Response written directly when streaming events
+     * @return MCP response, array of responses, or 202 Accepted when only notifications were sent;
+     *         null when the responses were streamed as events
      */
     @PostMapping
-    public ResponseEntity<McpResponse> handleMcpRequest(@RequestBody McpRequest request) {
-        log.info("Received MCP request: {}", request.getMethod());
-        McpResponse response = mcpService.processRequest(request);
-        return ResponseEntity.ok(response);
+    public ResponseEntity<?> handleMcpRequest(@RequestBody byte[] body,
+                                              @RequestHeader(value = SESSION_HEADER, required = false) String sessionId,
+                                              @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+                                              HttpServletResponse servletResponse) throws IOException {
+        if (sessionId != null) {
+            if (!(sessionRegistry.get(sessionId) instanceof StreamableHttpSession session)) {
+                return ResponseEntity.notFound().build();
+            }
+            session.touch();
+        }
+
+        McpBatch batch;
+        try {
+            batch = messageReader.read(body);
+        } catch (McpException e) {
+            log.warn("Rejected MCP payload: {}", e.getMessage());
+            return ResponseEntity.ok(McpResponse.builder()
+                    .jsonrpc("2.0")
+                    .error(e.toError())
+                    .build());
+        }
+
+        if (batch.batch()) {
+            log.info("Received MCP batch: {} requests", batch.requests().size());
+        } else {
+            log.info("Received MCP request: {}", batch.requests().get(0).getMethod());
+        }
+
+        HttpHeaders headers = new HttpHeaders();
+        if (sessionId == null && isInitialize(batch.requests())) {
+            StreamableHttpSession session = new StreamableHttpSession(UUID.randomUUID().toString());
+            sessionRegistry.register(session);
+            headers.set(SESSION_HEADER, session.getId());
+        }
+        String requestSession = sessionId != null ? sessionId : headers.getFirst(SESSION_HEADER);
+
+        if (accept != null && accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE) && expectsResponse(batch.requests())) {
+            headers.forEach((name, values) -> values.forEach(value -> servletResponse.addHeader(name, value)));
+            streamResponses(batch.requests(), requestSession, servletResponse);
+            return null;
+        }
+
+        List<McpResponse> responses = dispatcher.processBatch(batch.requests(), requestSession);
+        if (responses.isEmpty()) {
+            return ResponseEntity.accepted().headers(headers).build();
+        }
+        return ResponseEntity.ok()
+                .headers(headers)
+                .body(batch.batch() ? responses : responses.get(0));
+    }
+
+    /**
+     * Open the event stream of a session for server-initiated messages.
+     * A new stream replaces the session's previous one.
+     * @param sessionId Session id returned by initialize
+     * @return Server-sent event stream, or 404 for an unknown session
+     */
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> openStream(@RequestHeader(SESSION_HEADER) String sessionId) {
+        if (!(sessionRegistry.get(sessionId) instanceof StreamableHttpSession session)) {
+            return ResponseEntity.notFound().build();
+        }
+        SseEmitter emitter = new SseEmitter(0L);
+        session.attach(emitter);
+        log.info("Opened event stream for MCP session {}", sessionId);
+        return ResponseEntity.ok().header(SESSION_HEADER, sessionId).body(emitter);
+    }
+
+    /**
+     * Terminate a session and close its event stream
+     * @param sessionId Session id returned by initialize
+     * @return 204 No Content, or 404 for an unknown session
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> closeSession(@RequestHeader(SESSION_HEADER) String sessionId) {
+        McpSession session = sessionRegistry.get(sessionId);
+        if (!(session instanceof StreamableHttpSession)) {
+            return ResponseEntity.notFound().build();
+        }
+        sessionRegistry.remove(sessionId);
+        log.info("Closed MCP session {}", sessionId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Read a resource over plain HTTP. The content version is sent as ETag, so clients revalidating
+     * with If-None-Match get 304 Not Modified without a body while the resource is unchanged.
+     * @param uri Resource URI
+     * @param webRequest Request used for the conditional check
+     * @return Resource content, 304 if unchanged, or 404 for an unknown URI
+     */
+    @GetMapping(value = "/resources", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Resource> readResource(@RequestParam("uri") String uri, WebRequest webRequest) {
+        ResourceContent content = resourceService.read(uri);
+        if (content == null) {
+            return ResponseEntity.notFound().build();
+        }
+        if (webRequest.checkNotModified(content.version())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(content.version())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new InputStreamResource(content.body().get()));
     }
 
     /**
@@ -40,4 +192,64 @@ public class McpController {
     public ResponseEntity<String> health() {
         return ResponseEntity.ok("MCP Server is running");
     }
+
+    /**
+     * Write each response as its own event as soon as it completes. Responses are serialized straight
+     * into the servlet stream, so large results are flushed progressively instead of buffered whole.
+     */
+    private void streamResponses(List<McpRequest> requests, String sessionId, HttpServletResponse servletResponse)
+            throws IOException {
+        servletResponse.setStatus(HttpServletResponse.SC_OK);
+        servletResponse.setContentType(MediaType.TEXT_EVENT_STREAM_VALUE);
+        servletResponse.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        servletResponse.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        OutputStream out = servletResponse.getOutputStream();
+
+        BlockingQueue<McpResponse> completed = new LinkedBlockingQueue<>();
+        int expected = 0;
+        for (McpRequest request : requests) {
+            if (request == null) {
+                writeEvent(out, McpDispatcher.invalidRequest());
+            } else if (McpDispatcher.isNotification(request)) {
+                dispatcher.submit(request, sessionId);
+            } else {
+                // submit answers failed requests with an internal error, so every request adds one response
+                dispatcher.submit(request, sessionId).thenAccept(completed::add);
+                expected++;
+            }
+        }
+        try {
+            for (int i = 0; i < expected; i++) {
+                writeEvent(out, completed.take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while streaming MCP responses", e);
+        }
+    }
+
+    private void writeEvent(OutputStream out, McpResponse response) throws IOException {
+        out.write(EVENT_PREFIX);
+        eventWriter.writeValue(out, response);
+        out.write(EVENT_SUFFIX);
+        out.flush();
+    }
+
+    private static boolean isInitialize(List<McpRequest> requests) {
+        for (McpRequest request : requests) {
+            if (request != null && "initialize".equals(request.getMethod())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean expectsResponse(List<McpRequest> requests) {
+        for (McpRequest request : requests) {
+            if (request == null || !McpDispatcher.isNotification(request)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
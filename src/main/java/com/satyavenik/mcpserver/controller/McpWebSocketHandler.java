@@ -0,0 +1,194 @@
+package com.satyavenik.mcpserver.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.protocol.McpBatch;
+import com.satyavenik.mcpserver.protocol.McpException;
+import com.satyavenik.mcpserver.protocol.McpRequest;
+import com.satyavenik.mcpserver.protocol.McpResponse;
+import com.satyavenik.mcpserver.service.McpDispatcher;
+import com.satyavenik.mcpserver.service.McpMessageReader;
+import com.satyavenik.mcpserver.service.McpSession;
+import com.satyavenik.mcpserver.service.McpSessionRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * MCP WebSocket Handler - Persistent MCP transport with request pipelining.
+ * Each text frame carries a JSON-RPC request or batch. Requests run concurrently and each response
+ * is sent as soon as it completes, so clients match responses to requests by id.
+ */
+@Component
+@Slf4j
+public class McpWebSocketHandler extends TextWebSocketHandler {
+
+    private final McpMessageReader messageReader;
+    private final McpDispatcher dispatcher;
+    private final McpSessionRegistry sessionRegistry;
+    private final ObjectMapper objectMapper;
+    private final McpProperties.WebSocket config;
+    private final Map<String, SessionState> sessions = new ConcurrentHashMap<>();
+
+    public McpWebSocketHandler(McpMessageReader messageReader, McpDispatcher dispatcher,
+                               McpSessionRegistry sessionRegistry, ObjectMapper objectMapper,
+                               McpProperties properties) {
+        this.messageReader = messageReader;
+        this.dispatcher = dispatcher;
+        this.sessionRegistry = sessionRegistry;
+        this.objectMapper = objectMapper;
+        this.config = properties.getWebsocket();
+    }
+
+    @Override
+    public void afterConnectionEstablished(WebSocketSession session) {
+        session.setTextMessageSizeLimit(config.getMaxMessageSize());
+        // The decorator serializes concurrent sends and queues them up to the buffer limit;
+        // a session that cannot keep up is closed rather than buffering without bound
+        WebSocketSession outbound = new ConcurrentWebSocketSessionDecorator(session,
+                config.getSendTimeLimit(), config.getSendBufferSize());
+        SessionState state = new SessionState(outbound, new Semaphore(config.getMaxInFlight()));
+        sessions.put(session.getId(), state);
+        sessionRegistry.register(state);
+        log.info("MCP WebSocket session opened: {}", session.getId());
+    }
+
+    @Override
+    protected void handleTextMessage(WebSocketSession session, TextMessage message) throws Exception {
+        SessionState state = sessions.get(session.getId());
+        if (state == null) {
+            return;
+        }
+
+        McpBatch batch;
+        try {
+            batch = messageReader.read(message.getPayload());
+        } catch (McpException e) {
+            send(state, McpResponse.builder().jsonrpc("2.0").error(e.toError()).build());
+            return;
+        }
+
+        // Blocking here stops reading further frames from this session until requests complete,
+        // which pushes back on the client through TCP flow control. A batch takes a permit per request,
+        // capped at the limit so that a batch larger than it can still run on its own.
+        int permits = Math.min(batch.requests().size(), config.getMaxInFlight());
+        state.inFlight().acquire(permits);
+        CompletableFuture<?> completion = batch.batch()
+                ? processBatch(state, batch.requests())
+                : processSingle(state, batch.requests().get(0));
+        completion.whenComplete((result, error) -> {
+            state.inFlight().release(permits);
+            if (error != null) {
+                log.error("Error processing MCP WebSocket message", error);
+            }
+        });
+    }
+
+    private CompletableFuture<?> processSingle(SessionState state, McpRequest request) {
+        return dispatcher.submit(request, state.getId()).thenAccept(response -> {
+            if (!McpDispatcher.isNotification(request)) {
+                send(state, response);
+            }
+        });
+    }
+
+    private CompletableFuture<?> processBatch(SessionState state, List<McpRequest> requests) {
+        // Submitted individually rather than through McpDispatcher.processBatch, so no worker
+        // thread blocks waiting for other queued requests
+        List<CompletableFuture<McpResponse>> futures = new ArrayList<>(requests.size());
+        for (McpRequest request : requests) {
+            futures.add(request == null
+                    ? CompletableFuture.completedFuture(null)
+                    : dispatcher.submit(request, state.getId()));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).thenRun(() -> {
+            List<McpResponse> responses = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                McpRequest request = requests.get(i);
+                if (request == null) {
+                    responses.add(McpDispatcher.invalidRequest());
+                } else if (!McpDispatcher.isNotification(request)) {
+                    responses.add(futures.get(i).join());
+                }
+            }
+            if (!responses.isEmpty()) {
+                send(state, responses);
+            }
+        });
+    }
+
+    private void send(SessionState state, Object payload) {
+        try {
+            state.send(objectMapper.writeValueAsString(payload));
+        } catch (IOException e) {
+            log.error("Failed to encode MCP WebSocket response", e);
+        }
+    }
+
+    @Override
+    public void handleTransportError(WebSocketSession session, Throwable exception) {
+        log.warn("MCP WebSocket transport error on session {}: {}", session.getId(), exception.getMessage());
+    }
+
+    @Override
+    public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+        sessions.remove(session.getId());
+        sessionRegistry.remove(session.getId());
+        log.info("MCP WebSocket session closed: {} ({})", session.getId(), status);
+    }
+
+    private static void closeQuietly(WebSocketSession session, CloseStatus status) {
+        try {
+            session.close(status);
+        } catch (IOException e) {
+            log.debug("Failed to close MCP WebSocket session {}", session.getId(), e);
+        }
+    }
+
+    private record SessionState(WebSocketSession session, Semaphore inFlight) implements McpSession {
+
+        @Override
+        public String getId() {
+            return session.getId();
+        }
+
+        @Override
+        public boolean send(String message) {
+            if (!session.isOpen()) {
+                return false;
+            }
+            try {
+                session.sendMessage(new TextMessage(message));
+                return true;
+            } catch (IOException | RuntimeException e) {
+                log.warn("Closing MCP WebSocket session {}: {}", session.getId(), e.getMessage());
+                closeQuietly(session, CloseStatus.SESSION_NOT_RELIABLE);
+                return false;
+            }
+        }
+
+        @Override
+        public boolean keepAlive(long idleTimeoutMillis) {
+            return session.isOpen();
+        }
+
+        @Override
+        public void close() {
+            if (session.isOpen()) {
+                closeQuietly(session, CloseStatus.GOING_AWAY);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.satyavenik.mcpserver.controller;
+
+import com.satyavenik.mcpserver.service.McpSession;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+
+/**
+ * Streamable HTTP Session - MCP session identified by the Mcp-Session-Id header.
+ * Server-initiated messages are delivered on the event stream the client holds open via GET /mcp;
+ * at most one stream is attached at a time.
+ */
+@Slf4j
+class StreamableHttpSession implements McpSession {
+
+    private final String id;
+    private volatile SseEmitter stream;
+    private volatile long lastAccess = System.currentTimeMillis();
+
+    StreamableHttpSession(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    void touch() {
+        lastAccess = System.currentTimeMillis();
+    }
+
+    /**
+     * Attach a new event stream, completing the previous one if any
+     */
+    synchronized void attach(SseEmitter emitter) {
+        SseEmitter previous = stream;
+        stream = emitter;
+        touch();
+        emitter.onCompletion(() -> detach(emitter));
+        emitter.onTimeout(() -> detach(emitter));
+        emitter.onError(error -> detach(emitter));
+        if (previous != null) {
+            previous.complete();
+        }
+    }
+
+    private synchronized void detach(SseEmitter emitter) {
+        if (stream == emitter) {
+            stream = null;
+            touch();
+        }
+    }
+
+    @Override
+    public boolean send(String message) {
+        SseEmitter emitter = stream;
+        if (emitter == null) {
+            return false;
+        }
+        try {
+            emitter.send(SseEmitter.event().name("message").data(message));
+            return true;
+        } catch (IOException | IllegalStateException e) {
+            log.debug("Dropping event stream of MCP session {}: {}", id, e.getMessage());
+            detach(emitter);
+            return false;
+        }
+    }
+
+    @Override
+    public boolean keepAlive(long idleTimeoutMillis) {
+        SseEmitter emitter = stream;
+        if (emitter != null) {
+            try {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                detach(emitter);
+            }
+        }
+        return System.currentTimeMillis() - lastAccess < idleTimeoutMillis;
+    }
+
+    @Override
+    public void close() {
+        SseEmitter emitter = stream;
+        stream = null;
+        if (emitter != null) {
+            emitter.complete();
+        }
+    }
+}
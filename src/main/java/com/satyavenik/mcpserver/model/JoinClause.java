@@ -0,0 +1,21 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+/**
+ * Join Clause Model - One step of a join path, joining a new table to the tables before it
+ */
+@Value
+@Builder
+@Jacksonized
+public class JoinClause {
+
+    @JsonProperty("table")
+    private String table;
+
+    @JsonProperty("on")
+    private String on;
+}
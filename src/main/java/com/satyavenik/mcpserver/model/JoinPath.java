@@ -0,0 +1,26 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Builder;
+import lombok.Value;
+import lombok.extern.jackson.Jacksonized;
+
+import java.util.List;
+
+/**
+ * Join Path Model - Tables connecting a set of tables through foreign keys, with their join conditions
+ */
+@Value
+@Builder
+@Jacksonized
+public class JoinPath {
+
+    @JsonProperty("tables")
+    private List<String> tables;
+
+    @JsonProperty("joins")
+    private List<JoinClause> joins;
+
+    @JsonProperty("sql")
+    private String sql; // FROM clause body, e.g. "users JOIN orders ON users.id = orders.user_id"
+}
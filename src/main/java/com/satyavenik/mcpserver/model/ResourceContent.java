@@ -0,0 +1,19 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.InputStream;
+import java.util.function.Supplier;
+
+/**
+ * Resource Content - Cached, encoded content of a resource
+ * @param uri Resource URI
+ * @param mimeType Content type
+ * @param version Content hash
+ * @param text Content as a JSON string literal, for MCP "text" fields
+ * @param body Opens the content as UTF-8 bytes, for plain HTTP responses
+ * Content is only encoded when asked for, so a conditional request answered by version does not build it.
+ */
+public record ResourceContent(String uri, String mimeType, String version, Supplier<RawValue> text,
+                              Supplier<InputStream> body) {
+}
@@ -0,0 +1,34 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Resource Descriptor Model - An entry of resources/list
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ResourceDescriptor {
+
+    @JsonProperty("uri")
+    private String uri;
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("mimeType")
+    private String mimeType;
+
+    @JsonProperty("version")
+    private String version; // Content hash; changes whenever the content changes
+}
@@ -0,0 +1,144 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Schema Delta Model - Structural changes between two schema versions: added, removed and altered tables.
+ * Applying the delta to the previous schema gives the current one, except for the order of tables and columns.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SchemaDelta {
+
+    @JsonProperty("description")
+    private String description; // New schema description, if it changed
+
+    @JsonProperty("tablesAdded")
+    private List<TableSchema> tablesAdded;
+
+    @JsonProperty("tablesRemoved")
+    private List<String> tablesRemoved;
+
+    @JsonProperty("tablesAltered")
+    private List<TableDelta> tablesAltered;
+
+    /**
+     * Check whether the delta records no structural change
+     */
+    @JsonIgnore
+    public boolean isEmpty() {
+        return description == null && tablesAdded == null && tablesRemoved == null && tablesAltered == null;
+    }
+
+    /**
+     * Compute the changes from one schema to another. Tables and columns are matched by name.
+     * @param previous Schema clients hold
+     * @param current Schema to describe
+     * @return SchemaDelta
+     */
+    public static SchemaDelta between(DatabaseSchema previous, DatabaseSchema current) {
+        Map<String, TableSchema> before = byName(previous.getTables(), TableSchema::getName);
+        List<TableSchema> added = new ArrayList<>();
+        List<TableDelta> altered = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (TableSchema table : list(current.getTables())) {
+            seen.add(table.getName());
+            TableSchema old = before.get(table.getName());
+            if (old == null) {
+                added.add(table);
+            } else if (!old.equals(table)) {
+                altered.add(diff(old, table));
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (TableSchema table : list(previous.getTables())) {
+            if (!seen.contains(table.getName())) {
+                removed.add(table.getName());
+            }
+        }
+        return SchemaDelta.builder()
+                .description(changed(previous.getDescription(), current.getDescription()))
+                .tablesAdded(orNull(added))
+                .tablesRemoved(orNull(removed))
+                .tablesAltered(orNull(altered))
+                .build();
+    }
+
+    private static TableDelta diff(TableSchema previous, TableSchema current) {
+        Map<String, ColumnSchema> before = byName(previous.getColumns(), ColumnSchema::getName);
+        List<ColumnSchema> added = new ArrayList<>();
+        List<ColumnSchema> altered = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (ColumnSchema column : list(current.getColumns())) {
+            seen.add(column.getName());
+            ColumnSchema old = before.get(column.getName());
+            if (old == null) {
+                added.add(column);
+            } else if (!old.equals(column)) {
+                altered.add(column);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (ColumnSchema column : list(previous.getColumns())) {
+            if (!seen.contains(column.getName())) {
+                removed.add(column.getName());
+            }
+        }
+
+        List<ForeignKey> oldKeys = list(previous.getForeignKeys());
+        List<ForeignKey> newKeys = list(current.getForeignKeys());
+        return TableDelta.builder()
+                .name(current.getName())
+                .description(changed(previous.getDescription(), current.getDescription()))
+                .columnsAdded(orNull(added))
+                .columnsRemoved(orNull(removed))
+                .columnsAltered(orNull(altered))
+                .primaryKey(Objects.equals(previous.getPrimaryKey(), current.getPrimaryKey())
+                        ? null : list(current.getPrimaryKey()))
+                .foreignKeysAdded(orNull(newKeys.stream().filter(key -> !oldKeys.contains(key)).toList()))
+                .foreignKeysRemoved(orNull(oldKeys.stream().filter(key -> !newKeys.contains(key)).toList()))
+                .build();
+    }
+
+    private static <T> Map<String, T> byName(List<T> items, Function<T, String> name) {
+        Map<String, T> map = new HashMap<>();
+        for (T item : list(items)) {
+            map.putIfAbsent(name.apply(item), item);
+        }
+        return map;
+    }
+
+    // Only a changed value is reported; a description that was removed is reported as ""
+    private static String changed(String previous, String current) {
+        if (Objects.equals(previous, current)) {
+            return null;
+        }
+        return current != null ? current : "";
+    }
+
+    private static <T> List<T> list(List<T> items) {
+        return items != null ? items : List.of();
+    }
+
+    private static <T> List<T> orNull(List<T> items) {
+        return items.isEmpty() ? null : List.copyOf(items);
+    }
+}
@@ -0,0 +1,241 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.protocol.JsonPayload;
+import com.satyavenik.mcpserver.protocol.JsonText;
+import com.satyavenik.mcpserver.schema.SchemaCatalog;
+import com.satyavenik.mcpserver.schema.SchemaGraph;
+import com.satyavenik.mcpserver.schema.SchemaImage;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Schema Snapshot - Immutable, versioned view of a database schema together with its encoded JSON form.
+ * Built once per schema change and shared by all requests until the next change is published. The JSON is
+ * only kept once it has been asked for, so a snapshot that is never read in full holds just its catalog.
+ * It is kept once, as UTF-8 bytes serving both MCP and plain HTTP reads, and not at all for large schemas.
+ */
+@Getter
+public final class SchemaSnapshot {
+
+    // JSON longer than this is encoded again for each full read instead of being kept with the snapshot
+    static final int MAX_RETAINED_JSON = 4 * 1024 * 1024;
+
+    private final long version;
+
+    private final DatabaseSchema schema;
+
+    // Hash of the encoded content; equal for snapshots with identical content
+    private final String contentHash;
+
+    // Columnar form the schema is presented from, or null for an image-backed snapshot
+    @Getter(AccessLevel.NONE)
+    private final SchemaCatalog catalog;
+
+    // Binary image the schema is read from, or null for a schema held in memory
+    private final SchemaImage image;
+
+    private final ObjectMapper objectMapper;
+
+    // Estimated size of the catalog, or of the image and the tables materialized from it
+    @Getter(AccessLevel.NONE)
+    private final long catalogSize;
+
+    // JSON encoding, built on first use and kept unless it is longer than MAX_RETAINED_JSON
+    @Getter(AccessLevel.NONE)
+    private volatile JsonPayload json;
+
+    @Getter(AccessLevel.NONE)
+    private volatile boolean jsonTooLarge;
+
+    // Indexes and renderings computed from this snapshot, built on first use
+    @Getter(AccessLevel.NONE)
+    private final Map<Class<?>, Derived> derived = new ConcurrentHashMap<>();
+
+    /**
+     * Structure computed from a snapshot and kept with it, see {@link #derived}
+     */
+    public interface Derived {
+
+        /**
+         * Rough number of heap bytes held, including results cached so far
+         */
+        long estimatedSize();
+
+        /**
+         * Rough size of a string kept by a structure, 40 bytes and its characters as SchemaCatalog counts them
+         */
+        static long stringSize(String value) {
+            return value != null ? 40 + value.length() : 0;
+        }
+    }
+
+    private SchemaSnapshot(long version, SchemaCatalog catalog, String contentHash, ObjectMapper objectMapper) {
+        this.version = version;
+        this.schema = catalog.toSchema();
+        this.contentHash = contentHash;
+        this.catalog = catalog;
+        this.catalogSize = catalog.estimatedSize();
+        this.image = null;
+        this.objectMapper = objectMapper;
+    }
+
+    private SchemaSnapshot(long version, SchemaImage image, ObjectMapper objectMapper) {
+        this.version = version;
+        this.schema = DatabaseSchema.builder()
+                .name(image.getName())
+                .description(image.getDescription())
+                .tables(image.tables())
+                .build();
+        this.contentHash = image.getContentHash();
+        this.catalog = null;
+        this.catalogSize = 0;
+        this.image = image;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Create a snapshot from a schema. The schema is copied into a dictionary-encoded catalog whose tables are
+     * decoded on access, so the snapshot holds no table objects of its own.
+     * The content hash is taken while streaming the JSON encoding, which is not kept.
+     * @param version Snapshot version
+     * @param schema Source schema
+     * @param objectMapper Mapper used to encode the JSON payload
+     * @return SchemaSnapshot
+     */
+    public static SchemaSnapshot of(long version, DatabaseSchema schema, ObjectMapper objectMapper) {
+        SchemaCatalog catalog = SchemaCatalog.of(schema);
+        try {
+            return new SchemaSnapshot(version, catalog, JsonText.contentHash(objectMapper, catalog.toSchema()),
+                    objectMapper);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode schema " + schema.getName(), e);
+        }
+    }
+
+    /**
+     * Create a snapshot read from a binary image. Tables are materialized as they are accessed, and
+     * the JSON encoding is only built when it is first requested.
+     * @param version Snapshot version
+     * @param image Image of the schema
+     * @param objectMapper Mapper used to encode the JSON payload when needed
+     * @return SchemaSnapshot
+     */
+    public static SchemaSnapshot of(long version, SchemaImage image, ObjectMapper objectMapper) {
+        return new SchemaSnapshot(version, image, objectMapper);
+    }
+
+    /**
+     * Length of the JSON in UTF-8 bytes
+     */
+    public int getJsonLength() {
+        return getJson().length();
+    }
+
+    public RawValue getJsonText() {
+        return getJson().text();
+    }
+
+    /**
+     * Rough number of bytes held by this snapshot: the catalog, or the image and the tables materialized
+     * from it, plus the JSON once it has been built and kept, plus every structure derived so far.
+     */
+    public long estimatedSize() {
+        JsonPayload current = json;
+        long size = current != null ? current.size() : 0;
+        for (Derived structure : derived.values()) {
+            size += structure.estimatedSize();
+        }
+        return size + (image != null ? image.size() + image.materializedSize() : catalogSize);
+    }
+
+    /**
+     * Check whether another snapshot encodes the same content as this one, by the content hash of the
+     * JSON encoding, so neither snapshot's JSON has to be built
+     */
+    public boolean hasSameContent(SchemaSnapshot other) {
+        return other != null && contentHash.equals(other.contentHash);
+    }
+
+    /**
+     * Get a structure derived from this snapshot, building it once on first use. Derived structures
+     * (the graph, search and relevance indexes, renderings, SQL symbol tables, join paths) live and die with
+     * the snapshot, so they never need invalidation. A structure built over every table reads each one with
+     * {@link #readTable(int)}, or by name from the image, so building and querying it over an image-backed
+     * snapshot materializes no table. The factory runs outside the map, since a structure may be built from
+     * others, e.g. the rendering from the graph; racing first uses may build it twice, and all of them get the
+     * instance stored first. What each structure holds, caches included, counts towards
+     * {@link #estimatedSize()}.
+     * @param type Key and type of the structure
+     * @param factory Builds the structure from this snapshot
+     * @return Shared instance for this snapshot
+     */
+    public <T extends Derived> T derived(Class<T> type, Function<SchemaSnapshot, T> factory) {
+        Derived current = derived.get(type);
+        if (current == null) {
+            T built = factory.apply(this);
+            current = derived.putIfAbsent(type, built);
+            if (current == null) {
+                current = built;
+            }
+        }
+        return type.cast(current);
+    }
+
+    /**
+     * Read a table without keeping it, decoded from the catalog or the image
+     * @param table Index into the schema's table list
+     */
+    public TableSchema readTable(int table) {
+        return image != null ? image.table(table) : schema.getTables().get(table);
+    }
+
+    /**
+     * Get the foreign key graph of this snapshot
+     */
+    public SchemaGraph getGraph() {
+        return derived(SchemaGraph.class, SchemaGraph::of);
+    }
+
+    /**
+     * Get the JSON encoding. It is built on first use and kept, except for JSON longer than
+     * MAX_RETAINED_JSON, which is encoded again on each call so a large snapshot holds just its catalog.
+     * An image-backed schema is encoded from a fresh copy so the tables materialized for it are not kept.
+     */
+    public JsonPayload getJson() {
+        JsonPayload current = json;
+        if (current != null) {
+            return current;
+        }
+        if (jsonTooLarge) {
+            return encode();
+        }
+        synchronized (this) {
+            current = json;
+            if (current == null) {
+                current = encode();
+                if (current.length() > MAX_RETAINED_JSON) {
+                    jsonTooLarge = true;
+                } else {
+                    json = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private JsonPayload encode() {
+        try {
+            return JsonPayload.encode(objectMapper, image != null ? image.toSchema() : catalog.toSchema());
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode schema " + schema.getName(), e);
+        }
+    }
+}
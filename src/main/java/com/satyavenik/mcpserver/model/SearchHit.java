@@ -0,0 +1,34 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Search Hit Model - A table or column matching a schema search
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SearchHit {
+
+    @JsonProperty("table")
+    private String table;
+
+    @JsonProperty("column")
+    private String column; // null when the table itself matched
+
+    @JsonProperty("type")
+    private String type;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("score")
+    private double score;
+}
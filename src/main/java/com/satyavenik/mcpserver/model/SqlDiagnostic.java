@@ -0,0 +1,40 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * SQL Diagnostic Model - A problem found in SQL, located by line and column
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SqlDiagnostic {
+
+    @JsonProperty("code")
+    private String code; // syntax, unknown_table, unknown_alias, unknown_column
+
+    @JsonProperty("message")
+    private String message;
+
+    @JsonProperty("line")
+    private int line; // 1-based
+
+    @JsonProperty("column")
+    private int column; // 1-based
+
+    @JsonProperty("offset")
+    private int offset; // 0-based character offset into the SQL
+
+    @JsonProperty("length")
+    private int length;
+
+    @JsonProperty("suggestion")
+    private String suggestion; // Closest known name, if any is close
+}
@@ -0,0 +1,33 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * SQL Validation Model - Result of checking SQL against a schema
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class SqlValidation {
+
+    @JsonProperty("valid")
+    private boolean valid;
+
+    @JsonProperty("statements")
+    private int statements;
+
+    @JsonProperty("tables")
+    private List<String> tables; // Schema tables referenced
+
+    @JsonProperty("diagnostics")
+    private List<SqlDiagnostic> diagnostics;
+}
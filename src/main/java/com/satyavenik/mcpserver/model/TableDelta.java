@@ -0,0 +1,45 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Table Delta Model - Changes to one table between two schema versions; unchanged parts are left out
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableDelta {
+
+    @JsonProperty("name")
+    private String name;
+
+    @JsonProperty("description")
+    private String description; // New description, if it changed
+
+    @JsonProperty("columnsAdded")
+    private List<ColumnSchema> columnsAdded;
+
+    @JsonProperty("columnsRemoved")
+    private List<String> columnsRemoved;
+
+    @JsonProperty("columnsAltered")
+    private List<ColumnSchema> columnsAltered; // New definitions of changed columns
+
+    @JsonProperty("primaryKey")
+    private List<String> primaryKey; // New primary key, if it changed
+
+    @JsonProperty("foreignKeysAdded")
+    private List<ForeignKey> foreignKeysAdded;
+
+    @JsonProperty("foreignKeysRemoved")
+    private List<ForeignKey> foreignKeysRemoved;
+}
@@ -0,0 +1,33 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Table Suggestion Model - A table ranked by relevance to a question
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableSuggestion {
+
+    @JsonProperty("table")
+    private String table;
+
+    @JsonProperty("description")
+    private String description;
+
+    @JsonProperty("score")
+    private double score;
+
+    @JsonProperty("matchedTerms")
+    private List<String> matchedTerms;
+}
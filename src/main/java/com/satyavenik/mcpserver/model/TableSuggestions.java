@@ -0,0 +1,27 @@
+package com.satyavenik.mcpserver.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Table Suggestions Model - Tables relevant to a question, optionally with their schema
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TableSuggestions {
+
+    @JsonProperty("tables")
+    private List<TableSuggestion> tables;
+
+    @JsonProperty("schema")
+    private DatabaseSchema schema; // Only the suggested tables; null unless requested
+}
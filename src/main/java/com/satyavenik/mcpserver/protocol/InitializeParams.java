@@ -0,0 +1,15 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Params of initialize
+ */
+@JsonIgnoreProperties({"_meta"})
+public record InitializeParams(
+        @JsonProperty("protocolVersion") String protocolVersion,
+        @JsonProperty("capabilities") JsonNode capabilities,
+        @JsonProperty("clientInfo") JsonNode clientInfo) {
+}
@@ -0,0 +1,113 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.json.UTF8JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * JSON Payload - Encoded JSON document held once, as UTF-8 bytes. It is embedded in MCP "text" fields by
+ * escaping the bytes while a response is written, and served to plain HTTP clients as a read-only stream,
+ * so neither use builds or keeps a second copy.
+ */
+public final class JsonPayload implements JsonSerializable {
+
+    private final byte[] utf8;
+
+    private final RawValue text;
+
+    private JsonPayload(byte[] utf8) {
+        this.utf8 = utf8;
+        this.text = new RawValue(this);
+    }
+
+    /**
+     * Encode a value
+     * @param objectMapper Mapper that encodes the value
+     * @param value Value to encode
+     * @return JsonPayload
+     */
+    public static JsonPayload encode(ObjectMapper objectMapper, Object value) throws JsonProcessingException {
+        return new JsonPayload(objectMapper.writeValueAsBytes(value));
+    }
+
+    /**
+     * Join values encoded before into a JSON array, without encoding them again
+     * @param elements Encoded JSON values
+     * @return JsonPayload
+     */
+    public static JsonPayload array(List<String> elements) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write('[');
+        for (int i = 0; i < elements.size(); i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            out.writeBytes(elements.get(i).getBytes(StandardCharsets.UTF_8));
+        }
+        out.write(']');
+        return new JsonPayload(out.toByteArray());
+    }
+
+    /**
+     * Length of the JSON in UTF-8 bytes
+     */
+    public int length() {
+        return utf8.length;
+    }
+
+    /**
+     * JSON as a string literal, ready to be embedded as a "text" field
+     */
+    public RawValue text() {
+        return text;
+    }
+
+    /**
+     * Read the JSON as UTF-8 bytes without copying them
+     */
+    public InputStream openStream() {
+        return new ByteArrayInputStream(utf8);
+    }
+
+    /**
+     * Content hash of the JSON, see {@link JsonText#contentHash(byte[])}
+     */
+    public String contentHash() {
+        return JsonText.contentHash(utf8);
+    }
+
+    /**
+     * Rough number of bytes held: the array and the two small objects around it
+     */
+    public long size() {
+        return 56 + utf8.length;
+    }
+
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        if (gen instanceof UTF8JsonGenerator) {
+            gen.writeUTF8String(utf8, 0, utf8.length);
+        } else {
+            // Character-based generators build the whole response as text anyway
+            gen.writeString(new String(utf8, StandardCharsets.UTF_8));
+        }
+    }
+
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
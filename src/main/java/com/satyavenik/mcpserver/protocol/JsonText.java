@@ -0,0 +1,64 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.core.io.JsonStringEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * JSON Text - Helpers for embedding pre-encoded JSON documents in MCP "text" fields
+ */
+public final class JsonText {
+
+    private JsonText() {
+    }
+
+    /**
+     * Quote an already encoded JSON document as a JSON string literal. The result is written verbatim
+     * by Jackson, so cached payloads are escaped once when built rather than on every response.
+     * @param json JSON text
+     * @return Raw value ready to be embedded as a "text" field
+     */
+    public static RawValue quote(String json) {
+        char[] escaped = JsonStringEncoder.getInstance().quoteAsString(json);
+        StringBuilder literal = new StringBuilder(escaped.length + 2);
+        return new RawValue(literal.append('"').append(escaped).append('"').toString());
+    }
+
+    /**
+     * Content hash of an encoded payload, used as resource version and HTTP entity tag
+     * @param bytes Encoded payload
+     * @return First 128 bits of the SHA-256 digest as lowercase hex
+     */
+    public static String contentHash(byte[] bytes) {
+        return HexFormat.of().formatHex(sha256().digest(bytes), 0, 16);
+    }
+
+    /**
+     * Content hash of a value's JSON encoding, taken while the encoding is streamed rather than kept
+     * @param objectMapper Mapper that encodes the value
+     * @param value Value to encode
+     * @return Same hash as {@link #contentHash(byte[])} of the encoded bytes
+     */
+    public static String contentHash(ObjectMapper objectMapper, Object value) throws IOException {
+        MessageDigest digest = sha256();
+        try (OutputStream out = new DigestOutputStream(OutputStream.nullOutputStream(), digest)) {
+            objectMapper.writeValue(out, value);
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 16);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Params of paginated list methods (tools/list, resources/list)
+ * @param cursor nextCursor of the previous page, absent for the first page
+ * @param pageSize Requested number of entries, capped by the server maximum
+ */
+@JsonIgnoreProperties({"_meta"})
+public record ListParams(
+        @JsonProperty("cursor") String cursor,
+        @JsonProperty("pageSize") Integer pageSize) {
+}
@@ -0,0 +1,11 @@
+package com.satyavenik.mcpserver.protocol;
+
+import java.util.List;
+
+/**
+ * MCP Batch - Requests decoded from one JSON-RPC payload
+ * @param batch Whether the payload was a JSON array
+ * @param requests Decoded requests in payload order; a null entry marks an element that is not a valid request object
+ */
+public record McpBatch(boolean batch, List<McpRequest> requests) {
+}
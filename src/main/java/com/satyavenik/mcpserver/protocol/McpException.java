@@ -0,0 +1,32 @@
+package com.satyavenik.mcpserver.protocol;
+
+import lombok.Getter;
+
+/**
+ * MCP Exception - Failure that maps to a specific JSON-RPC error code
+ */
+@Getter
+public class McpException extends RuntimeException {
+
+    private final int code;
+
+    public McpException(int code, String message) {
+        super(message);
+        this.code = code;
+    }
+
+    public McpException(int code, String message, Throwable cause) {
+        super(message, cause);
+        this.code = code;
+    }
+
+    /**
+     * Convert to a JSON-RPC error object
+     */
+    public McpError toError() {
+        return McpError.builder()
+                .code(code)
+                .message(getMessage())
+                .build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * JSON-RPC 2.0 Notification Model - Server-initiated message that expects no response
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class McpNotification {
+
+    @JsonProperty("jsonrpc")
+    @Builder.Default
+    private String jsonrpc = "2.0";
+
+    @JsonProperty("method")
+    private String method;
+
+    @JsonProperty("params")
+    private Object params;
+}
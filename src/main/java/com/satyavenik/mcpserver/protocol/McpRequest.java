@@ -2,6 +2,8 @@ package com.satyavenik.mcpserver.protocol;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -26,6 +28,8 @@ public class McpRequest {
     @JsonProperty("method")
     private String method;
     
+    // Decoded as buffered tokens; bound to a typed params record once the method is dispatched
     @JsonProperty("params")
+    @JsonDeserialize(as = TokenBuffer.class)
     private Object params;
 }
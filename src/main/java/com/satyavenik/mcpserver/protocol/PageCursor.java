@@ -0,0 +1,43 @@
+package com.satyavenik.mcpserver.protocol;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Page Cursor - Opaque position in a paginated listing. A cursor carries the version of the listing
+ * it was issued for, so a cursor from before the listing changed is rejected instead of skipping
+ * or repeating entries.
+ */
+public record PageCursor(String version, int offset) {
+
+    public String encode() {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((version + ':' + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a cursor issued for a listing
+     * @param cursor Cursor from a previous page, or null for the first page
+     * @param version Current version of the listing
+     * @return Offset of the requested page
+     * @throws McpException with INVALID_PARAMS if the cursor is malformed or was issued for another version
+     */
+    public static int offset(String cursor, String version) {
+        if (cursor == null) {
+            return 0;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf(':');
+            if (separator > 0 && decoded.substring(0, separator).equals(version)) {
+                int offset = Integer.parseInt(decoded.substring(separator + 1));
+                if (offset >= 0) {
+                    return offset;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // Malformed base64 or offset, reported below
+        }
+        throw new McpException(McpError.INVALID_PARAMS, "Invalid or expired cursor");
+    }
+}
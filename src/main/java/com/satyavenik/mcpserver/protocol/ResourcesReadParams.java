@@ -0,0 +1,15 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Params of resources/read
+ * @param uri Resource URI
+ * @param ifNoneMatch Version the client already holds; an unchanged resource is answered without content
+ */
+@JsonIgnoreProperties({"_meta"})
+public record ResourcesReadParams(
+        @JsonProperty("uri") String uri,
+        @JsonProperty("ifNoneMatch") String ifNoneMatch) {
+}
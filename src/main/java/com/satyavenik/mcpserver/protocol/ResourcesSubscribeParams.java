@@ -0,0 +1,12 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Params of resources/subscribe and resources/unsubscribe
+ * @param uri Resource URI
+ */
+@JsonIgnoreProperties({"_meta"})
+public record ResourcesSubscribeParams(@JsonProperty("uri") String uri) {
+}
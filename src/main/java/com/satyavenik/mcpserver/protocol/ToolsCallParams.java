@@ -0,0 +1,15 @@
+package com.satyavenik.mcpserver.protocol;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+/**
+ * Params of tools/call. Arguments stay as buffered tokens until the tool is known,
+ * then decode straight into the tool's parameter types.
+ */
+@JsonIgnoreProperties({"_meta"})
+public record ToolsCallParams(
+        @JsonProperty("name") String name,
+        @JsonProperty("arguments") TokenBuffer arguments) {
+}
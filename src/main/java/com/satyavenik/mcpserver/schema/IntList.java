@@ -0,0 +1,39 @@
+package com.satyavenik.mcpserver.schema;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Growable int array, avoids boxing while collecting the columns of a catalog, graph or image
+ */
+final class IntList {
+
+    private int[] values = new int[16];
+    private int size;
+
+    void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, size * 2);
+        }
+        values[size++] = value;
+    }
+
+    void add(int a, int b) {
+        add(a);
+        add(b);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    void writeTo(ByteBuffer out) {
+        for (int i = 0; i < size; i++) {
+            out.putInt(values[i]);
+        }
+    }
+}
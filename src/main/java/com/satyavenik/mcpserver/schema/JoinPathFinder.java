@@ -0,0 +1,220 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.JoinClause;
+import com.satyavenik.mcpserver.model.JoinPath;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Join Path Finder - Shortest foreign key join paths between tables of one snapshot.
+ * Paths for more than two tables are grown one table at a time from the tables already joined,
+ * which gives a short (not always minimal) join tree. The most recently used results are cached for the
+ * life of the snapshot and shared by all callers.
+ */
+public final class JoinPathFinder implements SchemaSnapshot.Derived {
+
+    static final int MAX_CACHED_PATHS = 10_000;
+
+    private final SchemaGraph graph;
+
+    // Access-ordered, so the least recently used path is evicted once the cache is full; guarded by itself
+    private final Map<String, JoinPath> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JoinPath> eldest) {
+            if (size() > MAX_CACHED_PATHS) {
+                cachedBytes -= entrySize(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Size of the cached keys and paths; guarded by the cache
+    private long cachedBytes;
+
+    private JoinPathFinder(SchemaGraph graph) {
+        this.graph = graph;
+    }
+
+    public static JoinPathFinder of(SchemaSnapshot snapshot) {
+        return new JoinPathFinder(snapshot.getGraph());
+    }
+
+    @Override
+    public long estimatedSize() {
+        synchronized (cache) {
+            return cachedBytes;
+        }
+    }
+
+    /**
+     * Find a join path connecting the given tables, from the cache when it was computed before
+     * @param tables Table names, the first one starts the path
+     * @return JoinPath
+     * @throws IllegalArgumentException if fewer than two tables are given, a table is unknown,
+     *         or the tables are not connected
+     */
+    public JoinPath find(List<String> tables) {
+        int[] resolved = resolve(tables);
+        String key = Arrays.toString(resolved);
+        JoinPath path;
+        synchronized (cache) {
+            path = cache.get(key);
+        }
+        if (path == null) {
+            // Computed outside the lock; a concurrent caller may compute the same path, and the first one is kept
+            path = compute(resolved);
+            synchronized (cache) {
+                JoinPath existing = cache.get(key);
+                if (existing != null) {
+                    path = existing;
+                } else {
+                    cachedBytes += entrySize(key, path);
+                    cache.put(key, path);
+                }
+            }
+        }
+        return path;
+    }
+
+    // Cache entry, its key and the path's strings; the table and clause names are shared with the schema
+    private static long entrySize(String key, JoinPath path) {
+        long size = 64 + SchemaSnapshot.Derived.stringSize(key) + SchemaSnapshot.Derived.stringSize(path.getSql())
+                + 8L * path.getTables().size();
+        for (JoinClause join : path.getJoins()) {
+            size += 32 + SchemaSnapshot.Derived.stringSize(join.getOn());
+        }
+        return size;
+    }
+
+    /**
+     * Find a join path without consulting the cache
+     */
+    public JoinPath compute(List<String> tables) {
+        return compute(resolve(tables));
+    }
+
+    private int[] resolve(List<String> tables) {
+        if (tables == null || tables.size() < 2) {
+            throw new IllegalArgumentException("At least two tables are required");
+        }
+        int[] resolved = new int[tables.size()];
+        for (int i = 0; i < resolved.length; i++) {
+            resolved[i] = graph.indexOf(tables.get(i));
+            if (resolved[i] < 0) {
+                throw new IllegalArgumentException("Unknown table: " + tables.get(i));
+            }
+        }
+        return resolved;
+    }
+
+    private JoinPath compute(int[] targets) {
+        int n = graph.size();
+        BitSet joined = new BitSet(n);
+        joined.set(targets[0]);
+        List<String> names = new ArrayList<>();
+        names.add(graph.table(targets[0]).getName());
+        List<JoinClause> joins = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(SchemaRendering.identifier(names.get(0)));
+
+        int[] parent = new int[n];
+        int[] parentEdge = new int[n];
+        int[] queue = new int[n];
+        for (int t = 1; t < targets.length; t++) {
+            int target = targets[t];
+            if (joined.get(target)) {
+                continue;
+            }
+
+            // Breadth-first search from every table joined so far
+            Arrays.fill(parent, -2);
+            int head = 0;
+            int tail = 0;
+            for (int table = joined.nextSetBit(0); table >= 0; table = joined.nextSetBit(table + 1)) {
+                parent[table] = -1;
+                queue[tail++] = table;
+            }
+            while (head < tail && parent[target] == -2) {
+                int table = queue[head++];
+                for (int k = 0, degree = graph.degree(table); k < degree; k++) {
+                    int next = graph.neighbor(table, k);
+                    if (parent[next] == -2) {
+                        parent[next] = table;
+                        parentEdge[next] = graph.edge(table, k);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+            if (parent[target] == -2) {
+                throw new IllegalArgumentException("No join path between " + names.get(0) + " and "
+                        + graph.table(target).getName());
+            }
+
+            // Walk back to the joined tables, then emit the new tables in join order
+            int length = 0;
+            for (int table = target; parent[table] != -1; table = parent[table]) {
+                queue[length++] = table;
+            }
+            for (int i = length - 1; i >= 0; i--) {
+                int table = queue[i];
+                String name = graph.table(table).getName();
+                String on = condition(parentEdge[table], parent[table]);
+                joined.set(table);
+                names.add(name);
+                joins.add(JoinClause.builder().table(name).on(on).build());
+                sql.append(" JOIN ").append(SchemaRendering.identifier(name)).append(" ON ").append(on);
+            }
+        }
+
+        return JoinPath.builder()
+                .tables(List.copyOf(names))
+                .joins(List.copyOf(joins))
+                .sql(sql.toString())
+                .build();
+    }
+
+    /**
+     * Join condition of a foreign key, written from the table already joined to the new one.
+     * Referenced columns default to the referenced table's primary key.
+     */
+    private String condition(int edge, int joinedTable) {
+        ForeignKey foreignKey = graph.foreignKey(edge);
+        int owner = graph.owner(edge);
+        String ownerName = graph.table(owner).getName();
+        TableSchema referenced = graph.table(graph.indexOf(foreignKey.getReferencedTable()));
+        List<String> referencedColumns = foreignKey.getReferencedColumns() != null
+                && !foreignKey.getReferencedColumns().isEmpty()
+                ? foreignKey.getReferencedColumns()
+                : referenced.getPrimaryKey();
+        List<String> columns = foreignKey.getColumns();
+        if (columns == null || referencedColumns == null || referencedColumns.size() != columns.size()) {
+            throw new IllegalArgumentException("Foreign key of " + ownerName + " referencing "
+                    + referenced.getName() + " does not name its columns");
+        }
+
+        StringBuilder on = new StringBuilder();
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                on.append(" AND ");
+            }
+            String ownerColumn = SchemaRendering.identifier(ownerName) + "."
+                    + SchemaRendering.identifier(columns.get(i));
+            String referencedColumn = SchemaRendering.identifier(referenced.getName()) + "."
+                    + SchemaRendering.identifier(referencedColumns.get(i));
+            if (owner == joinedTable) {
+                on.append(ownerColumn).append(" = ").append(referencedColumn);
+            } else {
+                on.append(referencedColumn).append(" = ").append(ownerColumn);
+            }
+        }
+        return on.toString();
+    }
+}
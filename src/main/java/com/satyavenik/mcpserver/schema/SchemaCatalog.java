@@ -0,0 +1,346 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.TableSchema;
+
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Schema Catalog - Columnar, dictionary-encoded form of a database schema held by each snapshot.
+ * Every distinct string (names, types, default values, descriptions) is stored once, as UTF-8 in one shared
+ * byte array, and referenced by id; per-table and per-column attributes live in primitive arrays. Each table
+ * is decoded into new {@link TableSchema}, {@link ColumnSchema} and {@link ForeignKey} objects when it is
+ * accessed, so a catalog with millions of columns holds no per-column objects.
+ */
+public final class SchemaCatalog {
+
+    private static final int NULL_COLUMNS = 1;
+    private static final int NULL_KEYS = 2;
+    private static final int NULL_FOREIGN_KEYS = 4;
+
+    // String dictionary: string id is UTF-8 bytes stringOffsets[id] .. stringOffsets[id + 1] - 1; id -1 is null
+    private final byte[] stringBytes;
+    private final int[] stringOffsets;
+
+    private final int name;
+    private final int description;
+
+    // Table i owns columns columnOffsets[i] .. columnOffsets[i + 1] - 1, and likewise for keys and foreign keys
+    private final int[] tableNames;
+    private final int[] tableDescriptions;
+    private final byte[] tableFlags;
+    private final int[] columnOffsets;
+    private final int[] keyOffsets;
+    private final int[] foreignKeyOffsets;
+
+    private final int[] columnNames;
+    private final int[] columnTypes;
+    private final int[] columnDefaults;
+    private final int[] columnDescriptions;
+    private final BitSet nullable;
+
+    // Foreign key k has columns refs[start, start + columns) followed by its referenced columns; -1 is a null list
+    private final int[] foreignKeyTables;
+    private final int[] foreignKeyStarts;
+    private final int[] foreignKeyColumns;
+    private final int[] foreignKeyReferenced;
+
+    // Primary key columns, as string ids
+    private final int[] keys;
+
+    // Foreign key columns, as string ids
+    private final int[] refs;
+
+    private SchemaCatalog(Builder builder) {
+        this.stringOffsets = new int[builder.strings.size() + 1];
+        byte[][] encoded = new byte[builder.strings.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = builder.strings.get(i).getBytes(StandardCharsets.UTF_8);
+            stringOffsets[i + 1] = stringOffsets[i] + encoded[i].length;
+        }
+        this.stringBytes = new byte[stringOffsets[encoded.length]];
+        for (int i = 0; i < encoded.length; i++) {
+            System.arraycopy(encoded[i], 0, stringBytes, stringOffsets[i], encoded[i].length);
+        }
+        this.name = builder.name;
+        this.description = builder.description;
+        this.tableNames = builder.tableNames.toArray();
+        this.tableDescriptions = builder.tableDescriptions.toArray();
+        this.tableFlags = Arrays.copyOf(builder.tableFlags, builder.tableNames.size());
+        this.columnOffsets = builder.columnOffsets.toArray();
+        this.keyOffsets = builder.keyOffsets.toArray();
+        this.foreignKeyOffsets = builder.foreignKeyOffsets.toArray();
+        this.columnNames = builder.columnNames.toArray();
+        this.columnTypes = builder.columnTypes.toArray();
+        this.columnDefaults = builder.columnDefaults.toArray();
+        this.columnDescriptions = builder.columnDescriptions.toArray();
+        this.nullable = (BitSet) builder.nullable.clone();
+        this.foreignKeyTables = builder.foreignKeyTables.toArray();
+        this.foreignKeyStarts = builder.foreignKeyStarts.toArray();
+        this.foreignKeyColumns = builder.foreignKeyColumns.toArray();
+        this.foreignKeyReferenced = builder.foreignKeyReferenced.toArray();
+        this.keys = builder.keys.toArray();
+        this.refs = builder.refs.toArray();
+    }
+
+    /**
+     * Encode a schema. Later changes to the source objects do not affect the catalog.
+     * @param schema Source schema
+     * @return SchemaCatalog
+     */
+    public static SchemaCatalog of(DatabaseSchema schema) {
+        return new Builder().add(schema).build();
+    }
+
+    /**
+     * Present the catalog as a schema whose table list is an unmodifiable view
+     */
+    public DatabaseSchema toSchema() {
+        return DatabaseSchema.builder()
+                .name(string(name))
+                .description(string(description))
+                .tables(new Tables())
+                .build();
+    }
+
+    public int tableCount() {
+        return tableNames.length;
+    }
+
+    public int columnCount() {
+        return columnNames.length;
+    }
+
+    /**
+     * Number of distinct strings in the dictionary
+     */
+    public int stringCount() {
+        return stringOffsets.length - 1;
+    }
+
+    /**
+     * Rough heap footprint in bytes: the primitive arrays plus the dictionary
+     */
+    public long estimatedSize() {
+        return 4L * (tableNames.length * 5L + columnNames.length * 4L + foreignKeyTables.length * 4L
+                + keys.length + refs.length + stringOffsets.length) + stringBytes.length + tableFlags.length
+                + nullable.size() / 8;
+    }
+
+    // Decoded on each access; tables are short-lived copies, so the strings are too
+    private String string(int id) {
+        return id < 0 ? null
+                : new String(stringBytes, stringOffsets[id], stringOffsets[id + 1] - stringOffsets[id],
+                        StandardCharsets.UTF_8);
+    }
+
+    private List<String> strings(int[] ids, int start, int count) {
+        return count < 0 ? null : new Strings(ids, start, count);
+    }
+
+    private boolean isNull(int table, int flag) {
+        return (tableFlags[table] & flag) != 0;
+    }
+
+    private final class Tables extends AbstractList<TableSchema> implements RandomAccess {
+
+        @Override
+        public TableSchema get(int index) {
+            if (index < 0 || index >= tableNames.length) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return table(index);
+        }
+
+        @Override
+        public int size() {
+            return tableNames.length;
+        }
+    }
+
+    private TableSchema table(int table) {
+        List<ColumnSchema> columns = null;
+        if (!isNull(table, NULL_COLUMNS)) {
+            ColumnSchema[] array = new ColumnSchema[columnOffsets[table + 1] - columnOffsets[table]];
+            for (int c = 0; c < array.length; c++) {
+                int column = columnOffsets[table] + c;
+                array[c] = ColumnSchema.builder()
+                        .name(string(columnNames[column]))
+                        .type(string(columnTypes[column]))
+                        .nullable(nullable.get(column))
+                        .defaultValue(string(columnDefaults[column]))
+                        .description(string(columnDescriptions[column]))
+                        .build();
+            }
+            columns = List.of(array);
+        }
+        List<ForeignKey> foreignKeys = null;
+        if (!isNull(table, NULL_FOREIGN_KEYS)) {
+            ForeignKey[] array = new ForeignKey[foreignKeyOffsets[table + 1] - foreignKeyOffsets[table]];
+            for (int k = 0; k < array.length; k++) {
+                int foreignKey = foreignKeyOffsets[table] + k;
+                int start = foreignKeyStarts[foreignKey];
+                array[k] = ForeignKey.builder()
+                        .columns(strings(refs, start, foreignKeyColumns[foreignKey]))
+                        .referencedTable(string(foreignKeyTables[foreignKey]))
+                        .referencedColumns(strings(refs, start + Math.max(foreignKeyColumns[foreignKey], 0),
+                                foreignKeyReferenced[foreignKey]))
+                        .build();
+            }
+            foreignKeys = List.of(array);
+        }
+        return TableSchema.builder()
+                .name(string(tableNames[table]))
+                .description(string(tableDescriptions[table]))
+                .columns(columns)
+                .primaryKey(isNull(table, NULL_KEYS) ? null
+                        : strings(keys, keyOffsets[table], keyOffsets[table + 1] - keyOffsets[table]))
+                .foreignKeys(foreignKeys)
+                .build();
+    }
+
+    private final class Strings extends AbstractList<String> implements RandomAccess {
+
+        private final int[] ids;
+        private final int start;
+        private final int count;
+
+        Strings(int[] ids, int start, int count) {
+            this.ids = ids;
+            this.start = start;
+            this.count = count;
+        }
+
+        @Override
+        public String get(int index) {
+            if (index < 0 || index >= count) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            return string(ids[start + index]);
+        }
+
+        @Override
+        public int size() {
+            return count;
+        }
+    }
+
+    private static final class Builder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private int name;
+        private int description;
+        private final IntList tableNames = new IntList();
+        private final IntList tableDescriptions = new IntList();
+        private byte[] tableFlags = new byte[16];
+        private final IntList columnOffsets = new IntList();
+        private final IntList keyOffsets = new IntList();
+        private final IntList foreignKeyOffsets = new IntList();
+        private final IntList columnNames = new IntList();
+        private final IntList columnTypes = new IntList();
+        private final IntList columnDefaults = new IntList();
+        private final IntList columnDescriptions = new IntList();
+        private final BitSet nullable = new BitSet();
+        private final IntList foreignKeyTables = new IntList();
+        private final IntList foreignKeyStarts = new IntList();
+        private final IntList foreignKeyColumns = new IntList();
+        private final IntList foreignKeyReferenced = new IntList();
+        private final IntList keys = new IntList();
+        private final IntList refs = new IntList();
+
+        Builder add(DatabaseSchema schema) {
+            name = id(schema.getName());
+            description = id(schema.getDescription());
+            List<TableSchema> tables = schema.getTables() != null ? schema.getTables() : List.of();
+            columnOffsets.add(0);
+            keyOffsets.add(0);
+            foreignKeyOffsets.add(0);
+            for (TableSchema table : tables) {
+                add(table);
+            }
+            return this;
+        }
+
+        private void add(TableSchema table) {
+            int index = tableNames.size();
+            tableNames.add(id(table.getName()));
+            tableDescriptions.add(id(table.getDescription()));
+            int flags = 0;
+            if (table.getColumns() == null) {
+                flags |= NULL_COLUMNS;
+            } else {
+                for (ColumnSchema column : table.getColumns()) {
+                    nullable.set(columnNames.size(), column.isNullable());
+                    columnNames.add(id(column.getName()));
+                    columnTypes.add(id(column.getType()));
+                    columnDefaults.add(id(column.getDefaultValue()));
+                    columnDescriptions.add(id(column.getDescription()));
+                }
+            }
+            if (table.getPrimaryKey() == null) {
+                flags |= NULL_KEYS;
+            } else {
+                addRefs(keys, table.getPrimaryKey());
+            }
+            if (table.getForeignKeys() == null) {
+                flags |= NULL_FOREIGN_KEYS;
+            } else {
+                for (ForeignKey foreignKey : table.getForeignKeys()) {
+                    foreignKeyTables.add(id(foreignKey.getReferencedTable()));
+                    foreignKeyStarts.add(refs.size());
+                    foreignKeyColumns.add(count(foreignKey.getColumns()));
+                    foreignKeyReferenced.add(count(foreignKey.getReferencedColumns()));
+                    addRefs(refs, foreignKey.getColumns());
+                    addRefs(refs, foreignKey.getReferencedColumns());
+                }
+            }
+            if (index == tableFlags.length) {
+                tableFlags = Arrays.copyOf(tableFlags, index * 2);
+            }
+            tableFlags[index] = (byte) flags;
+            columnOffsets.add(columnNames.size());
+            keyOffsets.add(keys.size());
+            foreignKeyOffsets.add(foreignKeyTables.size());
+        }
+
+        SchemaCatalog build() {
+            return new SchemaCatalog(this);
+        }
+
+        private int id(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = strings.size();
+                strings.add(value);
+                ids.put(value, id);
+            }
+            return id;
+        }
+
+        private void addRefs(IntList target, List<String> values) {
+            if (values != null) {
+                for (String value : values) {
+                    target.add(id(value));
+                }
+            }
+        }
+
+        private static int count(List<?> list) {
+            return list != null ? list.size() : -1;
+        }
+    }
+}
@@ -0,0 +1,304 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Schema Graph - Tables of a snapshot connected by their foreign keys, in compressed adjacency form.
+ * Edges are undirected: a table is adjacent to the tables it references and to the tables referencing it.
+ */
+public final class SchemaGraph implements SchemaSnapshot.Derived {
+
+    private final List<TableSchema> tables;
+
+    // Table index by exact name, and by lower-case name for case-insensitive lookups
+    private final Map<String, Integer> index;
+
+    // Neighbors of table i are neighbors[offsets[i]] .. neighbors[offsets[i + 1] - 1], sorted and distinct
+    private final int[] offsets;
+
+    private final int[] neighbors;
+
+    // Foreign key behind each adjacency entry, as an index into foreignKeys and owners
+    private final int[] edges;
+
+    private final ForeignKey[] foreignKeys;
+
+    // Table declaring each foreign key
+    private final int[] owners;
+
+    private final long estimatedSize;
+
+    private SchemaGraph(List<TableSchema> tables, Map<String, Integer> index, int[] offsets, int[] neighbors,
+                        int[] edges, ForeignKey[] foreignKeys, int[] owners) {
+        this.tables = tables;
+        this.index = index;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.edges = edges;
+        this.foreignKeys = foreignKeys;
+        this.owners = owners;
+        // Index entries with their keys, the adjacency arrays, and the foreign keys kept for join conditions
+        long size = 4L * (offsets.length + neighbors.length + edges.length + owners.length + foreignKeys.length);
+        for (String name : index.keySet()) {
+            size += 48 + SchemaSnapshot.Derived.stringSize(name);
+        }
+        for (ForeignKey foreignKey : foreignKeys) {
+            size += 120 + SchemaSnapshot.Derived.stringSize(foreignKey.getReferencedTable())
+                    + stringsSize(foreignKey.getColumns()) + stringsSize(foreignKey.getReferencedColumns());
+        }
+        this.estimatedSize = size;
+    }
+
+    /**
+     * Build the graph of a snapshot. Foreign keys referencing tables outside the schema are ignored.
+     * @param snapshot Schema snapshot
+     * @return SchemaGraph
+     */
+    public static SchemaGraph of(SchemaSnapshot snapshot) {
+        List<TableSchema> tables = snapshot.getSchema().getTables() != null
+                ? snapshot.getSchema().getTables()
+                : List.of();
+        SchemaImage image = snapshot.getImage();
+        if (image != null) {
+            return of(tables, image::tableName, image::foreignKeys);
+        }
+        return of(tables, table -> tables.get(table).getName(), table -> tables.get(table).getForeignKeys());
+    }
+
+    private static SchemaGraph of(List<TableSchema> tables, IntFunction<String> names,
+                                  IntFunction<List<ForeignKey>> foreignKeysOf) {
+        int n = tables.size();
+        String[] tableNames = new String[n];
+        for (int i = 0; i < n; i++) {
+            tableNames[i] = names.apply(i);
+        }
+
+        Map<String, Integer> index = new HashMap<>(n * 4);
+        for (int i = 0; i < n; i++) {
+            index.putIfAbsent(tableNames[i].toLowerCase(Locale.ROOT), i);
+        }
+        for (int i = 0; i < n; i++) {
+            index.put(tableNames[i], i);
+        }
+
+        // Collect both directions of every foreign key as (neighbor << 32 | edge), grouped by table
+        List<ForeignKey> keys = new ArrayList<>();
+        IntList owners = new IntList();
+        int[] from = new int[16];
+        long[] to = new long[16];
+        int count = 0;
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++) {
+            List<ForeignKey> foreignKeys = foreignKeysOf.apply(i);
+            if (foreignKeys == null) {
+                continue;
+            }
+            for (ForeignKey foreignKey : foreignKeys) {
+                Integer target = lookup(index, foreignKey.getReferencedTable());
+                if (target == null || target == i) {
+                    continue;
+                }
+                int edge = keys.size();
+                keys.add(foreignKey);
+                owners.add(i);
+                if (count + 2 > from.length) {
+                    from = Arrays.copyOf(from, from.length * 2);
+                    to = Arrays.copyOf(to, to.length * 2);
+                }
+                from[count] = i;
+                to[count++] = (long) target << 32 | edge;
+                from[count] = target;
+                to[count++] = (long) i << 32 | edge;
+                degree[i]++;
+                degree[target]++;
+            }
+        }
+
+        int[] start = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            start[i + 1] = start[i] + degree[i];
+        }
+        long[] grouped = new long[count];
+        int[] fill = Arrays.copyOf(start, n);
+        for (int e = 0; e < count; e++) {
+            grouped[fill[from[e]]++] = to[e];
+        }
+
+        // Sort by neighbor and keep the first foreign key of parallel edges
+        int[] offsets = new int[n + 1];
+        int[] neighbors = new int[count];
+        int[] edges = new int[count];
+        int size = 0;
+        for (int i = 0; i < n; i++) {
+            Arrays.sort(grouped, start[i], start[i + 1]);
+            offsets[i] = size;
+            for (int k = start[i]; k < start[i + 1]; k++) {
+                int neighbor = (int) (grouped[k] >>> 32);
+                if (size == offsets[i] || neighbors[size - 1] != neighbor) {
+                    neighbors[size] = neighbor;
+                    edges[size++] = (int) grouped[k];
+                }
+            }
+        }
+        offsets[n] = size;
+
+        return new SchemaGraph(tables, Map.copyOf(index), offsets, Arrays.copyOf(neighbors, size),
+                Arrays.copyOf(edges, size), keys.toArray(ForeignKey[]::new), owners.toArray());
+    }
+
+    public int size() {
+        return tables.size();
+    }
+
+    @Override
+    public long estimatedSize() {
+        return estimatedSize;
+    }
+
+    public TableSchema table(int table) {
+        return tables.get(table);
+    }
+
+    /**
+     * Find a table by name, exact match first, then case-insensitive
+     * @return Table index or -1 if not found
+     */
+    public int indexOf(String name) {
+        Integer table = lookup(index, name);
+        return table != null ? table : -1;
+    }
+
+    public int degree(int table) {
+        return offsets[table + 1] - offsets[table];
+    }
+
+    public int neighbor(int table, int k) {
+        return neighbors[offsets[table] + k];
+    }
+
+    /**
+     * Foreign key connecting a table to its k-th neighbor, see {@link #foreignKey(int)}
+     */
+    public int edge(int table, int k) {
+        return edges[offsets[table] + k];
+    }
+
+    public ForeignKey foreignKey(int edge) {
+        return foreignKeys[edge];
+    }
+
+    /**
+     * Table declaring a foreign key; the other end is its referenced table
+     */
+    public int owner(int edge) {
+        return owners[edge];
+    }
+
+    /**
+     * Tables within a number of foreign key hops of the given tables
+     * @param seeds Table indexes to start from
+     * @param depth Maximum number of hops; 0 selects only the seeds
+     * @return Set of table indexes
+     */
+    public BitSet neighborhood(int[] seeds, int depth) {
+        BitSet visited = new BitSet(tables.size());
+        for (int table : byDistance(seeds, depth)) {
+            visited.set(table);
+        }
+        return visited;
+    }
+
+    /**
+     * Tables within a number of foreign key hops of the given tables, nearest first
+     * @param seeds Table indexes to start from; they come first, in the order given
+     * @param depth Maximum number of hops; 0 selects only the seeds
+     * @return Table indexes in breadth-first order
+     */
+    public int[] byDistance(int[] seeds, int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("depth must not be negative");
+        }
+        BitSet visited = new BitSet(tables.size());
+        int[] frontier = new int[tables.size()];
+        int head = 0;
+        int tail = 0;
+        for (int seed : seeds) {
+            if (!visited.get(seed)) {
+                visited.set(seed);
+                frontier[tail++] = seed;
+            }
+        }
+        for (int hop = 0; hop < depth && head < tail; hop++) {
+            int levelEnd = tail;
+            while (head < levelEnd) {
+                int table = frontier[head++];
+                for (int k = offsets[table]; k < offsets[table + 1]; k++) {
+                    int next = neighbors[k];
+                    if (!visited.get(next)) {
+                        visited.set(next);
+                        frontier[tail++] = next;
+                    }
+                }
+            }
+        }
+        return Arrays.copyOf(frontier, tail);
+    }
+
+    /**
+     * Tables within a number of foreign key hops of the named tables, in schema order
+     * @param names Table names to start from
+     * @param depth Maximum number of hops; 0 selects only the named tables
+     * @return Selected tables
+     * @throws IllegalArgumentException if a table is unknown or depth is negative
+     */
+    public List<TableSchema> neighborhood(Collection<String> names, int depth) {
+        return neighborhood(indexesOf(names), depth).stream().mapToObj(tables::get).toList();
+    }
+
+    /**
+     * Indexes of the named tables, in the order given
+     * @throws IllegalArgumentException if a table is unknown
+     */
+    public int[] indexesOf(Collection<String> names) {
+        int[] indexes = new int[names.size()];
+        int i = 0;
+        for (String name : names) {
+            int table = indexOf(name);
+            if (table < 0) {
+                throw new IllegalArgumentException("Unknown table: " + name);
+            }
+            indexes[i++] = table;
+        }
+        return indexes;
+    }
+
+    private static Integer lookup(Map<String, Integer> index, String name) {
+        if (name == null) {
+            return null;
+        }
+        Integer table = index.get(name);
+        return table != null ? table : index.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    private static long stringsSize(List<String> values) {
+        long size = 0;
+        if (values != null) {
+            for (String value : values) {
+                size += 16 + SchemaSnapshot.Derived.stringSize(value);
+            }
+        }
+        return size;
+    }
+}
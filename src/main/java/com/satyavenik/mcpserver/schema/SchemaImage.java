@@ -0,0 +1,487 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Schema Image - Compact binary form of a database schema, read in place from a memory-mapped file.
+ * Every string is stored once in a dictionary and referenced by id; tables, columns and foreign keys are
+ * fixed-width records, so any table can be read without decoding the rest. Tables are materialized as
+ * {@link TableSchema} objects only when they are accessed.
+ *
+ * <p>Layout (big-endian ints): header, string offsets, string bytes (padded to 4), table records,
+ * table ids sorted by name, column records, foreign key records, references. A string id of -1 is null,
+ * and a list count of -1 is a null list.
+ */
+public final class SchemaImage {
+
+    private static final int MAGIC = 0x4D435053;
+    private static final int FORMAT_VERSION = 1;
+
+    // magic, format, name, description, content hash, strings, tables, columns, foreign keys, refs, string bytes
+    private static final int HEADER = 11 * 4;
+
+    // name, description, first column, columns, first key ref, keys, first foreign key, foreign keys
+    private static final int TABLE = 8 * 4;
+
+    // name, type, default value, description, flags
+    private static final int COLUMN = 5 * 4;
+
+    // referenced table, first ref, columns, referenced columns
+    private static final int FOREIGN_KEY = 4 * 4;
+
+    private static final int NULLABLE = 1;
+
+    private final ByteBuffer buffer;
+    private final int tableCount;
+    private final int stringOffsets;
+    private final int stringBytes;
+    private final int tableRecords;
+    private final int tableOrder;
+    private final int columnRecords;
+    private final int foreignKeyRecords;
+    private final int refs;
+
+    // Tables materialized so far, see tables(), and their estimated heap size
+    private final AtomicReferenceArray<TableSchema> materialized;
+    private final AtomicLong materializedSize = new AtomicLong();
+
+    private SchemaImage(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a schema image");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported schema image format " + buffer.getInt(4));
+        }
+        int stringCount = buffer.getInt(20);
+        this.tableCount = buffer.getInt(24);
+        int columnCount = buffer.getInt(28);
+        int foreignKeyCount = buffer.getInt(32);
+        int refCount = buffer.getInt(36);
+        int byteLength = buffer.getInt(40);
+
+        long position = HEADER;
+        this.stringOffsets = (int) position;
+        position += 4L * (stringCount + 1);
+        this.stringBytes = (int) position;
+        position += pad(byteLength);
+        this.tableRecords = (int) position;
+        position += (long) TABLE * tableCount;
+        this.tableOrder = (int) position;
+        position += 4L * tableCount;
+        this.columnRecords = (int) position;
+        position += (long) COLUMN * columnCount;
+        this.foreignKeyRecords = (int) position;
+        position += (long) FOREIGN_KEY * foreignKeyCount;
+        this.refs = (int) position;
+        position += 4L * refCount;
+        if (stringCount < 0 || tableCount < 0 || columnCount < 0 || foreignKeyCount < 0 || refCount < 0
+                || byteLength < 0 || position != buffer.capacity()) {
+            throw new IOException("Truncated or corrupt schema image");
+        }
+        this.materialized = new AtomicReferenceArray<>(tableCount);
+    }
+
+    /**
+     * Read an image from encoded bytes
+     * @throws IOException if the bytes are not a valid image
+     */
+    public static SchemaImage wrap(byte[] bytes) throws IOException {
+        return new SchemaImage(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+    }
+
+    /**
+     * Memory-map an image file. The file is read lazily by the operating system as tables are accessed.
+     * @param file Image written by {@link #write(SchemaSnapshot, Path)}
+     * @return SchemaImage
+     * @throws IOException if the file cannot be read or is not a valid image
+     */
+    public static SchemaImage open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Schema image too large: " + file);
+            }
+            return new SchemaImage(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    /**
+     * Write the image of a snapshot to a file. The file is replaced atomically, so readers never
+     * see a partially written image.
+     */
+    public static void write(SchemaSnapshot snapshot, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            Files.write(temp, encode(snapshot.getSchema(), snapshot.getContentHash()));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Encode a schema
+     * @param schema Schema to encode
+     * @param contentHash Content hash of the schema's JSON encoding, kept so the image has the same
+     *                    version as the snapshot it was written from
+     * @return Image bytes
+     */
+    public static byte[] encode(DatabaseSchema schema, String contentHash) {
+        return new Encoder().encode(schema, contentHash);
+    }
+
+    public String getName() {
+        return string(buffer.getInt(8));
+    }
+
+    public String getDescription() {
+        return string(buffer.getInt(12));
+    }
+
+    public String getContentHash() {
+        return string(buffer.getInt(16));
+    }
+
+    /**
+     * Size of the image in bytes
+     */
+    public int size() {
+        return buffer.capacity();
+    }
+
+    /**
+     * Rough number of heap bytes held by the tables materialized through {@link #tables()}
+     */
+    public long materializedSize() {
+        return materializedSize.get();
+    }
+
+    public int tableCount() {
+        return tableCount;
+    }
+
+    public String tableName(int table) {
+        return string(tableField(table, 0));
+    }
+
+    /**
+     * Find a table by exact name without materializing any table
+     * @return Table index or -1 if not found
+     */
+    public int indexOf(String name) {
+        if (name == null) {
+            return -1;
+        }
+        byte[] key = name.getBytes(StandardCharsets.UTF_8);
+        int low = 0;
+        int high = tableCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int table = buffer.getInt(tableOrder + 4 * mid);
+            int cmp = compare(tableField(table, 0), key);
+            if (cmp < 0) {
+                low = mid + 1;
+            } else if (cmp > 0) {
+                high = mid - 1;
+            } else {
+                return table;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Foreign keys of a table, read without materializing its columns
+     */
+    public List<ForeignKey> foreignKeys(int table) {
+        int first = tableField(table, 6);
+        int count = tableField(table, 7);
+        if (count < 0) {
+            return null;
+        }
+        List<ForeignKey> foreignKeys = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int record = foreignKeyRecords + FOREIGN_KEY * (first + k);
+            int ref = buffer.getInt(record + 4);
+            int columns = buffer.getInt(record + 8);
+            foreignKeys.add(ForeignKey.builder()
+                    .referencedTable(string(buffer.getInt(record)))
+                    .columns(strings(ref, columns))
+                    .referencedColumns(strings(ref + Math.max(columns, 0), buffer.getInt(record + 12)))
+                    .build());
+        }
+        return List.copyOf(foreignKeys);
+    }
+
+    /**
+     * Materialize one table. Each call builds new objects; see {@link #tables()} for a cached view.
+     */
+    public TableSchema table(int table) {
+        int firstColumn = tableField(table, 2);
+        int columnCount = tableField(table, 3);
+        List<ColumnSchema> columns = null;
+        if (columnCount >= 0) {
+            ColumnSchema[] array = new ColumnSchema[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                int record = columnRecords + COLUMN * (firstColumn + c);
+                array[c] = ColumnSchema.builder()
+                        .name(string(buffer.getInt(record)))
+                        .type(string(buffer.getInt(record + 4)))
+                        .defaultValue(string(buffer.getInt(record + 8)))
+                        .description(string(buffer.getInt(record + 12)))
+                        .nullable((buffer.getInt(record + 16) & NULLABLE) != 0)
+                        .build();
+            }
+            columns = List.of(array);
+        }
+        return TableSchema.builder()
+                .name(string(tableField(table, 0)))
+                .description(string(tableField(table, 1)))
+                .columns(columns)
+                .primaryKey(strings(tableField(table, 4), tableField(table, 5)))
+                .foreignKeys(foreignKeys(table))
+                .build();
+    }
+
+    /**
+     * Unmodifiable view of all tables, materializing and keeping each table on first access. The tables are
+     * immutable, so every reader can share them.
+     */
+    public List<TableSchema> tables() {
+        return new Tables();
+    }
+
+    /**
+     * Materialize the whole schema as new objects, without touching the cached view
+     */
+    public DatabaseSchema toSchema() {
+        List<TableSchema> tables = new ArrayList<>(tableCount);
+        for (int i = 0; i < tableCount; i++) {
+            tables.add(table(i));
+        }
+        return DatabaseSchema.builder()
+                .name(getName())
+                .description(getDescription())
+                .tables(List.copyOf(tables))
+                .build();
+    }
+
+    private final class Tables extends AbstractList<TableSchema> implements RandomAccess {
+
+        @Override
+        public TableSchema get(int index) {
+            TableSchema table = materialized.get(index);
+            if (table == null) {
+                table = table(index);
+                if (materialized.compareAndSet(index, null, table)) {
+                    materializedSize.addAndGet(estimatedSize(index));
+                } else {
+                    table = materialized.get(index);
+                }
+            }
+            return table;
+        }
+
+        @Override
+        public int size() {
+            return tableCount;
+        }
+    }
+
+    // Objects of a materialized table, counted like SchemaCatalog#estimatedSize: 40 bytes and the characters of
+    // each string copied out of the image, plus the table, column and foreign key objects around them
+    private long estimatedSize(int table) {
+        int firstColumn = tableField(table, 2);
+        int columns = Math.max(0, tableField(table, 3));
+        long size = 96 + 64L * columns + 120L * Math.max(0, tableField(table, 7))
+                + stringSize(tableField(table, 0)) + stringSize(tableField(table, 1));
+        for (int c = 0; c < columns; c++) {
+            int record = columnRecords + COLUMN * (firstColumn + c);
+            for (int field = 0; field < 16; field += 4) {
+                size += stringSize(buffer.getInt(record + field));
+            }
+        }
+        return size;
+    }
+
+    private long stringSize(int id) {
+        return id < 0 ? 0 : 40 + buffer.getInt(stringOffsets + 4 * id + 4) - buffer.getInt(stringOffsets + 4 * id);
+    }
+
+    private int tableField(int table, int field) {
+        if (table < 0 || table >= tableCount) {
+            throw new IndexOutOfBoundsException(table);
+        }
+        return buffer.getInt(tableRecords + TABLE * table + 4 * field);
+    }
+
+    private String string(int id) {
+        if (id < 0) {
+            return null;
+        }
+        int start = buffer.getInt(stringOffsets + 4 * id);
+        int end = buffer.getInt(stringOffsets + 4 * id + 4);
+        byte[] bytes = new byte[end - start];
+        buffer.get(stringBytes + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private List<String> strings(int first, int count) {
+        if (count < 0) {
+            return null;
+        }
+        String[] values = new String[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = string(buffer.getInt(refs + 4 * (first + i)));
+        }
+        return Collections.unmodifiableList(Arrays.asList(values));
+    }
+
+    // Unsigned byte order, the order names are sorted in when encoding
+    private int compare(int id, byte[] key) {
+        int start = id < 0 ? 0 : buffer.getInt(stringOffsets + 4 * id);
+        int end = id < 0 ? 0 : buffer.getInt(stringOffsets + 4 * id + 4);
+        int length = Math.min(end - start, key.length);
+        for (int i = 0; i < length; i++) {
+            int cmp = Byte.toUnsignedInt(buffer.get(stringBytes + start + i)) - Byte.toUnsignedInt(key[i]);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return (end - start) - key.length;
+    }
+
+    private static long pad(long length) {
+        return (length + 3) & ~3L;
+    }
+
+    private static final class Encoder {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<byte[]> strings = new ArrayList<>();
+        private final IntList tables = new IntList();
+        private final IntList columns = new IntList();
+        private final IntList foreignKeys = new IntList();
+        private final IntList refs = new IntList();
+        private int stringBytes;
+
+        byte[] encode(DatabaseSchema schema, String contentHash) {
+            List<TableSchema> tableList = schema.getTables() != null ? schema.getTables() : List.of();
+            int name = id(schema.getName());
+            int description = id(schema.getDescription());
+            int hash = id(contentHash);
+            int columnCount = 0;
+            int foreignKeyCount = 0;
+            for (TableSchema table : tableList) {
+                tables.add(id(table.getName()), id(table.getDescription()));
+                tables.add(columnCount, count(table.getColumns()));
+                if (table.getColumns() != null) {
+                    for (ColumnSchema column : table.getColumns()) {
+                        columns.add(id(column.getName()), id(column.getType()));
+                        columns.add(id(column.getDefaultValue()), id(column.getDescription()));
+                        columns.add(column.isNullable() ? NULLABLE : 0);
+                        columnCount++;
+                    }
+                }
+                tables.add(refs.size(), count(table.getPrimaryKey()));
+                addRefs(table.getPrimaryKey());
+                tables.add(foreignKeyCount, count(table.getForeignKeys()));
+                if (table.getForeignKeys() != null) {
+                    for (ForeignKey foreignKey : table.getForeignKeys()) {
+                        foreignKeys.add(id(foreignKey.getReferencedTable()), refs.size());
+                        foreignKeys.add(count(foreignKey.getColumns()), count(foreignKey.getReferencedColumns()));
+                        addRefs(foreignKey.getColumns());
+                        addRefs(foreignKey.getReferencedColumns());
+                        foreignKeyCount++;
+                    }
+                }
+            }
+
+            Integer[] order = new Integer[tableList.size()];
+            byte[][] names = new byte[order.length][];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+                String tableName = tableList.get(i).getName();
+                names[i] = tableName != null ? tableName.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            }
+            Arrays.sort(order, (a, b) -> Arrays.compareUnsigned(names[a], names[b]));
+
+            long size = HEADER + 4L * (strings.size() + 1) + pad(stringBytes) + 4L * tables.size()
+                    + 4L * order.length + 4L * columns.size() + 4L * foreignKeys.size() + 4L * refs.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Schema " + schema.getName() + " is too large for an image");
+            }
+            ByteBuffer out = ByteBuffer.allocate((int) size);
+            out.putInt(MAGIC).putInt(FORMAT_VERSION).putInt(name).putInt(description).putInt(hash)
+                    .putInt(strings.size()).putInt(tableList.size()).putInt(columnCount).putInt(foreignKeyCount)
+                    .putInt(refs.size()).putInt(stringBytes);
+            int offset = 0;
+            out.putInt(offset);
+            for (byte[] string : strings) {
+                offset += string.length;
+                out.putInt(offset);
+            }
+            for (byte[] string : strings) {
+                out.put(string);
+            }
+            out.position((int) (out.position() + pad(stringBytes) - stringBytes));
+            tables.writeTo(out);
+            for (Integer table : order) {
+                out.putInt(table);
+            }
+            columns.writeTo(out);
+            foreignKeys.writeTo(out);
+            refs.writeTo(out);
+            return out.array();
+        }
+
+        private int id(String value) {
+            if (value == null) {
+                return -1;
+            }
+            return ids.computeIfAbsent(value, k -> {
+                byte[] bytes = k.getBytes(StandardCharsets.UTF_8);
+                strings.add(bytes);
+                stringBytes += bytes.length;
+                return strings.size() - 1;
+            });
+        }
+
+        private void addRefs(List<String> values) {
+            if (values != null) {
+                for (String value : values) {
+                    refs.add(id(value));
+                }
+            }
+        }
+
+        private static int count(List<?> list) {
+            return list != null ? list.size() : -1;
+        }
+    }
+}
@@ -0,0 +1,382 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.protocol.JsonText;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * Schema Rendering - Text renderings of a schema snapshot for get_schema: the JSON payload, CREATE TABLE
+ * style DDL, and a terse one-line-per-table form. Each table is rendered once per format and kept; whole
+ * renderings are assembled from those texts, so repeated calls only copy cached text. Under a character budget,
+ * tables are taken greedily in order of relevance and any table that no longer fits is skipped in favour
+ * of smaller ones further down.
+ */
+public final class SchemaRendering implements SchemaSnapshot.Derived {
+
+    public enum Format {
+        JSON, DDL, COMPACT;
+
+        /**
+         * @throws IllegalArgumentException if the name is not a format
+         */
+        public static Format of(String name) {
+            if (name == null) {
+                return JSON;
+            }
+            try {
+                return valueOf(name.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown format: " + name + " (expected json, ddl or compact)");
+            }
+        }
+    }
+
+    private static final Pattern PLAIN_IDENTIFIER = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*");
+
+    private final SchemaSnapshot snapshot;
+    private final int tableCount;
+    private final ObjectMapper objectMapper;
+
+    // Tables with the most foreign key connections first; the order used without a question or focus tables
+    private final int[] defaultOrder;
+
+    // Per format: each table's text, filled on first use
+    private final Map<Format, AtomicReferenceArray<String>> tableTexts = new ConcurrentHashMap<>();
+
+    // Per format: length of the whole rendering, so a budget check need not assemble it
+    private final Map<Format, Integer> fullLengths = new ConcurrentHashMap<>();
+
+    // Size of the table texts cached so far
+    private final AtomicLong cachedBytes = new AtomicLong();
+
+    // The JSON object around the tables array, split where the tables go
+    private final String jsonHeader;
+    private final String jsonFooter;
+
+    private SchemaRendering(SchemaSnapshot snapshot, int tableCount, int[] defaultOrder) {
+        this.snapshot = snapshot;
+        this.tableCount = tableCount;
+        this.objectMapper = snapshot.getObjectMapper();
+        this.defaultOrder = defaultOrder;
+        DatabaseSchema schema = snapshot.getSchema();
+        StringWriter out = new StringWriter();
+        try (JsonGenerator generator = objectMapper.writer().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("name", schema.getName());
+            generator.writeArrayFieldStart("tables");
+            generator.flush();
+            int split = out.getBuffer().length();
+            generator.writeEndArray();
+            generator.writeStringField("description", schema.getDescription());
+            generator.writeEndObject();
+            generator.flush();
+            this.jsonHeader = out.getBuffer().substring(0, split);
+            this.jsonFooter = out.getBuffer().substring(split);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to encode schema", e);
+        }
+    }
+
+    public static SchemaRendering of(SchemaSnapshot snapshot) {
+        int tableCount = snapshot.getSchema().getTables() != null ? snapshot.getSchema().getTables().size() : 0;
+        SchemaGraph graph = snapshot.getGraph();
+        int[] order = IntStream.range(0, tableCount)
+                .boxed()
+                .sorted((a, b) -> graph.degree(a) != graph.degree(b)
+                        ? Integer.compare(graph.degree(b), graph.degree(a))
+                        : Integer.compare(a, b))
+                .mapToInt(Integer::intValue)
+                .toArray();
+        return new SchemaRendering(snapshot, tableCount, order);
+    }
+
+    @Override
+    public long estimatedSize() {
+        return 4L * defaultOrder.length + SchemaSnapshot.Derived.stringSize(jsonHeader)
+                + SchemaSnapshot.Derived.stringSize(jsonFooter) + 4L * tableCount * tableTexts.size()
+                + cachedBytes.get();
+    }
+
+    /**
+     * Tables in the order they are taken when nothing more specific is known, best connected first
+     */
+    public int[] getDefaultOrder() {
+        return defaultOrder.clone();
+    }
+
+    /**
+     * Tables ranked by relevance to a question, followed by the remaining tables in the default order
+     */
+    public int[] rank(String question) {
+        int[] matched = snapshot.derived(TableRelevanceIndex.class, TableRelevanceIndex::of).rank(question);
+        int[] order = Arrays.copyOf(matched, tableCount);
+        boolean[] taken = new boolean[tableCount];
+        int count = matched.length;
+        for (int table : matched) {
+            taken[table] = true;
+        }
+        for (int table : defaultOrder) {
+            if (!taken[table]) {
+                order[count++] = table;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Render the whole schema
+     * @return Text as a JSON string literal; the snapshot's own encoding for JSON, otherwise assembled
+     *         from the cached table texts
+     */
+    public RawValue render(Format format) {
+        if (format == Format.JSON) {
+            return snapshot.getJsonText();
+        }
+        StringBuilder out = new StringBuilder(fullLength(format)).append(header(format));
+        for (int t = 0; t < tableCount; t++) {
+            out.append(table(format, t)).append('\n');
+        }
+        return JsonText.quote(out.toString());
+    }
+
+    private int fullLength(Format format) {
+        if (format == Format.JSON) {
+            return snapshot.getJsonLength();
+        }
+        return fullLengths.computeIfAbsent(format, f -> {
+            long length = header(f).length();
+            for (int t = 0; t < tableCount; t++) {
+                length += table(f, t).length() + 1;
+            }
+            return (int) Math.min(length, Integer.MAX_VALUE);
+        });
+    }
+
+    /**
+     * Render the candidate tables that fit within a character budget
+     * @param format Output format
+     * @param candidates Distinct table indexes, most relevant first
+     * @param maxChars Budget for the whole text; the header and a note on omitted tables are always included
+     * @return Text as a JSON string literal; included tables appear in schema order
+     */
+    public RawValue render(Format format, int[] candidates, int maxChars) {
+        if (candidates.length == tableCount && fullLength(format) <= maxChars) {
+            return render(format);
+        }
+        String header = header(format);
+        String footer = format == Format.JSON ? jsonFooter : "";
+        int remaining = maxChars - header.length() - footer.length()
+                - omittedNote(format, candidates.length).length();
+
+        int[] chosen = new int[candidates.length];
+        int count = 0;
+        for (int table : candidates) {
+            String text = table(format, table);
+            int cost = text.length() + 1; // separator
+            if (cost <= remaining) {
+                chosen[count++] = table;
+                remaining -= cost;
+            }
+        }
+        Arrays.sort(chosen, 0, count);
+
+        StringBuilder out = new StringBuilder(header);
+        for (int i = 0; i < count; i++) {
+            if (format == Format.JSON) {
+                out.append(i > 0 ? "," : "").append(table(format, chosen[i]));
+            } else {
+                out.append(table(format, chosen[i])).append('\n');
+            }
+        }
+        int omitted = candidates.length - count;
+        if (format == Format.JSON) {
+            out.append(footer, 0, footer.length() - 1);
+            if (omitted > 0) {
+                out.append(omittedNote(format, omitted));
+            }
+            out.append('}');
+        } else if (omitted > 0) {
+            out.append(omittedNote(format, omitted));
+        }
+        return JsonText.quote(out.toString());
+    }
+
+    private String table(Format format, int t) {
+        AtomicReferenceArray<String> texts = tableTexts.computeIfAbsent(format,
+                f -> new AtomicReferenceArray<>(tableCount));
+        String text = texts.get(t);
+        if (text == null) {
+            TableSchema table = snapshot.readTable(t);
+            text = switch (format) {
+                case JSON -> json(table);
+                case DDL -> ddl(table);
+                case COMPACT -> compact(table);
+            };
+            // Only the text stored first is kept and counted
+            if (texts.compareAndSet(t, null, text)) {
+                cachedBytes.addAndGet(SchemaSnapshot.Derived.stringSize(text));
+            } else {
+                text = texts.get(t);
+            }
+        }
+        return text;
+    }
+
+    // Everything before the first table
+    private String header(Format format) {
+        if (format == Format.JSON) {
+            return jsonHeader;
+        }
+        DatabaseSchema schema = snapshot.getSchema();
+        return "-- " + schema.getName()
+                + (schema.getDescription() != null ? ": " + schema.getDescription() : "") + '\n';
+    }
+
+    private static String omittedNote(Format format, int omitted) {
+        return format == Format.JSON
+                ? ",\"omittedTables\":" + omitted
+                : "-- " + omitted + " more tables omitted; ask for them by name\n";
+    }
+
+    private String json(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode schema", e);
+        }
+    }
+
+    /**
+     * CREATE TABLE statement with descriptions as comments
+     */
+    static String ddl(TableSchema table) {
+        StringBuilder out = new StringBuilder();
+        if (table.getDescription() != null && !table.getDescription().isBlank()) {
+            out.append("-- ").append(oneLine(table.getDescription())).append('\n');
+        }
+        out.append("CREATE TABLE ").append(identifier(table.getName())).append(" (");
+        List<ColumnSchema> columns = table.getColumns() != null ? table.getColumns() : List.of();
+        List<String> primaryKey = table.getPrimaryKey() != null ? table.getPrimaryKey() : List.of();
+        List<ForeignKey> foreignKeys = table.getForeignKeys() != null ? table.getForeignKeys() : List.of();
+        // A single-column primary key is declared on its column
+        boolean inlineKey = primaryKey.size() == 1;
+        int elements = columns.size() + (primaryKey.isEmpty() || inlineKey ? 0 : 1) + foreignKeys.size();
+        int element = 0;
+        for (ColumnSchema column : columns) {
+            out.append("\n  ").append(identifier(column.getName()));
+            if (column.getType() != null) {
+                out.append(' ').append(column.getType());
+            }
+            if (inlineKey && primaryKey.get(0).equals(column.getName())) {
+                out.append(" PRIMARY KEY");
+            } else if (!column.isNullable()) {
+                out.append(" NOT NULL");
+            }
+            if (column.getDefaultValue() != null) {
+                out.append(" DEFAULT ").append(column.getDefaultValue());
+            }
+            if (++element < elements) {
+                out.append(',');
+            }
+            if (column.getDescription() != null && !column.getDescription().isBlank()) {
+                out.append(" -- ").append(oneLine(column.getDescription()));
+            }
+        }
+        if (!primaryKey.isEmpty() && !inlineKey) {
+            out.append("\n  PRIMARY KEY (").append(identifiers(primaryKey)).append(')');
+            if (++element < elements) {
+                out.append(',');
+            }
+        }
+        for (ForeignKey foreignKey : foreignKeys) {
+            out.append("\n  FOREIGN KEY (").append(identifiers(foreignKey.getColumns())).append(") REFERENCES ")
+                    .append(identifier(foreignKey.getReferencedTable()))
+                    .append(" (").append(identifiers(foreignKey.getReferencedColumns())).append(')');
+            if (++element < elements) {
+                out.append(',');
+            }
+        }
+        return out.append("\n);").toString();
+    }
+
+    /**
+     * One line: name(column TYPE [PK] [-> table.column], ...) -- description
+     */
+    static String compact(TableSchema table) {
+        StringBuilder out = new StringBuilder(identifier(table.getName())).append('(');
+        List<ColumnSchema> columns = table.getColumns() != null ? table.getColumns() : List.of();
+        List<String> primaryKey = table.getPrimaryKey() != null ? table.getPrimaryKey() : List.of();
+        List<ForeignKey> foreignKeys = table.getForeignKeys() != null ? table.getForeignKeys() : List.of();
+        for (int c = 0; c < columns.size(); c++) {
+            ColumnSchema column = columns.get(c);
+            out.append(c > 0 ? ", " : "").append(identifier(column.getName()));
+            if (column.getType() != null) {
+                out.append(' ').append(column.getType());
+            }
+            if (primaryKey.contains(column.getName())) {
+                out.append(" PK");
+            }
+            for (ForeignKey foreignKey : foreignKeys) {
+                if (foreignKey.getColumns() != null && foreignKey.getColumns().size() == 1
+                        && foreignKey.getColumns().get(0).equals(column.getName())) {
+                    out.append(" -> ").append(identifier(foreignKey.getReferencedTable())).append('.')
+                            .append(identifiers(foreignKey.getReferencedColumns()));
+                }
+            }
+        }
+        // Composite foreign keys do not belong to a single column
+        for (ForeignKey foreignKey : foreignKeys) {
+            if (foreignKey.getColumns() != null && foreignKey.getColumns().size() > 1) {
+                out.append(", (").append(identifiers(foreignKey.getColumns())).append(") -> ")
+                        .append(identifier(foreignKey.getReferencedTable()))
+                        .append('(').append(identifiers(foreignKey.getReferencedColumns())).append(')');
+            }
+        }
+        out.append(')');
+        if (table.getDescription() != null && !table.getDescription().isBlank()) {
+            out.append(" -- ").append(oneLine(table.getDescription()));
+        }
+        return out.toString();
+    }
+
+    private static String identifiers(List<String> names) {
+        if (names == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        for (String name : names) {
+            out.append(out.length() > 0 ? ", " : "").append(identifier(name));
+        }
+        return out.toString();
+    }
+
+    /**
+     * Name as written in SQL, quoted unless it is a plain identifier
+     */
+    static String identifier(String name) {
+        return PLAIN_IDENTIFIER.matcher(name).matches() ? name : '"' + name.replace("\"", "\"\"") + '"';
+    }
+
+    private static String oneLine(String text) {
+        return text.indexOf('\n') < 0 && text.indexOf('\r') < 0 ? text : text.replaceAll("\\s*[\\r\\n]+\\s*", " ");
+    }
+}
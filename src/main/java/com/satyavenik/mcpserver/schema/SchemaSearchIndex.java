@@ -0,0 +1,396 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.SearchHit;
+import com.satyavenik.mcpserver.model.TableSchema;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Schema Search Index - Trigram inverted index over table and column names and descriptions.
+ * Every table and every column is a document. Words are padded with a boundary marker before they are
+ * cut into trigrams, so "email" yields "$em", "ema", "mai", "ail", "il$" and prefixes and misspellings
+ * still share most trigrams with the word. Postings are sorted int arrays addressed through a sorted
+ * trigram key array. Only selective trigrams collect candidates; trigrams found in a large share of the
+ * catalog just add to the scores of those candidates.
+ */
+public final class SchemaSearchIndex implements SchemaSnapshot.Derived {
+
+    private static final char BOUNDARY = '$';
+
+    // Longer queries are cut off; keeps per-document match counts within 16 bits
+    private static final int MAX_QUERY_TRIGRAMS = 256;
+
+    // Trigrams in more documents than this (and 1 / COMMON_DIVISOR of all documents) do not produce candidates
+    private static final int MIN_COMMON_FREQUENCY = 64;
+    private static final int COMMON_DIVISOR = 50;
+
+    // Candidates rescored with common trigrams and prefix and exact-match bonuses
+    private static final int RESCORE_FACTOR = 8;
+    private static final int MIN_SHORTLIST = 128;
+
+    // Per-document match counts, shared by all indexes and grown to the largest one searched on the thread,
+    // up to MAX_RETAINED_SCRATCH. Every count is reset to zero before a search returns.
+    private static final ThreadLocal<int[]> SCRATCH = ThreadLocal.withInitial(() -> new int[0]);
+
+    // Indexes with more documents than this count into an array of their own for each search, so one huge
+    // catalog does not pin a large array on every thread that ever searched it
+    private static final int MAX_RETAINED_SCRATCH = 64 * 1024;
+
+    // Source of the tables and columns named in hits
+    private final SchemaSnapshot snapshot;
+
+    // Per document: table index, and column index or -1 for the table itself
+    private final int[] docTable;
+    private final int[] docColumn;
+
+    // Distinct name trigrams per document, for similarity normalization
+    private final int[] nameTrigrams;
+
+    // Sorted trigram keys; postings of keys[i] are postings[offsets[i]] .. postings[offsets[i + 1] - 1]
+    private final long[] keys;
+    private final int[] offsets;
+
+    // Document id shifted left by one; the low bit is set for name matches and clear for description matches
+    private final int[] postings;
+
+    private SchemaSearchIndex(SchemaSnapshot snapshot, int[] docTable, int[] docColumn, int[] nameTrigrams,
+                              long[] keys, int[] offsets, int[] postings) {
+        this.snapshot = snapshot;
+        this.docTable = docTable;
+        this.docColumn = docColumn;
+        this.nameTrigrams = nameTrigrams;
+        this.keys = keys;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    public static SchemaSearchIndex of(SchemaSnapshot snapshot) {
+        List<TableSchema> tables = snapshot.getSchema().getTables() != null
+                ? snapshot.getSchema().getTables()
+                : List.of();
+        int capacity = Math.max(16, tables.size() * 8);
+        int[] docTable = new int[capacity];
+        int[] docColumn = new int[capacity];
+        int[] nameTrigrams = new int[capacity];
+        Map<Long, int[]> lists = new HashMap<>();
+        int doc = 0;
+        for (int t = 0; t < tables.size(); t++) {
+            TableSchema table = snapshot.readTable(t);
+            int needed = doc + 1 + (table.getColumns() != null ? table.getColumns().size() : 0);
+            if (needed > docTable.length) {
+                capacity = Math.max(needed, docTable.length * 2);
+                docTable = Arrays.copyOf(docTable, capacity);
+                docColumn = Arrays.copyOf(docColumn, capacity);
+                nameTrigrams = Arrays.copyOf(nameTrigrams, capacity);
+            }
+            docTable[doc] = t;
+            docColumn[doc] = -1;
+            nameTrigrams[doc] = addDocument(lists, doc++, table.getName(), table.getDescription());
+            if (table.getColumns() != null) {
+                for (int c = 0; c < table.getColumns().size(); c++) {
+                    ColumnSchema column = table.getColumns().get(c);
+                    docTable[doc] = t;
+                    docColumn[doc] = c;
+                    nameTrigrams[doc] = addDocument(lists, doc++, column.getName(), column.getDescription());
+                }
+            }
+        }
+
+        long[] keys = lists.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        int[] offsets = new int[keys.length + 1];
+        int total = 0;
+        for (int i = 0; i < keys.length; i++) {
+            offsets[i] = total;
+            total += lists.get(keys[i])[0];
+        }
+        offsets[keys.length] = total;
+        int[] postings = new int[total];
+        for (int i = 0; i < keys.length; i++) {
+            int[] list = lists.get(keys[i]);
+            System.arraycopy(list, 1, postings, offsets[i], list[0]);
+        }
+        return new SchemaSearchIndex(snapshot, Arrays.copyOf(docTable, doc), Arrays.copyOf(docColumn, doc),
+                Arrays.copyOf(nameTrigrams, doc), keys, offsets, postings);
+    }
+
+    /**
+     * Search tables and columns. Documents are ranked by trigram similarity of their name to the query,
+     * plus a smaller share for description matches; names starting with or equal to a query word rank higher.
+     * @param query Free text, e.g. "customer email" or "cust_emial"
+     * @param limit Maximum number of results
+     * @return Hits, best first
+     */
+    public List<SearchHit> search(String query, int limit) {
+        List<String> queryWords = words(query);
+        long[] queryTrigrams = trigrams(queryWords);
+        if (queryTrigrams.length == 0 || limit <= 0) {
+            return List.of();
+        }
+        if (queryTrigrams.length > MAX_QUERY_TRIGRAMS) {
+            queryTrigrams = Arrays.copyOf(queryTrigrams, MAX_QUERY_TRIGRAMS);
+        }
+
+        // Candidates come from trigrams rare enough to be selective; the rarest trigram is always used
+        int[] found = new int[queryTrigrams.length];
+        int foundCount = 0;
+        int rarest = -1;
+        for (long trigram : queryTrigrams) {
+            int key = Arrays.binarySearch(keys, trigram);
+            if (key >= 0) {
+                found[foundCount++] = key;
+                if (rarest < 0 || frequency(key) < frequency(rarest)) {
+                    rarest = key;
+                }
+            }
+        }
+        if (foundCount == 0) {
+            return List.of();
+        }
+        int commonFrequency = Math.max(MIN_COMMON_FREQUENCY, docTable.length / COMMON_DIVISOR);
+
+        // Count name and description matches per document, packed as name << 16 | description
+        int[] counts;
+        if (docTable.length > MAX_RETAINED_SCRATCH) {
+            counts = new int[docTable.length];
+        } else {
+            counts = SCRATCH.get();
+            if (counts.length < docTable.length) {
+                counts = new int[docTable.length];
+                SCRATCH.set(counts);
+            }
+        }
+        int[] touched = new int[64];
+        int touchedCount = 0;
+        for (int i = 0; i < foundCount; i++) {
+            int key = found[i];
+            if (key != rarest && frequency(key) > commonFrequency) {
+                continue;
+            }
+            for (int p = offsets[key]; p < offsets[key + 1]; p++) {
+                int doc = postings[p] >>> 1;
+                if (counts[doc] == 0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = doc;
+                }
+                counts[doc] += (postings[p] & 1) != 0 ? 1 << 16 : 1;
+            }
+        }
+
+        // Shortlist candidates on the selective trigrams
+        int shortlistSize = Math.max(limit * RESCORE_FACTOR, MIN_SHORTLIST);
+        PriorityQueue<Scored> shortlist = new PriorityQueue<>(shortlistSize + 1);
+        for (int i = 0; i < touchedCount; i++) {
+            int doc = touched[i];
+            int packed = counts[doc];
+            counts[doc] = 0;
+            offer(shortlist, new Scored(doc, packed, score(doc, packed, queryTrigrams.length)), shortlistSize);
+        }
+
+        // Common trigrams and word bonuses only refine the order of the shortlist
+        PriorityQueue<Scored> ranked = new PriorityQueue<>(limit + 1);
+        for (Scored candidate : shortlist) {
+            int packed = candidate.counts;
+            for (int i = 0; i < foundCount; i++) {
+                int key = found[i];
+                if (key == rarest || frequency(key) <= commonFrequency) {
+                    continue;
+                }
+                if (Arrays.binarySearch(postings, offsets[key], offsets[key + 1], candidate.doc << 1) >= 0) {
+                    packed += 1;
+                }
+                if (Arrays.binarySearch(postings, offsets[key], offsets[key + 1], candidate.doc << 1 | 1) >= 0) {
+                    packed += 1 << 16;
+                }
+            }
+            double score = score(candidate.doc, packed, queryTrigrams.length) + bonus(candidate.doc, queryWords);
+            offer(ranked, new Scored(candidate.doc, packed, score), limit);
+        }
+
+        List<Scored> sorted = new ArrayList<>(ranked);
+        sorted.sort(null);
+        List<SearchHit> hits = new ArrayList<>(sorted.size());
+        for (int i = sorted.size() - 1; i >= 0; i--) {
+            hits.add(hit(sorted.get(i)));
+        }
+        return hits;
+    }
+
+    /**
+     * Jaccard similarity of name trigrams, plus the share of the query found in the description
+     */
+    private double score(int doc, int packed, int queryTrigrams) {
+        int nameMatches = packed >>> 16;
+        int descriptionMatches = packed & 0xFFFF;
+        return (double) nameMatches / (queryTrigrams + nameTrigrams[doc] - nameMatches)
+                + 0.25 * descriptionMatches / queryTrigrams;
+    }
+
+    private int frequency(int key) {
+        return offsets[key + 1] - offsets[key];
+    }
+
+    public int documentCount() {
+        return docTable.length;
+    }
+
+    @Override
+    public long estimatedSize() {
+        return 4L * (docTable.length + docColumn.length + nameTrigrams.length + offsets.length + postings.length)
+                + 8L * keys.length;
+    }
+
+    /**
+     * Bonus for names that equal the query or whose words start with query words
+     */
+    private double bonus(int doc, List<String> queryWords) {
+        String name = name(doc);
+        String joined = String.join("_", queryWords);
+        if (name.toLowerCase(Locale.ROOT).equals(joined)) {
+            return 1.0;
+        }
+        List<String> nameWords = words(name);
+        int prefixed = 0;
+        for (String queryWord : queryWords) {
+            for (String nameWord : nameWords) {
+                if (nameWord.startsWith(queryWord)) {
+                    prefixed++;
+                    break;
+                }
+            }
+        }
+        return 0.5 * prefixed / queryWords.size();
+    }
+
+    private String name(int doc) {
+        TableSchema table = snapshot.readTable(docTable[doc]);
+        return docColumn[doc] < 0 ? table.getName() : table.getColumns().get(docColumn[doc]).getName();
+    }
+
+    private SearchHit hit(Scored scored) {
+        TableSchema table = snapshot.readTable(docTable[scored.doc]);
+        SearchHit.SearchHitBuilder hit = SearchHit.builder()
+                .table(table.getName())
+                .score(Math.round(scored.score * 1000) / 1000.0);
+        if (docColumn[scored.doc] < 0) {
+            return hit.description(table.getDescription()).build();
+        }
+        ColumnSchema column = table.getColumns().get(docColumn[scored.doc]);
+        return hit.column(column.getName())
+                .type(column.getType())
+                .description(column.getDescription())
+                .build();
+    }
+
+    private static void offer(PriorityQueue<Scored> top, Scored scored, int limit) {
+        if (top.size() < limit) {
+            top.add(scored);
+        } else if (scored.compareTo(top.peek()) > 0) {
+            top.poll();
+            top.add(scored);
+        }
+    }
+
+    /**
+     * Add a document's name and description trigrams to the postings being built
+     * @return Number of distinct name trigrams
+     */
+    private static int addDocument(Map<Long, int[]> lists, int doc, String name, String description) {
+        // Description first, so every posting list stays sorted
+        for (long trigram : trigrams(words(description))) {
+            append(lists, trigram, doc << 1);
+        }
+        long[] nameGrams = trigrams(words(name));
+        for (long trigram : nameGrams) {
+            append(lists, trigram, doc << 1 | 1);
+        }
+        return nameGrams.length;
+    }
+
+    // Growable posting list; element 0 holds the size
+    private static void append(Map<Long, int[]> lists, long trigram, int posting) {
+        int[] list = lists.computeIfAbsent(trigram, k -> new int[4]);
+        if (list[0] + 1 == list.length) {
+            list = Arrays.copyOf(list, list.length * 2);
+            lists.put(trigram, list);
+        }
+        list[++list[0]] = posting;
+    }
+
+    /**
+     * Split text into lower-case words at non-alphanumeric characters and camelCase boundaries
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null) {
+            return words;
+        }
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (!Character.isLetterOrDigit(c)) {
+                flush(words, word);
+                continue;
+            }
+            if (Character.isUpperCase(c) && i > 0 && Character.isLowerCase(text.charAt(i - 1))) {
+                flush(words, word);
+            }
+            word.append(Character.toLowerCase(c));
+        }
+        flush(words, word);
+        return words;
+    }
+
+    private static void flush(List<String> words, StringBuilder word) {
+        if (!word.isEmpty()) {
+            words.add(word.toString());
+            word.setLength(0);
+        }
+    }
+
+    /**
+     * Distinct trigrams of the boundary-padded words, each packed as three 16-bit chars
+     */
+    private static long[] trigrams(List<String> words) {
+        int size = 0;
+        for (String word : words) {
+            size += word.length();
+        }
+        long[] trigrams = new long[size];
+        int count = 0;
+        for (String word : words) {
+            String padded = BOUNDARY + word + BOUNDARY;
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams[count++] = (long) padded.charAt(i) << 32 | (long) padded.charAt(i + 1) << 16
+                        | padded.charAt(i + 2);
+            }
+        }
+        Arrays.sort(trigrams, 0, count);
+        int distinct = 0;
+        for (int i = 0; i < count; i++) {
+            if (distinct == 0 || trigrams[distinct - 1] != trigrams[i]) {
+                trigrams[distinct++] = trigrams[i];
+            }
+        }
+        return Arrays.copyOf(trigrams, distinct);
+    }
+
+    private record Scored(int doc, int counts, double score) implements Comparable<Scored> {
+
+        // Lower scores first; ties prefer the earlier document
+        @Override
+        public int compareTo(Scored other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.doc, doc);
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.model.TableSuggestion;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Table Relevance Index - Ranks tables against a natural-language question with BM25.
+ * Each table is one document made of its name, column names and descriptions; name terms count
+ * more than column names, which count more than descriptions. Term frequencies, document lengths and
+ * inverse document frequencies are computed when the index is built.
+ */
+public final class TableRelevanceIndex implements SchemaSnapshot.Derived {
+
+    // BM25 parameters
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final int TABLE_NAME_WEIGHT = 3;
+    private static final int COLUMN_NAME_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "all", "an", "and", "are", "as", "at", "be", "by", "did", "do", "does", "each", "every", "find",
+            "for", "from", "get", "give", "had", "has", "have", "how", "i", "in", "is", "it", "list", "many",
+            "me", "much", "of", "on", "or", "per", "show", "than", "that", "the", "their", "there", "this", "to",
+            "was", "we", "were", "what", "when", "where", "which", "who", "whose", "with");
+
+    // Source of the tables named in suggestions
+    private final SchemaSnapshot snapshot;
+
+    private final Map<String, Integer> terms;
+
+    // Postings of term t are docs[offsets[t]] .. docs[offsets[t + 1] - 1] with weighted frequencies in tf
+    private final int[] offsets;
+    private final int[] docs;
+    private final int[] tf;
+
+    private final double[] idf;
+
+    // Length normalization K1 * (1 - B + B * length / averageLength) per table
+    private final double[] norm;
+
+    private final long estimatedSize;
+
+    private TableRelevanceIndex(SchemaSnapshot snapshot, Map<String, Integer> terms, int[] offsets, int[] docs,
+                                int[] tf, double[] idf, double[] norm) {
+        this.snapshot = snapshot;
+        this.terms = terms;
+        this.offsets = offsets;
+        this.docs = docs;
+        this.tf = tf;
+        this.idf = idf;
+        this.norm = norm;
+        long size = 4L * (offsets.length + docs.length + tf.length) + 8L * (idf.length + norm.length);
+        for (String term : terms.keySet()) {
+            size += 48 + SchemaSnapshot.Derived.stringSize(term);
+        }
+        this.estimatedSize = size;
+    }
+
+    @Override
+    public long estimatedSize() {
+        return estimatedSize;
+    }
+
+    public static TableRelevanceIndex of(SchemaSnapshot snapshot) {
+        List<TableSchema> tables = snapshot.getSchema().getTables() != null
+                ? snapshot.getSchema().getTables()
+                : List.of();
+        int n = tables.size();
+
+        // Weighted term frequencies per table, in table order so postings come out sorted
+        Map<String, Integer> terms = new HashMap<>();
+        List<int[]> postings = new ArrayList<>();
+        int[] lengths = new int[n];
+        long totalLength = 0;
+        for (int t = 0; t < n; t++) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            TableSchema table = snapshot.readTable(t);
+            addTerms(frequencies, table.getName(), TABLE_NAME_WEIGHT);
+            addTerms(frequencies, table.getDescription(), DESCRIPTION_WEIGHT);
+            if (table.getColumns() != null) {
+                for (ColumnSchema column : table.getColumns()) {
+                    addTerms(frequencies, column.getName(), COLUMN_NAME_WEIGHT);
+                    addTerms(frequencies, column.getDescription(), DESCRIPTION_WEIGHT);
+                }
+            }
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                int term = terms.computeIfAbsent(entry.getKey(), k -> {
+                    postings.add(new int[5]);
+                    return postings.size() - 1;
+                });
+                int[] list = postings.get(term);
+                if (list[0] + 2 >= list.length) {
+                    list = Arrays.copyOf(list, list.length * 2 + 1);
+                    postings.set(term, list);
+                }
+                list[++list[0]] = t;
+                list[++list[0]] = entry.getValue();
+                lengths[t] += entry.getValue();
+            }
+            totalLength += lengths[t];
+        }
+
+        int termCount = postings.size();
+        int[] offsets = new int[termCount + 1];
+        for (int term = 0; term < termCount; term++) {
+            offsets[term + 1] = offsets[term] + postings.get(term)[0] / 2;
+        }
+        int[] docs = new int[offsets[termCount]];
+        int[] tf = new int[offsets[termCount]];
+        double[] idf = new double[termCount];
+        for (int term = 0; term < termCount; term++) {
+            int[] list = postings.get(term);
+            int df = list[0] / 2;
+            for (int i = 0; i < df; i++) {
+                docs[offsets[term] + i] = list[1 + 2 * i];
+                tf[offsets[term] + i] = list[2 + 2 * i];
+            }
+            idf[term] = Math.log(1 + (n - df + 0.5) / (df + 0.5));
+        }
+
+        double averageLength = n > 0 ? Math.max(1.0, (double) totalLength / n) : 1.0;
+        double[] norm = new double[n];
+        for (int t = 0; t < n; t++) {
+            norm[t] = K1 * (1 - B + B * lengths[t] / averageLength);
+        }
+        return new TableRelevanceIndex(snapshot, Map.copyOf(terms), offsets, docs, tf, idf, norm);
+    }
+
+    /**
+     * Rank tables by relevance to a question
+     * @param question Natural-language question, e.g. "total spent by each customer last month"
+     * @param limit Maximum number of tables
+     * @return Tables with a positive score, most relevant first
+     */
+    public List<TableSuggestion> suggest(String question, int limit) {
+        Hits hits = score(question);
+        int[] top = hits.top(limit);
+        TableSuggestion[] ranked = new TableSuggestion[top.length];
+        for (int i = 0; i < top.length; i++) {
+            int hit = top[i];
+            int table = hits.tables[hit];
+            List<String> matchedTerms = new ArrayList<>();
+            for (int m = 0; m < hits.terms.length; m++) {
+                int term = hits.terms[m];
+                if (Arrays.binarySearch(docs, offsets[term], offsets[term + 1], table) >= 0) {
+                    matchedTerms.add(hits.termNames[m]);
+                }
+            }
+            TableSchema schema = snapshot.readTable(table);
+            ranked[i] = TableSuggestion.builder()
+                    .table(schema.getName())
+                    .description(schema.getDescription())
+                    .score(Math.round(hits.scores[hit] * 1000) / 1000.0)
+                    .matchedTerms(matchedTerms)
+                    .build();
+        }
+        return List.of(ranked);
+    }
+
+    /**
+     * Indexes of the tables matching a question, most relevant first
+     * @param question Natural-language question
+     * @return Indexes into the snapshot's table list; tables without a query term are left out
+     */
+    public int[] rank(String question) {
+        Hits hits = score(question);
+        int[] top = hits.top(hits.count);
+        int[] ranked = new int[top.length];
+        for (int i = 0; i < top.length; i++) {
+            ranked[i] = hits.tables[top[i]];
+        }
+        return ranked;
+    }
+
+    // Merges the postings of the query terms, which are sorted by table, so only tables holding a term are scored
+    private Hits score(String question) {
+        Set<String> queryTerms = new LinkedHashSet<>(terms(question));
+        List<String> names = new ArrayList<>(queryTerms.size());
+        int[] matched = new int[queryTerms.size()];
+        int capacity = 0;
+        for (String queryTerm : queryTerms) {
+            Integer term = terms.get(queryTerm);
+            if (term != null) {
+                matched[names.size()] = term;
+                names.add(queryTerm);
+                capacity += offsets[term + 1] - offsets[term];
+            }
+        }
+        int k = names.size();
+        matched = Arrays.copyOf(matched, k);
+
+        int[] cursors = new int[k];
+        for (int m = 0; m < k; m++) {
+            cursors[m] = offsets[matched[m]];
+        }
+        int[] hitTables = new int[capacity];
+        double[] hitScores = new double[capacity];
+        int count = 0;
+        while (true) {
+            int table = Integer.MAX_VALUE;
+            for (int m = 0; m < k; m++) {
+                if (cursors[m] < offsets[matched[m] + 1]) {
+                    table = Math.min(table, docs[cursors[m]]);
+                }
+            }
+            if (table == Integer.MAX_VALUE) {
+                break;
+            }
+            double score = 0;
+            for (int m = 0; m < k; m++) {
+                int p = cursors[m];
+                if (p < offsets[matched[m] + 1] && docs[p] == table) {
+                    score += idf[matched[m]] * tf[p] * (K1 + 1) / (tf[p] + norm[table]);
+                    cursors[m]++;
+                }
+            }
+            hitTables[count] = table;
+            hitScores[count++] = score;
+        }
+        return new Hits(matched, names.toArray(String[]::new), hitTables, hitScores, count);
+    }
+
+    /**
+     * Tables holding at least one query term, in table order, with their scores
+     */
+    private record Hits(int[] terms, String[] termNames, int[] tables, double[] scores, int count) {
+
+        /**
+         * Best hits, most relevant first; equal scores keep table order
+         * @return Hit indexes
+         */
+        int[] top(int limit) {
+            int size = Math.min(Math.max(limit, 0), count);
+            // Min-heap of the best hits seen so far, the worst on top
+            int[] heap = new int[size];
+            int filled = 0;
+            for (int hit = 0; hit < count && size > 0; hit++) {
+                if (filled < size) {
+                    heap[filled] = hit;
+                    siftUp(heap, filled++);
+                } else if (worse(heap[0], hit)) {
+                    heap[0] = hit;
+                    siftDown(heap, filled);
+                }
+            }
+            int[] ranked = new int[filled];
+            for (int i = filled - 1; i >= 0; i--) {
+                ranked[i] = heap[0];
+                heap[0] = heap[i];
+                siftDown(heap, i);
+            }
+            return ranked;
+        }
+
+        private boolean worse(int a, int b) {
+            return scores[a] != scores[b] ? scores[a] < scores[b] : tables[a] > tables[b];
+        }
+
+        private void siftUp(int[] heap, int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!worse(heap[i], heap[parent])) {
+                    return;
+                }
+                int swap = heap[i];
+                heap[i] = heap[parent];
+                heap[parent] = swap;
+                i = parent;
+            }
+        }
+
+        private void siftDown(int[] heap, int size) {
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) {
+                    return;
+                }
+                if (child + 1 < size && worse(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!worse(heap[child], heap[i])) {
+                    return;
+                }
+                int swap = heap[i];
+                heap[i] = heap[child];
+                heap[child] = swap;
+                i = child;
+            }
+        }
+    }
+
+    private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+        for (String term : terms(text)) {
+            frequencies.merge(term, weight, Integer::sum);
+        }
+    }
+
+    /**
+     * Words of a text without stop words, reduced to a crude singular form so "orders" matches "order"
+     */
+    static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        for (String word : SchemaSearchIndex.words(text)) {
+            if (!STOP_WORDS.contains(word)) {
+                terms.add(stem(word));
+            }
+        }
+        return terms;
+    }
+
+    private static String stem(String word) {
+        if (word.length() > 4 && word.endsWith("ies")) {
+            return word.substring(0, word.length() - 3) + "y";
+        }
+        if (word.length() > 3 && word.endsWith("s") && !word.endsWith("ss") && !word.endsWith("us")) {
+            return word.substring(0, word.length() - 1);
+        }
+        return word;
+    }
+}
@@ -0,0 +1,123 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.RawValue;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Content Encoder - Encodes tool and resource content as JSON text for MCP "text" fields.
+ * The JSON is generated directly in its escaped string-literal form and embedded into the response
+ * envelope as a raw value, so content is serialized exactly once instead of being encoded to a String
+ * and then escaped again by the envelope serializer.
+ */
+@Component
+public class ContentEncoder {
+
+    // Buffers larger than this are not kept for reuse so one huge payload does not pin memory
+    private static final int MAX_RETAINED_BUFFER = 64 * 1024;
+
+    private static final ThreadLocal<EscapingWriter> BUFFERS = ThreadLocal.withInitial(EscapingWriter::new);
+
+    private final ObjectWriter writer;
+
+    public ContentEncoder(ObjectMapper objectMapper) {
+        this.writer = objectMapper.writer()
+                .without(SerializationFeature.INDENT_OUTPUT)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+    }
+
+    /**
+     * Serialize a value as JSON and return it as a quoted JSON string literal
+     * @param value Content object
+     * @return Raw value ready to be embedded as a "text" field
+     */
+    public RawValue encode(Object value) {
+        EscapingWriter buffer = BUFFERS.get();
+        buffer.reset();
+        try {
+            writer.writeValue(buffer, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode content", e);
+        }
+        RawValue text = buffer.toRawValue();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER) {
+            BUFFERS.remove();
+        }
+        return text;
+    }
+
+    /**
+     * Writer that escapes everything written to it as the body of a JSON string literal
+     */
+    private static final class EscapingWriter extends Writer {
+
+        private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+        private final StringBuilder buffer = new StringBuilder(1024);
+
+        void reset() {
+            buffer.setLength(0);
+            buffer.append('"');
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+
+        RawValue toRawValue() {
+            buffer.append('"');
+            return new RawValue(buffer.toString());
+        }
+
+        @Override
+        public void write(int c) {
+            escape((char) c);
+        }
+
+        @Override
+        public void write(char[] chars, int off, int len) {
+            for (int i = off, end = off + len; i < end; i++) {
+                escape(chars[i]);
+            }
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            for (int i = off, end = off + len; i < end; i++) {
+                escape(str.charAt(i));
+            }
+        }
+
+        private void escape(char c) {
+            switch (c) {
+                case '"' -> buffer.append("\\\"");
+                case '\\' -> buffer.append("\\\\");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\t' -> buffer.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        buffer.append("\\u00").append(HEX[c >> 4]).append(HEX[c & 0xF]);
+                    } else {
+                        buffer.append(c);
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.satyavenik.mcpserver.service;
+
+/**
+ * Frequency Sketch - Approximate access counts for cache admission (TinyLFU).
+ * A count-min sketch of 4-bit counters, 16 per long, with four hash rows. All counters are halved
+ * periodically so old popularity fades. Not thread-safe; callers synchronize.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+
+    private static final long HALF_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+
+    private final int mask;
+
+    private final int sampleSize;
+
+    private int additions;
+
+    /**
+     * @param capacity Expected number of distinct keys
+     */
+    FrequencySketch(int capacity) {
+        int size = Integer.highestOneBit(Math.max(16, capacity - 1) << 1);
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * size;
+    }
+
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = Integer.MAX_VALUE;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long slot = slot(hash, row);
+            frequency = Math.min(frequency, (int) ((table[index(slot)] >>> offset(slot)) & 0xF));
+        }
+        return frequency;
+    }
+
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            long slot = slot(hash, row);
+            int index = index(slot);
+            int offset = offset(slot);
+            if (((table[index] >>> offset) & 0xF) != 0xF) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            for (int i = 0; i < table.length; i++) {
+                table[i] = (table[i] >>> 1) & HALF_MASK;
+            }
+            additions /= 2;
+        }
+    }
+
+    private long slot(int hash, int row) {
+        long slot = (hash + SEEDS[row]) * SEEDS[row];
+        return slot + (slot >>> 32);
+    }
+
+    private int index(long slot) {
+        return (int) (slot >>> 4) & mask;
+    }
+
+    // Bit offset of one of the 16 counters in a long
+    private static int offset(long slot) {
+        return ((int) slot & 0xF) << 2;
+    }
+
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,131 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.schema.SchemaImage;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JDBC Schema Source - Publishes the schema of a live database and keeps it current in the background.
+ * Active when mcp.jdbc.url is set; the database driver must be on the classpath. With mcp.jdbc.snapshot-file
+ * set, each published schema is also saved as a binary image that the next start serves from right away.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "mcp.jdbc", name = "url")
+public class JdbcSchemaSource {
+
+    private final SchemaService schemaService;
+    private final SchemaIntrospector introspector;
+    private final int fullRefreshEvery;
+    private final ScheduledExecutorService scheduler;
+    private final Path snapshotFile;
+    private int refreshCount;
+
+    public JdbcSchemaSource(SchemaService schemaService, McpProperties properties) {
+        McpProperties.Jdbc jdbc = properties.getJdbc();
+        this.schemaService = schemaService;
+        this.fullRefreshEvery = Math.max(1, jdbc.getFullRefreshEvery());
+        this.snapshotFile = jdbc.getSnapshotFile() != null ? Path.of(jdbc.getSnapshotFile()) : null;
+        this.introspector = new SchemaIntrospector(
+                () -> DriverManager.getConnection(jdbc.getUrl(), jdbc.getUsername(), jdbc.getPassword()),
+                jdbc.getName(), jdbc.getCatalog(), jdbc.getSchemaPattern(), jdbc.getTableTypes(),
+                jdbc.getParallelism());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcp-schema-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // A saved image is served at once and brought up to date in the background. Without one, fail
+        // startup when the database cannot be read at all; later refresh failures keep the last snapshot.
+        if (restore()) {
+            scheduler.execute(this::reload);
+        } else {
+            try {
+                publish(introspector.introspect());
+            } catch (SQLException e) {
+                introspector.close();
+                scheduler.shutdownNow();
+                throw new IllegalStateException("Failed to introspect database " + jdbc.getUrl(), e);
+            }
+        }
+        long interval = jdbc.getRefreshInterval();
+        if (interval > 0) {
+            scheduler.scheduleWithFixedDelay(this::refresh, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Re-read the catalog and publish it. Unchanged tables are reused, and an unchanged schema
+     * keeps its snapshot version.
+     */
+    public synchronized void refresh() {
+        try {
+            boolean full = ++refreshCount % fullRefreshEvery == 0;
+            publish(full ? introspector.introspect() : introspector.refresh());
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Schema refresh failed, keeping version {}", schemaService.getSnapshot().getVersion(), e);
+        }
+    }
+
+    private synchronized void reload() {
+        try {
+            publish(introspector.introspect());
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Schema introspection failed, serving the saved image {}", snapshotFile, e);
+        }
+    }
+
+    private synchronized void publish(DatabaseSchema schema) {
+        SchemaSnapshot previous = schemaService.getSnapshot();
+        SchemaSnapshot current = schemaService.publish(schema);
+        if (current != previous && snapshotFile != null) {
+            try {
+                SchemaImage.write(current, snapshotFile);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Failed to save schema image {}", snapshotFile, e);
+            }
+        }
+    }
+
+    private boolean restore() {
+        if (snapshotFile == null || !Files.isRegularFile(snapshotFile)) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            SchemaImage image = SchemaImage.open(snapshotFile);
+            schemaService.publish(image);
+            log.info("Restored schema {} ({} tables) from {} in {} ms", image.getName(), image.tableCount(),
+                    snapshotFile, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable schema image {}", snapshotFile, e);
+            return false;
+        }
+    }
+
+    public SchemaIntrospector getIntrospector() {
+        return introspector;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        introspector.close();
+    }
+}
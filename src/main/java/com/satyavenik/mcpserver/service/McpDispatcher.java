@@ -0,0 +1,124 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpRequest;
+import com.satyavenik.mcpserver.protocol.McpResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * MCP Dispatcher - Executes decoded requests on the bounded MCP executor
+ */
+@Slf4j
+@Service
+public class McpDispatcher {
+
+    private final McpService mcpService;
+    private final ExecutorService mcpExecutor;
+
+    public McpDispatcher(McpService mcpService, ExecutorService mcpExecutor) {
+        this.mcpService = mcpService;
+        this.mcpExecutor = mcpExecutor;
+    }
+
+    /**
+     * Execute a single request asynchronously
+     * @param request MCP request
+     * @return Future completed with the response
+     */
+    public CompletableFuture<McpResponse> submit(McpRequest request) {
+        return submit(request, null);
+    }
+
+    /**
+     * Execute a single request of a session asynchronously
+     * @param request MCP request
+     * @param sessionId Session the request arrived on, or null
+     * @return Future completed with the response; never completed exceptionally, so callers waiting for
+     *         it always get a response, an internal error if processing threw
+     */
+    public CompletableFuture<McpResponse> submit(McpRequest request, String sessionId) {
+        return CompletableFuture.supplyAsync(() -> mcpService.processRequest(request, sessionId), mcpExecutor)
+                .handle((response, e) -> e == null ? response : internalError(request, e));
+    }
+
+    /**
+     * Execute a batch of requests in parallel
+     * @param requests Requests in payload order; null entries mark invalid elements
+     * @return Responses in request order, without entries for notifications
+     */
+    public List<McpResponse> processBatch(List<McpRequest> requests) {
+        return processBatch(requests, null);
+    }
+
+    /**
+     * Execute a batch of requests of a session in parallel
+     * @param requests Requests in payload order; null entries mark invalid elements
+     * @param sessionId Session the batch arrived on, or null
+     * @return Responses in request order, without entries for notifications
+     */
+    public List<McpResponse> processBatch(List<McpRequest> requests, String sessionId) {
+        List<CompletableFuture<McpResponse>> futures = new ArrayList<>(requests.size());
+        for (McpRequest request : requests) {
+            if (request == null) {
+                futures.add(CompletableFuture.completedFuture(invalidRequest()));
+            } else if (requests.size() == 1) {
+                futures.add(CompletableFuture.completedFuture(mcpService.processRequest(request, sessionId)));
+            } else {
+                futures.add(submit(request, sessionId));
+            }
+        }
+
+        List<McpResponse> responses = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            McpResponse response = futures.get(i).join();
+            if (requests.get(i) == null || !isNotification(requests.get(i))) {
+                responses.add(response);
+            }
+        }
+        return responses;
+    }
+
+    /**
+     * Check whether a request is a notification, i.e. carries no id and expects no response
+     */
+    public static boolean isNotification(McpRequest request) {
+        return request.getId() == null;
+    }
+
+    /**
+     * Build the error response for a request whose processing threw, e.g. an Error that
+     * {@link McpService#processRequest} does not catch
+     */
+    static McpResponse internalError(McpRequest request, Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        log.error("Failed to process MCP request {}", request.getMethod(), cause);
+        return McpResponse.builder()
+                .jsonrpc("2.0")
+                .id(request.getId())
+                .error(McpError.builder()
+                        .code(McpError.INTERNAL_ERROR)
+                        .message("Internal error: " + cause)
+                        .build())
+                .build();
+    }
+
+    /**
+     * Build the error response for a batch element that is not a valid request
+     */
+    public static McpResponse invalidRequest() {
+        return McpResponse.builder()
+                .jsonrpc("2.0")
+                .error(McpError.builder()
+                        .code(McpError.INVALID_REQUEST)
+                        .message("Invalid Request")
+                        .build())
+                .build();
+    }
+}
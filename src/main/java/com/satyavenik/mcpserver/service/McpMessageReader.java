@@ -0,0 +1,116 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.protocol.McpBatch;
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpException;
+import com.satyavenik.mcpserver.protocol.McpRequest;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * MCP Message Reader - Decodes single JSON-RPC requests and batch arrays from raw payloads
+ */
+@Component
+public class McpMessageReader {
+
+    private final ObjectMapper objectMapper;
+    private final int maxBatchSize;
+
+    public McpMessageReader(ObjectMapper objectMapper, McpProperties properties) {
+        this.objectMapper = objectMapper;
+        this.maxBatchSize = properties.getBatch().getMaxSize();
+    }
+
+    /**
+     * Read a JSON-RPC payload
+     * @param payload UTF-8 encoded JSON
+     * @return Decoded requests
+     * @throws McpException with PARSE_ERROR for malformed JSON, INVALID_REQUEST for empty or oversized batches
+     */
+    public McpBatch read(byte[] payload) {
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            return read(parser);
+        } catch (IOException e) {
+            throw new McpException(McpError.PARSE_ERROR, "Parse error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Read a JSON-RPC payload
+     * @param payload JSON text
+     * @return Decoded requests
+     * @throws McpException with PARSE_ERROR for malformed JSON, INVALID_REQUEST for empty or oversized batches
+     */
+    public McpBatch read(String payload) {
+        try (JsonParser parser = objectMapper.createParser(payload)) {
+            return read(parser);
+        } catch (IOException e) {
+            throw new McpException(McpError.PARSE_ERROR, "Parse error: " + e.getMessage(), e);
+        }
+    }
+
+    private McpBatch read(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.START_OBJECT) {
+            // A single request binds straight from the parser; there is nothing after it to keep in sync
+            McpRequest request;
+            try {
+                request = objectMapper.readValue(parser, McpRequest.class);
+            } catch (JsonParseException e) {
+                throw e;
+            } catch (JsonProcessingException e) {
+                throw new McpException(McpError.INVALID_REQUEST, "Invalid Request: " + e.getOriginalMessage(), e);
+            }
+            if (request.getMethod() == null) {
+                throw new McpException(McpError.INVALID_REQUEST, "Invalid Request");
+            }
+            return new McpBatch(false, List.of(request));
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new McpException(McpError.INVALID_REQUEST, "Invalid Request");
+        }
+
+        List<McpRequest> requests = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (requests.size() == maxBatchSize) {
+                throw new McpException(McpError.INVALID_REQUEST,
+                        "Batch too large: at most " + maxBatchSize + " requests are allowed");
+            }
+            requests.add(parser.currentToken() == JsonToken.START_OBJECT ? readElement(parser) : skip(parser));
+        }
+        if (requests.isEmpty()) {
+            throw new McpException(McpError.INVALID_REQUEST, "Invalid Request: empty batch");
+        }
+        return new McpBatch(true, requests);
+    }
+
+    /**
+     * Buffer one element's tokens before binding, so a malformed element does not desynchronize the
+     * rest of the batch. Returns null if the element cannot be bound to a request.
+     */
+    private McpRequest readElement(JsonParser parser) throws IOException {
+        TokenBuffer buffer = new TokenBuffer(parser);
+        buffer.copyCurrentStructure(parser);
+        try (JsonParser element = buffer.asParserOnFirstToken()) {
+            McpRequest request = objectMapper.readValue(element, McpRequest.class);
+            return request.getMethod() != null ? request : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private McpRequest skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+}
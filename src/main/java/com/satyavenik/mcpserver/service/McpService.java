@@ -1,9 +1,17 @@
 package com.satyavenik.mcpserver.service;
 
-import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.ResourceContent;
+import com.satyavenik.mcpserver.protocol.InitializeParams;
+import com.satyavenik.mcpserver.protocol.ListParams;
 import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpException;
 import com.satyavenik.mcpserver.protocol.McpRequest;
 import com.satyavenik.mcpserver.protocol.McpResponse;
+import com.satyavenik.mcpserver.protocol.ResourcesReadParams;
+import com.satyavenik.mcpserver.protocol.ResourcesSubscribeParams;
+import com.satyavenik.mcpserver.protocol.ToolsCallParams;
+import com.satyavenik.mcpserver.tool.ToolRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
@@ -18,12 +26,19 @@ import java.util.Map;
 @Slf4j
 public class McpService {
 
-    private final SchemaService schemaService;
-    private final TemplateService templateService;
-
-    public McpService(SchemaService schemaService, TemplateService templateService) {
-        this.schemaService = schemaService;
-        this.templateService = templateService;
+    private final ResourceService resourceService;
+    private final ToolRegistry toolRegistry;
+    private final ParamsDecoder paramsDecoder;
+    private final Paginator paginator;
+    private final ResourceSubscriptions subscriptions;
+
+    public McpService(ResourceService resourceService, ToolRegistry toolRegistry, ParamsDecoder paramsDecoder,
+                      Paginator paginator, ResourceSubscriptions subscriptions) {
+        this.resourceService = resourceService;
+        this.toolRegistry = toolRegistry;
+        this.paramsDecoder = paramsDecoder;
+        this.paginator = paginator;
+        this.subscriptions = subscriptions;
     }
 
     /**
@@ -32,22 +47,39 @@ public class McpService {
      * @return MCP response
      */
     public McpResponse processRequest(McpRequest request) {
+        return processRequest(request, null);
+    }
+
+    /**
+     * Process MCP request on behalf of a session
+     * @param request MCP request
+     * @param sessionId Session the request arrived on, or null for a sessionless request
+     * @return MCP response
+     */
+    public McpResponse processRequest(McpRequest request, String sessionId) {
         log.info("Processing MCP request: method={}, id={}", request.getMethod(), request.getId());
 
         try {
-            Object result = handleMethod(request.getMethod(), request.getParams());
+            Object result = handleMethod(request.getMethod(), request.getParams(), sessionId);
             return McpResponse.builder()
                     .jsonrpc("2.0")
                     .id(request.getId())
                     .result(result)
                     .build();
+        } catch (McpException e) {
+            log.warn("Rejected MCP request: method={}, error={}", request.getMethod(), e.getMessage());
+            return McpResponse.builder()
+                    .jsonrpc("2.0")
+                    .id(request.getId())
+                    .error(e.toError())
+                    .build();
         } catch (Exception e) {
             log.error("Error processing MCP request", e);
             return McpResponse.builder()
                     .jsonrpc("2.0")
                     .id(request.getId())
                     .error(McpError.builder()
-                            .code(-32603)
+                            .code(McpError.INTERNAL_ERROR)
                             .message("Internal error: " + e.getMessage())
                             .build())
                     .build();
@@ -57,21 +89,25 @@ public class McpService {
     /**
      * Handle different MCP methods
      */
-    private Object handleMethod(String method, Object params) {
+    private Object handleMethod(String method, Object params, String sessionId) {
         return switch (method) {
-            case "initialize" -> handleInitialize();
-            case "tools/list" -> handleToolsList();
+            case "initialize" -> handleInitialize(params);
+            case "notifications/initialized" -> Map.of();
+            case "tools/list" -> handleToolsList(params);
             case "tools/call" -> handleToolsCall(params);
-            case "resources/list" -> handleResourcesList();
+            case "resources/list" -> handleResourcesList(params);
             case "resources/read" -> handleResourcesRead(params);
-            default -> throw new IllegalArgumentException("Unknown method: " + method);
+            case "resources/subscribe" -> handleResourcesSubscribe(params, sessionId, true);
+            case "resources/unsubscribe" -> handleResourcesSubscribe(params, sessionId, false);
+            default -> throw new McpException(McpError.METHOD_NOT_FOUND, "Method not found: " + method);
         };
     }
 
     /**
      * Handle initialize request
      */
-    private Map<String, Object> handleInitialize() {
+    private Map<String, Object> handleInitialize(Object params) {
+        paramsDecoder.decode(params, InitializeParams.class);
         Map<String, Object> result = new HashMap<>();
         result.put("protocolVersion", "2024-11-05");
         result.put("serverInfo", Map.of(
@@ -80,136 +116,105 @@ public class McpService {
         ));
         result.put("capabilities", Map.of(
                 "tools", Map.of(),
-                "resources", Map.of()
+                "resources", Map.of("subscribe", true)
         ));
         return result;
     }
 
     /**
-     * Handle tools/list request - returns available tools
+     * Handle tools/list request - returns a page of pre-encoded tools; the complete pre-encoded
+     * result when all tools fit on the first page
      */
-    private Map<String, Object> handleToolsList() {
-        Map<String, Object> result = new HashMap<>();
-        result.put("tools", List.of(
-                Map.of(
-                        "name", "get_schema",
-                        "description", "Get database schema for SQL generation context",
-                        "inputSchema", Map.of(
-                                "type", "object",
-                                "properties", Map.of(),
-                                "required", List.of()
-                        )
-                ),
-                Map.of(
-                        "name", "get_templates",
-                        "description", "Get SQL generation templates",
-                        "inputSchema", Map.of(
-                                "type", "object",
-                                "properties", Map.of(),
-                                "required", List.of()
-                        )
-                ),
-                Map.of(
-                        "name", "get_template",
-                        "description", "Get specific SQL template by name",
-                        "inputSchema", Map.of(
-                                "type", "object",
-                                "properties", Map.of(
-                                        "name", Map.of(
-                                                "type", "string",
-                                                "description", "Template name"
-                                        )
-                                ),
-                                "required", List.of("name")
-                        )
-                )
-        ));
-        return result;
+    private Object handleToolsList(Object params) {
+        ListParams listParams = decodeListParams(params);
+        List<RawValue> tools = toolRegistry.getEncodedTools();
+        if (paginator.isSinglePage(listParams.cursor(), listParams.pageSize(), tools.size())) {
+            return toolRegistry.getToolsListResult();
+        }
+        return paginator.page("tools", tools.size(), tools::get, toolRegistry.getToolsVersion(),
+                listParams.cursor(), listParams.pageSize());
     }
 
     /**
      * Handle tools/call request - executes a tool
      */
-    @SuppressWarnings("unchecked")
     private Map<String, Object> handleToolsCall(Object params) {
-        Map<String, Object> paramsMap = (Map<String, Object>) params;
-        String toolName = (String) paramsMap.get("name");
-        Map<String, Object> arguments = (Map<String, Object>) paramsMap.getOrDefault("arguments", new HashMap<>());
-
-        Object content;
-        switch (toolName) {
-            case "get_schema":
-                content = schemaService.getExampleSchema();
-                break;
-            case "get_templates":
-                content = templateService.getAllTemplates();
-                break;
-            case "get_template":
-                String templateName = (String) arguments.get("name");
-                SqlTemplate template = templateService.getTemplateByName(templateName);
-                content = template != null ? template : Map.of("error", "Template not found");
-                break;
-            default:
-                throw new IllegalArgumentException("Unknown tool: " + toolName);
+        ToolsCallParams callParams = paramsDecoder.decode(params, ToolsCallParams.class);
+        if (callParams == null || callParams.name() == null) {
+            throw new McpException(McpError.INVALID_PARAMS, "Missing tool name");
         }
-
-        return Map.of(
-                "content", List.of(
-                        Map.of(
-                                "type", "text",
-                                "text", content.toString()
-                        )
-                )
-        );
+        return toolRegistry.call(callParams.name(), callParams.arguments());
     }
 
     /**
-     * Handle resources/list request - returns available resources
+     * Handle resources/list request - returns a page of available resources with their current versions
      */
-    private Map<String, Object> handleResourcesList() {
-        Map<String, Object> result = new HashMap<>();
-        result.put("resources", List.of(
-                Map.of(
-                        "uri", "schema://database/ecommerce",
-                        "name", "E-commerce Database Schema",
-                        "description", "Complete schema for e-commerce database",
-                        "mimeType", "application/json"
-                ),
-                Map.of(
-                        "uri", "templates://sql/all",
-                        "name", "SQL Templates",
-                        "description", "All available SQL generation templates",
-                        "mimeType", "application/json"
-                )
-        ));
-        return result;
+    private Map<String, Object> handleResourcesList(Object params) {
+        ListParams listParams = decodeListParams(params);
+        return paginator.page("resources", resourceService.getResourceCount(), resourceService::describe,
+                resourceService.getListingVersion(), listParams.cursor(), listParams.pageSize());
+    }
+
+    private ListParams decodeListParams(Object params) {
+        ListParams listParams = paramsDecoder.decode(params, ListParams.class);
+        return listParams != null ? listParams : new ListParams(null, null);
     }
 
     /**
-     * Handle resources/read request - reads a resource
+     * Handle resources/read request - reads a resource. When the client passes the version it already
+     * holds as ifNoneMatch and the resource is unchanged, only the version is returned.
      */
-    @SuppressWarnings("unchecked")
     private Map<String, Object> handleResourcesRead(Object params) {
-        Map<String, Object> paramsMap = (Map<String, Object>) params;
-        String uri = (String) paramsMap.get("uri");
-
-        Object content;
-        if (uri.startsWith("schema://")) {
-            content = schemaService.getExampleSchema();
-        } else if (uri.startsWith("templates://")) {
-            content = templateService.getAllTemplates();
-        } else {
-            throw new IllegalArgumentException("Unknown resource URI: " + uri);
+        ResourcesReadParams readParams = paramsDecoder.decode(params, ResourcesReadParams.class);
+        if (readParams == null || readParams.uri() == null) {
+            throw new McpException(McpError.INVALID_PARAMS, "Missing resource uri");
+        }
+        ResourceContent content = resourceService.read(readParams.uri());
+        if (content == null) {
+            throw new McpException(McpError.RESOURCE_NOT_FOUND, "Unknown resource URI: " + readParams.uri());
         }
 
+        if (content.version().equals(readParams.ifNoneMatch())) {
+            return Map.of(
+                    "contents", List.of(),
+                    "unchanged", true,
+                    "version", content.version()
+            );
+        }
         return Map.of(
                 "contents", List.of(
                         Map.of(
-                                "uri", uri,
-                                "mimeType", "application/json",
-                                "text", content.toString()
+                                "uri", content.uri(),
+                                "mimeType", content.mimeType(),
+                                "version", content.version(),
+                                "text", content.text().get()
                         )
-                )
+                ),
+                "version", content.version()
         );
     }
+
+    /**
+     * Handle resources/subscribe and resources/unsubscribe. Subscriptions belong to a session, since
+     * updates are delivered over the session's WebSocket or event stream.
+     */
+    private Map<String, Object> handleResourcesSubscribe(Object params, String sessionId, boolean subscribe) {
+        ResourcesSubscribeParams subscribeParams = paramsDecoder.decode(params, ResourcesSubscribeParams.class);
+        if (subscribeParams == null || subscribeParams.uri() == null) {
+            throw new McpException(McpError.INVALID_PARAMS, "Missing resource uri");
+        }
+        if (sessionId == null) {
+            throw new McpException(McpError.INVALID_REQUEST, "Subscriptions require a session");
+        }
+        if (!subscribe) {
+            subscriptions.unsubscribe(sessionId, subscribeParams.uri());
+            return Map.of();
+        }
+        try {
+            subscriptions.subscribe(sessionId, subscribeParams.uri());
+        } catch (IllegalArgumentException e) {
+            throw new McpException(McpError.RESOURCE_NOT_FOUND, e.getMessage());
+        }
+        return Map.of();
+    }
 }
@@ -0,0 +1,26 @@
+package com.satyavenik.mcpserver.service;
+
+/**
+ * MCP Session - A connected client that can receive server-initiated messages,
+ * independent of the transport it uses
+ */
+public interface McpSession {
+
+    String getId();
+
+    /**
+     * Send a pre-encoded JSON-RPC message
+     * @param message JSON text
+     * @return false if the message could not be delivered
+     */
+    boolean send(String message);
+
+    /**
+     * Periodic liveness check
+     * @param idleTimeoutMillis Idle time after which a detached session expires
+     * @return false if the session is gone and should be removed
+     */
+    boolean keepAlive(long idleTimeoutMillis);
+
+    void close();
+}
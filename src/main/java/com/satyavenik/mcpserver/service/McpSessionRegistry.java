@@ -0,0 +1,147 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.protocol.McpNotification;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * MCP Session Registry - Tracks connected sessions across transports and delivers server notifications
+ */
+@Service
+@Slf4j
+public class McpSessionRegistry {
+
+    private final ObjectMapper objectMapper;
+    private final long sessionTimeout;
+    private final Map<String, McpSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final List<Consumer<String>> closeListeners = new CopyOnWriteArrayList<>();
+
+    public McpSessionRegistry(ObjectMapper objectMapper, McpProperties properties) {
+        this.objectMapper = objectMapper;
+        this.sessionTimeout = properties.getHttp().getSessionTimeout();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcp-session-keepalive");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHttp().getKeepAliveInterval();
+        scheduler.scheduleWithFixedDelay(this::keepAlive, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register a listener called with the id of each session removed, whether closed by the client or expired
+     */
+    public void addCloseListener(Consumer<String> listener) {
+        closeListeners.add(listener);
+    }
+
+    public void register(McpSession session) {
+        sessions.put(session.getId(), session);
+    }
+
+    /**
+     * Get a session by id
+     * @param id Session id
+     * @return McpSession or null if unknown or expired
+     */
+    public McpSession get(String id) {
+        return id != null ? sessions.get(id) : null;
+    }
+
+    public void remove(String id) {
+        McpSession session = sessions.remove(id);
+        if (session != null) {
+            session.close();
+            closeListeners.forEach(listener -> listener.accept(id));
+        }
+    }
+
+    /**
+     * Send a notification to every connected session. The message is encoded once for all sessions.
+     * @param notification Notification to send
+     * @return Number of sessions the notification was delivered to
+     */
+    public int broadcast(McpNotification notification) {
+        String message = encode(notification);
+        int delivered = 0;
+        for (McpSession session : sessions.values()) {
+            if (session.send(message)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * Send a notification to one session
+     * @return false if the session is unknown or delivery failed
+     */
+    public boolean send(String sessionId, McpNotification notification) {
+        McpSession session = get(sessionId);
+        return session != null && session.send(encode(notification));
+    }
+
+    /**
+     * Send a notification to some sessions, encoding it once
+     * @param sessionIds Sessions to notify; unknown ids are skipped
+     * @return Number of sessions the notification was delivered to
+     */
+    public int send(Collection<String> sessionIds, McpNotification notification) {
+        String message = encode(notification);
+        int delivered = 0;
+        for (String sessionId : sessionIds) {
+            McpSession session = get(sessionId);
+            if (session != null && session.send(message)) {
+                delivered++;
+            }
+        }
+        return delivered;
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    private String encode(McpNotification notification) {
+        try {
+            return objectMapper.writeValueAsString(notification);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode notification " + notification.getMethod(), e);
+        }
+    }
+
+    private void keepAlive() {
+        sessions.values().forEach(session -> {
+            try {
+                if (!session.keepAlive(sessionTimeout)) {
+                    log.info("Expiring MCP session {}", session.getId());
+                    remove(session.getId());
+                }
+            } catch (RuntimeException e) {
+                log.warn("Keep-alive failed for MCP session {}", session.getId(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        sessions.values().forEach(McpSession::close);
+        sessions.clear();
+    }
+}
@@ -0,0 +1,67 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.protocol.PageCursor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * Paginator - Cuts listings into pages with cursor/nextCursor. Entries are fetched by index,
+ * so only the entries of the requested page are built.
+ */
+@Component
+public class Paginator {
+
+    private final int maxPageSize;
+
+    public Paginator(McpProperties properties) {
+        this.maxPageSize = Math.max(1, properties.getPagination().getMaxPageSize());
+    }
+
+    /**
+     * Page size to use for a request
+     * @param requested Page size asked for by the client, or null
+     * @return Requested size within 1 and the server maximum, the maximum when not requested
+     */
+    public int pageSize(Integer requested) {
+        return requested != null ? Math.min(Math.max(requested, 1), maxPageSize) : maxPageSize;
+    }
+
+    /**
+     * Check whether a request covers the whole listing in one page
+     */
+    public boolean isSinglePage(String cursor, Integer requested, int total) {
+        return cursor == null && total <= pageSize(requested);
+    }
+
+    /**
+     * Build one page of a listing
+     * @param key Result property holding the entries, e.g. "tools"
+     * @param total Number of entries in the listing
+     * @param entry Entry by index
+     * @param version Listing version the cursors are tied to
+     * @param cursor Cursor of the requested page, null for the first
+     * @param requested Requested page size, or null
+     * @return Result with the page entries and a nextCursor when more entries follow
+     */
+    public <T> Map<String, Object> page(String key, int total, IntFunction<T> entry, String version,
+                                        String cursor, Integer requested) {
+        int offset = Math.min(PageCursor.offset(cursor, version), total);
+        int end = (int) Math.min((long) offset + pageSize(requested), total);
+        List<T> entries = new ArrayList<>(end - offset);
+        for (int i = offset; i < end; i++) {
+            entries.add(entry.apply(i));
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put(key, entries);
+        if (end < total) {
+            result.put("nextCursor", new PageCursor(version, end).encode());
+        }
+        return result;
+    }
+}
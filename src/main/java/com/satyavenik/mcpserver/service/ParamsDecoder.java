@@ -0,0 +1,99 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Params Decoder - Decodes JSON-RPC params into typed records once the method is known.
+ * Params arrive as buffered tokens ({@link TokenBuffer}) and are bound directly to the target type
+ * without an intermediate map; unknown fields and type mismatches are rejected as INVALID_PARAMS.
+ */
+@Component
+public class ParamsDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader reader;
+    private final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    public ParamsDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.reader = objectMapper.reader()
+                .with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .with(DeserializationFeature.FAIL_ON_NULL_FOR_PRIMITIVES);
+    }
+
+    /**
+     * Decode params into a type
+     * @param params Request params: buffered tokens, an instance of the type, another object
+     *               (e.g. a map from programmatic callers), or null
+     * @param type Target type
+     * @return Decoded params, or null if params were absent
+     * @throws McpException with INVALID_PARAMS if the params do not match the type
+     */
+    public <T> T decode(Object params, Class<T> type) {
+        return decode(params, objectMapper.constructType(type));
+    }
+
+    /**
+     * Decode params into a type
+     * @see #decode(Object, Class)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T decode(Object params, JavaType type) {
+        if (params == null || (type.getRawClass().isInstance(params) && !(params instanceof TokenBuffer))) {
+            return (T) params;
+        }
+        if (params instanceof TokenBuffer buffer) {
+            try (JsonParser parser = buffer.asParser(objectMapper)) {
+                return readerFor(type).readValue(parser);
+            } catch (JsonProcessingException e) {
+                throw invalid(e);
+            } catch (IOException e) {
+                throw new McpException(McpError.INVALID_PARAMS, "Invalid params", e);
+            }
+        }
+        try {
+            return readerFor(type).readValue((JsonNode) objectMapper.valueToTree(params));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new McpException(McpError.INVALID_PARAMS, "Invalid params: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decode the value the parser is positioned on
+     * @param parser Parser positioned on the first token of the value
+     * @param type Target type
+     * @return Decoded value
+     * @throws McpException with INVALID_PARAMS if the value does not match the type
+     */
+    public <T> T decode(JsonParser parser, JavaType type) {
+        try {
+            return readerFor(type).readValue(parser);
+        } catch (JsonProcessingException e) {
+            throw invalid(e);
+        } catch (IOException e) {
+            throw new McpException(McpError.INVALID_PARAMS, "Invalid params", e);
+        }
+    }
+
+    private ObjectReader readerFor(JavaType type) {
+        return readers.computeIfAbsent(type, reader::forType);
+    }
+
+    private static McpException invalid(JsonProcessingException e) {
+        return new McpException(McpError.INVALID_PARAMS, "Invalid params: " + e.getOriginalMessage(), e);
+    }
+}
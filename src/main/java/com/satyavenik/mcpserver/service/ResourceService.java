@@ -0,0 +1,116 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.model.ResourceContent;
+import com.satyavenik.mcpserver.model.ResourceDescriptor;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.template.TemplateRegistry;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resource Service - Resolves MCP resource URIs to their cached content and versions
+ */
+@Service
+public class ResourceService {
+
+    public static final String TEMPLATES_URI = "templates://sql/all";
+
+    private static final String JSON = "application/json";
+
+    private final SchemaRegistry schemaRegistry;
+    private final TemplateService templateService;
+
+    public ResourceService(SchemaRegistry schemaRegistry, TemplateService templateService) {
+        this.schemaRegistry = schemaRegistry;
+        this.templateService = templateService;
+    }
+
+    /**
+     * Number of listed resources: every schema plus the template list
+     */
+    public int getResourceCount() {
+        return schemaRegistry.getNames().size() + 1;
+    }
+
+    /**
+     * Version of the resource listing; changes when schemas are added
+     */
+    public String getListingVersion() {
+        return schemaRegistry.getNamesVersion();
+    }
+
+    /**
+     * Describe one listed resource. Schemas that are not loaded yet are listed without a version
+     * rather than loaded just to be listed.
+     * @param index Position in the listing, below {@link #getResourceCount()}
+     * @return Resource descriptor
+     */
+    public ResourceDescriptor describe(int index) {
+        List<String> names = schemaRegistry.getNames();
+        if (index == names.size()) {
+            return ResourceDescriptor.builder()
+                    .uri(TEMPLATES_URI)
+                    .name("SQL Templates")
+                    .description("All available SQL generation templates")
+                    .mimeType(JSON)
+                    .version(templateService.getRegistry().getContentHash())
+                    .build();
+        }
+        String name = names.get(index);
+        boolean primary = name.equals(schemaRegistry.getDefaultName());
+        SchemaSnapshot snapshot = schemaRegistry.getIfResident(name);
+        return ResourceDescriptor.builder()
+                .uri(SchemaRegistry.uri(name))
+                .name(primary ? "E-commerce Database Schema" : name)
+                .description(primary ? "Complete schema for e-commerce database" : schemaRegistry.getDescription(name))
+                .mimeType(JSON)
+                .version(snapshot != null ? snapshot.getContentHash() : null)
+                .build();
+    }
+
+    /**
+     * List all resources
+     * @return Resource descriptors
+     */
+    public List<ResourceDescriptor> listResources() {
+        List<ResourceDescriptor> resources = new ArrayList<>();
+        for (int i = 0, count = getResourceCount(); i < count; i++) {
+            resources.add(describe(i));
+        }
+        return resources;
+    }
+
+    /**
+     * Check whether a URI names a resource, without loading it
+     */
+    public boolean exists(String uri) {
+        if (uri.startsWith(SchemaRegistry.URI_PREFIX)) {
+            return schemaRegistry.contains(uri.substring(SchemaRegistry.URI_PREFIX.length()));
+        }
+        return uri.equals(TEMPLATES_URI);
+    }
+
+    /**
+     * Read a resource
+     * @param uri Resource URI
+     * @return ResourceContent or null if the URI is unknown
+     */
+    public ResourceContent read(String uri) {
+        if (uri.startsWith(SchemaRegistry.URI_PREFIX)) {
+            SchemaSnapshot snapshot = schemaRegistry.get(uri.substring(SchemaRegistry.URI_PREFIX.length()));
+            if (snapshot == null) {
+                return null;
+            }
+            return new ResourceContent(uri, JSON, snapshot.getContentHash(), snapshot::getJsonText,
+                    () -> snapshot.getJson().openStream());
+        }
+        if (uri.equals(TEMPLATES_URI)) {
+            TemplateRegistry registry = templateService.getRegistry();
+            return new ResourceContent(uri, JSON, registry.getContentHash(), registry::getJsonText,
+                    registry.getJson()::openStream);
+        }
+        return null;
+    }
+}
@@ -0,0 +1,218 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.model.SchemaDelta;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpException;
+import com.satyavenik.mcpserver.protocol.McpNotification;
+import com.satyavenik.mcpserver.template.TemplateRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Resource Subscriptions - Sessions subscribed to resources, notified when a resource changes.
+ * Changes to the primary schema and the template list are sent as notifications/resources/updated carrying
+ * the new version and a delta from the version last sent, so subscribers need not re-read the resource.
+ * Changes arriving within the coalescing window are folded into a single notification. Other schemas of
+ * the registry do not change while loaded, so they cannot be subscribed to. A session's subscriptions end
+ * when the session is removed.
+ */
+@Service
+@Slf4j
+public class ResourceSubscriptions {
+
+    public static final String UPDATED = "notifications/resources/updated";
+
+    private final SchemaService schemaService;
+    private final TemplateService templateService;
+    private final ResourceService resourceService;
+    private final McpSessionRegistry sessionRegistry;
+    private final String schemaUri;
+    private final long coalesceWindow;
+    private final Map<String, Set<String>> subscribers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    // Guarded by this: the versions subscribers last heard about, and whether a notification is pending
+    private SchemaSnapshot notified;
+    private TemplateRegistry notifiedTemplates;
+    private boolean pending;
+
+    public ResourceSubscriptions(SchemaService schemaService, TemplateService templateService,
+                                 SchemaRegistry schemaRegistry, ResourceService resourceService,
+                                 McpSessionRegistry sessionRegistry, McpProperties properties) {
+        this.schemaService = schemaService;
+        this.templateService = templateService;
+        this.resourceService = resourceService;
+        this.sessionRegistry = sessionRegistry;
+        this.schemaUri = SchemaRegistry.uri(schemaRegistry.getDefaultName());
+        this.coalesceWindow = properties.getNotifications().getCoalesceWindow();
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "mcp-resource-notify");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.notified = schemaService.getSnapshot();
+        this.notifiedTemplates = templateService.getRegistry();
+        schemaService.addListener(snapshot -> changed());
+        templateService.addListener(registry -> changed());
+        sessionRegistry.addCloseListener(this::unsubscribeAll);
+    }
+
+    /**
+     * Subscribe a session to a resource
+     * @param sessionId Subscribing session
+     * @param uri Resource URI
+     * @throws IllegalArgumentException if the URI names no resource
+     * @throws McpException with INVALID_PARAMS if the resource never sends updates
+     */
+    public void subscribe(String sessionId, String uri) {
+        if (!resourceService.exists(uri)) {
+            throw new IllegalArgumentException("Unknown resource URI: " + uri);
+        }
+        if (!uri.equals(schemaUri) && !uri.equals(ResourceService.TEMPLATES_URI)) {
+            throw new McpException(McpError.INVALID_PARAMS, "Resource does not send updates: " + uri);
+        }
+        subscribers.compute(uri, (k, sessions) -> {
+            Set<String> updated = sessions != null ? sessions : ConcurrentHashMap.newKeySet();
+            updated.add(sessionId);
+            return updated;
+        });
+    }
+
+    public void unsubscribe(String sessionId, String uri) {
+        subscribers.computeIfPresent(uri, (k, sessions) -> {
+            sessions.remove(sessionId);
+            return sessions.isEmpty() ? null : sessions;
+        });
+    }
+
+    /**
+     * Drop every subscription of a session
+     */
+    public void unsubscribeAll(String sessionId) {
+        subscribers.keySet().forEach(uri -> unsubscribe(sessionId, uri));
+    }
+
+    public int getSubscriberCount(String uri) {
+        Set<String> sessions = subscribers.get(uri);
+        return sessions != null ? sessions.size() : 0;
+    }
+
+    /**
+     * Send any pending notifications now instead of at the end of the coalescing window
+     */
+    public void flush() {
+        SchemaSnapshot previous;
+        SchemaSnapshot current;
+        TemplateRegistry previousTemplates;
+        TemplateRegistry currentTemplates;
+        synchronized (this) {
+            pending = false;
+            previous = notified;
+            current = schemaService.getSnapshot();
+            notified = current;
+            previousTemplates = notifiedTemplates;
+            currentTemplates = templateService.getRegistry();
+            notifiedTemplates = currentTemplates;
+        }
+
+        if (!current.hasSameContent(previous)) {
+            send(schemaUri, previous.getContentHash(), current.getContentHash(),
+                    () -> SchemaDelta.between(previous.getSchema(), current.getSchema()));
+        }
+        if (!currentTemplates.getContentHash().equals(previousTemplates.getContentHash())) {
+            send(ResourceService.TEMPLATES_URI, previousTemplates.getContentHash(), currentTemplates.getContentHash(),
+                    () -> templateDelta(previousTemplates, currentTemplates));
+        }
+    }
+
+    private void send(String uri, String previousVersion, String version, Supplier<Object> delta) {
+        Set<String> sessions = subscribers.get(uri);
+        if (sessions == null) {
+            return;
+        }
+        // Sessions that have gone away since subscribing
+        if (sessions.removeIf(sessionId -> sessionRegistry.get(sessionId) == null)) {
+            subscribers.computeIfPresent(uri, (k, current) -> current.isEmpty() ? null : current);
+        }
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("uri", uri);
+        params.put("version", version);
+        params.put("previousVersion", previousVersion);
+        params.put("delta", delta.get());
+        int delivered = sessionRegistry.send(sessions, McpNotification.builder()
+                .method(UPDATED)
+                .params(params)
+                .build());
+        log.info("Notified {} sessions of {} version {}", delivered, uri, version);
+    }
+
+    /**
+     * Names of templates added, removed and changed between two registries
+     */
+    private static Map<String, Object> templateDelta(TemplateRegistry previous, TemplateRegistry current) {
+        List<String> added = new ArrayList<>();
+        List<String> changed = new ArrayList<>();
+        for (SqlTemplate template : current.getTemplates()) {
+            SqlTemplate old = previous.get(template.getName());
+            if (old == null) {
+                added.add(template.getName());
+            } else if (!old.equals(template)) {
+                changed.add(template.getName());
+            }
+        }
+        List<String> removed = previous.getTemplates().stream()
+                .map(SqlTemplate::getName)
+                .filter(name -> current.get(name) == null)
+                .toList();
+        Map<String, Object> delta = new LinkedHashMap<>();
+        if (!added.isEmpty()) {
+            delta.put("templatesAdded", added);
+        }
+        if (!removed.isEmpty()) {
+            delta.put("templatesRemoved", removed);
+        }
+        if (!changed.isEmpty()) {
+            delta.put("templatesChanged", changed);
+        }
+        return delta;
+    }
+
+    private synchronized void changed() {
+        if (!pending) {
+            pending = true;
+            scheduler.schedule(this::notifySafely, coalesceWindow, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void notifySafely() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            log.warn("Failed to notify resource subscribers", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,334 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.TableSchema;
+import lombok.extern.slf4j.Slf4j;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Schema Introspector - Builds a DatabaseSchema from JDBC DatabaseMetaData.
+ * Tables and columns are read with one catalog-wide query each; keys are read per table in parallel,
+ * each worker on its own connection. Tables are cached between runs and an incremental refresh only
+ * re-reads the keys of tables whose columns or remarks changed. When tables of more than one schema are
+ * read, table names are qualified with their schema, and with their catalog if several catalogs are read,
+ * so same-named tables in different schemas stay apart.
+ */
+@Slf4j
+public class SchemaIntrospector implements AutoCloseable {
+
+    /**
+     * Opens a new connection; called once per worker and run
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection open() throws SQLException;
+    }
+
+    private final ConnectionFactory connections;
+    private final String name;
+    private final String catalog;
+    private final String schemaPattern;
+    private final String[] tableTypes;
+    private final int parallelism;
+    private final ExecutorService executor;
+
+    // Tables of the last run by qualified name; only touched by one run at a time
+    private Map<String, CachedTable> cache = Map.of();
+
+    private int lastReadCount;
+
+    /**
+     * @param connections Connection source
+     * @param name Schema name, or null to use the connection catalog
+     * @param catalog Catalog to introspect, or null for all
+     * @param schemaPattern Schema name pattern, or null for all
+     * @param tableTypes Table types to include, e.g. TABLE and VIEW
+     * @param parallelism Number of connections used to read keys
+     */
+    public SchemaIntrospector(ConnectionFactory connections, String name, String catalog, String schemaPattern,
+                              List<String> tableTypes, int parallelism) {
+        this.connections = connections;
+        this.name = name;
+        this.catalog = catalog;
+        this.schemaPattern = schemaPattern;
+        this.tableTypes = tableTypes.toArray(String[]::new);
+        this.parallelism = Math.max(1, parallelism);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "mcp-introspect-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Introspect the whole catalog, ignoring cached tables
+     * @return DatabaseSchema with tables sorted by name
+     */
+    public synchronized DatabaseSchema introspect() throws SQLException {
+        return run(true);
+    }
+
+    /**
+     * Re-read the catalog, reusing cached tables whose columns and remarks did not change.
+     * Changes to keys alone are only picked up by a full {@link #introspect()}.
+     * @return DatabaseSchema with tables sorted by name
+     */
+    public synchronized DatabaseSchema refresh() throws SQLException {
+        return run(false);
+    }
+
+    /**
+     * Number of tables whose keys were read by the last run
+     */
+    public synchronized int getLastReadCount() {
+        return lastReadCount;
+    }
+
+    private DatabaseSchema run(boolean full) throws SQLException {
+        Map<String, CachedTable> scanned = new LinkedHashMap<>();
+        String schemaName;
+        String description;
+        try (Connection connection = connections.open()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            schemaName = name != null ? name : Objects.requireNonNullElse(connection.getCatalog(), "database");
+            description = metaData.getDatabaseProductName() + " " + metaData.getDatabaseProductVersion();
+            readTables(metaData, scanned);
+            readColumns(metaData, scanned);
+        }
+        Naming naming = Naming.of(scanned.values());
+        scanned.values().forEach(table -> table.displayName = naming.name(table.catalog, table.schema, table.name));
+
+        List<CachedTable> changed = new ArrayList<>();
+        Map<String, CachedTable> previous = cache;
+        for (Map.Entry<String, CachedTable> entry : scanned.entrySet()) {
+            CachedTable table = entry.getValue();
+            CachedTable cached = previous.get(entry.getKey());
+            if (!full && cached != null && cached.sameShape(table)) {
+                entry.setValue(cached);
+            } else {
+                changed.add(table);
+            }
+        }
+        readKeys(changed, naming);
+
+        cache = Map.copyOf(scanned);
+        lastReadCount = changed.size();
+        log.debug("Introspected {} tables of {}, {} re-read", scanned.size(), schemaName, changed.size());
+
+        return DatabaseSchema.builder()
+                .name(schemaName)
+                .description(description)
+                .tables(scanned.values().stream()
+                        .map(CachedTable::getSchema)
+                        .sorted(Comparator.comparing(TableSchema::getName))
+                        .toList())
+                .build();
+    }
+
+    private void readTables(DatabaseMetaData metaData, Map<String, CachedTable> tables) throws SQLException {
+        try (ResultSet rs = metaData.getTables(catalog, schemaPattern, "%", tableTypes)) {
+            while (rs.next()) {
+                CachedTable table = new CachedTable(rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"),
+                        rs.getString("TABLE_NAME"), rs.getString("REMARKS"));
+                tables.put(table.key(), table);
+            }
+        }
+    }
+
+    private void readColumns(DatabaseMetaData metaData, Map<String, CachedTable> tables) throws SQLException {
+        try (ResultSet rs = metaData.getColumns(catalog, schemaPattern, "%", "%")) {
+            while (rs.next()) {
+                CachedTable table = tables.get(key(rs.getString("TABLE_CAT"), rs.getString("TABLE_SCHEM"),
+                        rs.getString("TABLE_NAME")));
+                if (table == null) {
+                    continue;
+                }
+                table.columns.add(ColumnSchema.builder()
+                        .name(rs.getString("COLUMN_NAME"))
+                        .type(typeName(rs.getString("TYPE_NAME"), rs.getInt("DATA_TYPE"),
+                                rs.getInt("COLUMN_SIZE"), rs.getInt("DECIMAL_DIGITS")))
+                        .nullable(rs.getInt("NULLABLE") != DatabaseMetaData.columnNoNulls)
+                        .defaultValue(rs.getString("COLUMN_DEF"))
+                        .description(rs.getString("REMARKS"))
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Read primary and foreign keys of the given tables. Workers pull tables from a shared index
+     * so slow tables do not hold up a fixed partition.
+     */
+    private void readKeys(List<CachedTable> tables, Naming naming) throws SQLException {
+        if (tables.isEmpty()) {
+            return;
+        }
+        AtomicInteger next = new AtomicInteger();
+        int workers = Math.min(parallelism, tables.size());
+        List<Future<Void>> futures = new ArrayList<>(workers);
+        for (int i = 0; i < workers; i++) {
+            futures.add(executor.submit(() -> {
+                try (Connection connection = connections.open()) {
+                    DatabaseMetaData metaData = connection.getMetaData();
+                    for (int index = next.getAndIncrement(); index < tables.size(); index = next.getAndIncrement()) {
+                        tables.get(index).readKeys(metaData, naming);
+                    }
+                }
+                return null;
+            }));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futures.forEach(future -> future.cancel(true));
+            throw new SQLException("Interrupted while introspecting keys", e);
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof SQLException sqlException) {
+                throw sqlException;
+            }
+            throw new SQLException("Failed to introspect keys", e.getCause());
+        }
+    }
+
+    /**
+     * Type name with length or precision where it matters, e.g. VARCHAR(50) or DECIMAL(10,2)
+     */
+    static String typeName(String typeName, int dataType, int size, int scale) {
+        return switch (dataType) {
+            case Types.CHAR, Types.VARCHAR, Types.NCHAR, Types.NVARCHAR, Types.BINARY, Types.VARBINARY ->
+                    size > 0 && size < Integer.MAX_VALUE ? typeName + "(" + size + ")" : typeName;
+            case Types.DECIMAL, Types.NUMERIC ->
+                    size > 0 ? typeName + "(" + size + "," + Math.max(scale, 0) + ")" : typeName;
+            default -> typeName;
+        };
+    }
+
+    private static String key(String catalog, String schema, String table) {
+        StringBuilder key = new StringBuilder();
+        if (catalog != null) {
+            key.append(catalog).append('.');
+        }
+        if (schema != null) {
+            key.append(schema).append('.');
+        }
+        return key.append(table).toString();
+    }
+
+    /**
+     * How table names are reported: unqualified when all tables share a schema, otherwise with the parts
+     * that differ between tables
+     */
+    private record Naming(boolean catalogs, boolean schemas) {
+
+        static Naming of(Collection<CachedTable> tables) {
+            long catalogCount = tables.stream().map(table -> Objects.toString(table.catalog)).distinct().count();
+            long schemaCount = tables.stream().map(table -> table.catalog + "." + table.schema).distinct().count();
+            return new Naming(catalogCount > 1, schemaCount > 1);
+        }
+
+        String name(String catalog, String schema, String table) {
+            return key(catalogs ? catalog : null, schemas ? schema : null, table);
+        }
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Table being introspected; columns come from the catalog scan, keys from per-table reads
+     */
+    private static final class CachedTable {
+
+        private final String catalog;
+        private final String schema;
+        private final String name;
+        private final String remarks;
+        private final List<ColumnSchema> columns = new ArrayList<>();
+        private String displayName;
+        private volatile TableSchema tableSchema;
+
+        private CachedTable(String catalog, String schema, String name, String remarks) {
+            this.catalog = catalog;
+            this.schema = schema;
+            this.name = name;
+            this.remarks = remarks;
+        }
+
+        private String key() {
+            return SchemaIntrospector.key(catalog, schema, name);
+        }
+
+        private boolean sameShape(CachedTable other) {
+            return displayName.equals(other.displayName) && Objects.equals(remarks, other.remarks)
+                    && columns.equals(other.columns);
+        }
+
+        private TableSchema getSchema() {
+            return tableSchema;
+        }
+
+        private void readKeys(DatabaseMetaData metaData, Naming naming) throws SQLException {
+            Map<Integer, String> primaryKey = new HashMap<>();
+            try (ResultSet rs = metaData.getPrimaryKeys(catalog, schema, name)) {
+                while (rs.next()) {
+                    primaryKey.put(rs.getInt("KEY_SEQ"), rs.getString("COLUMN_NAME"));
+                }
+            }
+
+            // Composite keys arrive as one row per column, ordered by KEY_SEQ within each key
+            Map<String, ForeignKey> foreignKeys = new LinkedHashMap<>();
+            try (ResultSet rs = metaData.getImportedKeys(catalog, schema, name)) {
+                while (rs.next()) {
+                    String referencedTable = naming.name(rs.getString("PKTABLE_CAT"), rs.getString("PKTABLE_SCHEM"),
+                            rs.getString("PKTABLE_NAME"));
+                    String keyName = Objects.requireNonNullElse(rs.getString("FK_NAME"), referencedTable);
+                    ForeignKey foreignKey = foreignKeys.computeIfAbsent(keyName, k -> ForeignKey.builder()
+                            .columns(new ArrayList<>())
+                            .referencedTable(referencedTable)
+                            .referencedColumns(new ArrayList<>())
+                            .build());
+                    foreignKey.getColumns().add(rs.getString("FKCOLUMN_NAME"));
+                    foreignKey.getReferencedColumns().add(rs.getString("PKCOLUMN_NAME"));
+                }
+            }
+
+            tableSchema = TableSchema.builder()
+                    .name(displayName)
+                    .description(remarks)
+                    .columns(List.copyOf(columns))
+                    .primaryKey(primaryKey.entrySet().stream()
+                            .sorted(Map.Entry.comparingByKey())
+                            .map(Map.Entry::getValue)
+                            .toList())
+                    .foreignKeys(List.copyOf(foreignKeys.values()))
+                    .build();
+        }
+    }
+}
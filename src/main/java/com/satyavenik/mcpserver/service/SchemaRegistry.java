@@ -0,0 +1,303 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.protocol.JsonText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.DriverManager;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Schema Registry - Named database schemas addressed as schema://database/{name}.
+ * The primary schema of {@link SchemaService} is always available. Other schemas load on first access;
+ * concurrent first accesses share one load. Loaded snapshots are kept up to an estimated byte budget:
+ * a new snapshot only displaces the least recently used one if it has been requested more often
+ * (TinyLFU admission), so a sweep over rarely used schemas does not flush the popular ones. A rejected
+ * schema that is requested again is admitted when it reloads, so one in regular use is not reloaded on
+ * every request while its frequency catches up.
+ */
+@Service
+@Slf4j
+public class SchemaRegistry {
+
+    public static final String URI_PREFIX = "schema://database/";
+
+    static final int MAX_REJECTED_NAMES = 1024;
+
+    /**
+     * Loads a schema; called at most once at a time per name
+     */
+    @FunctionalInterface
+    public interface SchemaLoader {
+        DatabaseSchema load() throws Exception;
+    }
+
+    private record Source(String name, String description, SchemaLoader loader, Supplier<SchemaSnapshot> pinned) {
+    }
+
+    private record Resident(SchemaSnapshot snapshot, long size) {
+    }
+
+    private record Names(List<String> names, String version) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final String defaultName;
+    private final long maxBytes;
+    private final Map<String, Source> sources = new ConcurrentHashMap<>();
+    private final Map<String, CompletableFuture<SchemaSnapshot>> loading = new ConcurrentHashMap<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile Names names;
+
+    // Guarded by this; iteration order is least recently used first
+    private final LinkedHashMap<String, Resident> resident = new LinkedHashMap<>(16, 0.75f, true);
+    private final FrequencySketch sketch = new FrequencySketch(1024);
+    private long residentBytes;
+
+    // Guarded by this; names whose last load was not admitted, the oldest forgotten first
+    private final Map<String, Boolean> rejected = new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+            return size() > MAX_REJECTED_NAMES;
+        }
+    };
+
+    public SchemaRegistry(SchemaService schemaService, McpProperties properties, ObjectMapper objectMapper,
+                          ResourceLoader resourceLoader) {
+        this.objectMapper = objectMapper;
+        this.defaultName = properties.getRegistry().getDefaultName();
+        this.maxBytes = properties.getRegistry().getMaxBytes();
+        sources.put(defaultName, new Source(defaultName, "Primary database schema", null, schemaService::getSnapshot));
+        this.names = names();
+        properties.getDatabases().forEach((name, database) ->
+                register(name, database.getDescription(), loader(name, database, resourceLoader)));
+    }
+
+    /**
+     * Register a schema that is loaded on first access
+     * @param name Schema name, unique
+     * @param description Shown in resource listings
+     * @param loader Loads the schema
+     */
+    public synchronized void register(String name, String description, SchemaLoader loader) {
+        if (sources.putIfAbsent(name, new Source(name, description, loader, null)) != null) {
+            throw new IllegalArgumentException("Duplicate schema name: " + name);
+        }
+        names = names();
+    }
+
+    public String getDefaultName() {
+        return defaultName;
+    }
+
+    /**
+     * Names of all registered schemas, the primary one first
+     */
+    public List<String> getNames() {
+        return names.names();
+    }
+
+    /**
+     * Version of the name list, changing whenever a schema is registered; used for pagination cursors
+     */
+    public String getNamesVersion() {
+        return names.version();
+    }
+
+    public boolean contains(String name) {
+        return name != null && sources.containsKey(name);
+    }
+
+    public String getDescription(String name) {
+        Source source = sources.get(name);
+        return source != null ? source.description() : null;
+    }
+
+    public static String uri(String name) {
+        return URI_PREFIX + name;
+    }
+
+    /**
+     * Get a schema snapshot, loading it if it is not resident
+     * @param name Schema name
+     * @return SchemaSnapshot or null if no schema has that name
+     * @throws IllegalStateException if loading fails
+     */
+    public SchemaSnapshot get(String name) {
+        Source source = name != null ? sources.get(name) : null;
+        if (source == null) {
+            return null;
+        }
+        if (source.pinned() != null) {
+            return source.pinned().get();
+        }
+        SchemaSnapshot snapshot = lookup(name, true);
+        if (snapshot != null) {
+            return snapshot;
+        }
+
+        CompletableFuture<SchemaSnapshot> load = new CompletableFuture<>();
+        CompletableFuture<SchemaSnapshot> running = loading.putIfAbsent(name, load);
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw new IllegalStateException("Failed to load schema " + name, e.getCause());
+            }
+        }
+        try {
+            // A load that finished between the lookup and claiming the load may already be resident
+            snapshot = lookup(name, false);
+            if (snapshot == null) {
+                long start = System.nanoTime();
+                snapshot = SchemaSnapshot.of(versions.incrementAndGet(), source.loader().load(), objectMapper);
+                log.info("Loaded schema {} in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+                admit(name, snapshot);
+            }
+            load.complete(snapshot);
+            return snapshot;
+        } catch (Exception e) {
+            load.completeExceptionally(e);
+            throw new IllegalStateException("Failed to load schema " + name, e);
+        } finally {
+            loading.remove(name, load);
+        }
+    }
+
+    /**
+     * Get a schema snapshot only if it is already loaded
+     * @return SchemaSnapshot or null if unknown or not resident
+     */
+    public SchemaSnapshot getIfResident(String name) {
+        Source source = name != null ? sources.get(name) : null;
+        if (source == null) {
+            return null;
+        }
+        if (source.pinned() != null) {
+            return source.pinned().get();
+        }
+        synchronized (this) {
+            Resident entry = resident.get(name);
+            return entry != null ? entry.snapshot() : null;
+        }
+    }
+
+    /**
+     * Drop a loaded schema so the next access loads it again
+     */
+    public synchronized void invalidate(String name) {
+        Resident entry = resident.remove(name);
+        if (entry != null) {
+            residentBytes -= entry.size();
+        }
+    }
+
+    public synchronized long getResidentBytes() {
+        return residentBytes;
+    }
+
+    public synchronized int getResidentCount() {
+        return resident.size();
+    }
+
+    private synchronized SchemaSnapshot lookup(String name, boolean recordAccess) {
+        if (recordAccess) {
+            sketch.increment(name);
+        }
+        Resident entry = resident.get(name);
+        if (entry == null) {
+            return null;
+        }
+        // Snapshots grow once their JSON is built and as tables are materialized from an image; the next
+        // admission evicts against the current sizes
+        long size = entry.snapshot().estimatedSize();
+        if (size != entry.size()) {
+            resident.put(name, new Resident(entry.snapshot(), size));
+            residentBytes += size - entry.size();
+        }
+        return entry.snapshot();
+    }
+
+    /**
+     * Keep a loaded snapshot if it fits the budget, evicting least recently used snapshots when the
+     * new one is used more often than every one of them that has to go, or was rejected when it last
+     * loaded. Rejected snapshots are still returned to callers.
+     */
+    private synchronized void admit(String name, SchemaSnapshot snapshot) {
+        long size = snapshot.estimatedSize();
+        if (size > maxBytes) {
+            log.warn("Schema {} (~{} bytes) exceeds the registry budget and is not kept in memory", name, size);
+            return;
+        }
+
+        // Collect the victims first, so the snapshot is not admitted at the cost of a more popular one
+        List<String> victims = new ArrayList<>();
+        long freed = 0;
+        int frequency = sketch.frequency(name);
+        boolean reloaded = rejected.remove(name) != null;
+        for (Map.Entry<String, Resident> entry : resident.entrySet()) {
+            if (residentBytes - freed + size <= maxBytes) {
+                break;
+            }
+            if (!reloaded && frequency <= sketch.frequency(entry.getKey())) {
+                log.debug("Schema {} not admitted; {} is used more often", name, entry.getKey());
+                rejected.put(name, Boolean.TRUE);
+                return;
+            }
+            victims.add(entry.getKey());
+            freed += entry.getValue().size();
+        }
+        for (String victim : victims) {
+            Resident evicted = resident.remove(victim);
+            residentBytes -= evicted.size();
+            log.info("Evicted schema {} (~{} bytes)", victim, evicted.size());
+        }
+        resident.put(name, new Resident(snapshot, size));
+        residentBytes += size;
+    }
+
+    private Names names() {
+        List<String> list = new ArrayList<>(sources.size());
+        list.add(defaultName);
+        sources.keySet().stream().filter(name -> !name.equals(defaultName)).sorted().forEach(list::add);
+        return new Names(List.copyOf(list),
+                JsonText.contentHash(String.join("\n", list).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private SchemaLoader loader(String name, McpProperties.Database database, ResourceLoader resourceLoader) {
+        if (database.getLocation() != null) {
+            return () -> {
+                try (InputStream in = resourceLoader.getResource(database.getLocation()).getInputStream()) {
+                    return objectMapper.readValue(in, DatabaseSchema.class);
+                }
+            };
+        }
+        if (database.getUrl() != null) {
+            return () -> {
+                try (SchemaIntrospector introspector = new SchemaIntrospector(
+                        () -> DriverManager.getConnection(database.getUrl(), database.getUsername(),
+                                database.getPassword()),
+                        name, database.getCatalog(), database.getSchemaPattern(), database.getTableTypes(),
+                        database.getParallelism())) {
+                    return introspector.introspect();
+                }
+            };
+        }
+        throw new IllegalArgumentException("Database " + name + " needs a url or a location");
+    }
+}
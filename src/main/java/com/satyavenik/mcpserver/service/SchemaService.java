@@ -1,23 +1,97 @@
 package com.satyavenik.mcpserver.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.satyavenik.mcpserver.model.*;
+import com.satyavenik.mcpserver.schema.SchemaImage;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Schema Service - Provides database schema information for SQL generation
  */
 @Service
+@Slf4j
 public class SchemaService {
 
+    private final ObjectMapper objectMapper;
+
+    private volatile SchemaSnapshot snapshot;
+
+    private final List<Consumer<SchemaSnapshot>> listeners = new CopyOnWriteArrayList<>();
+
+    public SchemaService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.snapshot = SchemaSnapshot.of(1, createExampleSchema(), objectMapper);
+    }
+
+    /**
+     * Get the current schema snapshot
+     * @return SchemaSnapshot shared by all readers until the schema changes
+     */
+    public SchemaSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Register a listener called with each newly published snapshot. Listeners run on the publishing
+     * thread while publishing is locked, so they should only hand the snapshot off.
+     */
+    public void addListener(Consumer<SchemaSnapshot> listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Get example database schema for demonstration
      * @return DatabaseSchema with sample tables
      */
     public DatabaseSchema getExampleSchema() {
+        return snapshot.getSchema();
+    }
+
+    /**
+     * Publish a new schema. A new snapshot is only built and versioned when the content changed.
+     * @param schema New database schema
+     * @return The current snapshot after publishing
+     */
+    public synchronized SchemaSnapshot publish(DatabaseSchema schema) {
+        SchemaSnapshot current = snapshot;
+        SchemaSnapshot candidate = SchemaSnapshot.of(current.getVersion() + 1, schema, objectMapper);
+        if (candidate.hasSameContent(current)) {
+            return current;
+        }
+        log.info("Publishing schema {} version {}", schema.getName(), candidate.getVersion());
+        return publish(candidate);
+    }
+
+    /**
+     * Publish a schema read from a binary image; its tables are materialized as they are accessed
+     * @param image Schema image
+     * @return The current snapshot after publishing
+     */
+    public synchronized SchemaSnapshot publish(SchemaImage image) {
+        SchemaSnapshot current = snapshot;
+        SchemaSnapshot candidate = SchemaSnapshot.of(current.getVersion() + 1, image, objectMapper);
+        if (candidate.hasSameContent(current)) {
+            return current;
+        }
+        log.info("Publishing schema {} version {} from a {} byte image", image.getName(), candidate.getVersion(),
+                image.size());
+        return publish(candidate);
+    }
+
+    private SchemaSnapshot publish(SchemaSnapshot candidate) {
+        snapshot = candidate;
+        listeners.forEach(listener -> listener.accept(candidate));
+        return candidate;
+    }
+
+    private DatabaseSchema createExampleSchema() {
         return DatabaseSchema.builder()
                 .name("sample_ecommerce")
                 .description("Sample e-commerce database schema")
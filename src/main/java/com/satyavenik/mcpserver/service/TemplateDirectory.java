@@ -0,0 +1,292 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.yaml.YAMLMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.model.TemplateParameter;
+import com.satyavenik.mcpserver.template.CompiledTemplate;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Template Directory - Loads SQL templates from a directory of YAML and JSON files and keeps them current.
+ * Each file holds one template or a list of them. The directory is watched, and only files that changed are
+ * parsed and validated again; a file that fails validation keeps its previous templates. The changes seen
+ * together are checked as a whole and published at once, so a template moved between files is never
+ * reported as a duplicate. Active when mcp.templates.directory is set.
+ */
+@Service
+@Slf4j
+@ConditionalOnProperty(prefix = "mcp.templates", name = "directory")
+public class TemplateDirectory {
+
+    private static final TypeReference<List<SqlTemplate>> TEMPLATE_LIST = new TypeReference<>() {
+    };
+
+    private final TemplateService templateService;
+    private final Path directory;
+    private final long reloadDelay;
+    private final ObjectMapper jsonMapper = new ObjectMapper();
+    private final ObjectMapper yamlMapper = new YAMLMapper();
+
+    // Templates of each file, in file name order; guarded by this
+    private final Map<Path, List<SqlTemplate>> files = new TreeMap<>();
+
+    private final WatchService watchService;
+    private final Thread watcher;
+
+    public TemplateDirectory(TemplateService templateService, McpProperties properties) throws IOException {
+        McpProperties.Templates config = properties.getTemplates();
+        this.templateService = templateService;
+        this.directory = Path.of(config.getDirectory()).toAbsolutePath().normalize();
+        this.reloadDelay = config.getReloadDelay();
+        if (!Files.isDirectory(directory)) {
+            throw new IllegalStateException("Template directory does not exist: " + directory);
+        }
+
+        // Invalid files fail startup; later they are reported and skipped
+        for (Path file : listFiles()) {
+            files.put(file, parse(file));
+        }
+        Map<Path, String> conflicts = conflicts(files, files.keySet());
+        if (!conflicts.isEmpty()) {
+            Map.Entry<Path, String> conflict = conflicts.entrySet().iterator().next();
+            throw new IllegalArgumentException("Template " + conflict.getValue() + " in "
+                    + conflict.getKey().getFileName() + " is defined in more than one file");
+        }
+        publish();
+
+        if (config.isWatch()) {
+            this.watchService = directory.getFileSystem().newWatchService();
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            this.watcher = new Thread(this::watch, "mcp-template-watch");
+            watcher.setDaemon(true);
+            watcher.start();
+        } else {
+            this.watchService = null;
+            this.watcher = null;
+        }
+    }
+
+    /**
+     * Re-read some files and publish the result. Files that no longer exist are dropped; files that fail
+     * to parse or validate keep their previous templates. Template names are checked against the new
+     * contents of all files together, and a changed file that would define a name twice keeps its
+     * previous templates.
+     * @param changed Files to re-read
+     * @return true if any file's templates changed
+     */
+    public synchronized boolean reload(Collection<Path> changed) {
+        Map<Path, List<SqlTemplate>> next = new TreeMap<>(files);
+        Set<Path> updated = new HashSet<>();
+        for (Path file : changed) {
+            if (!Files.isRegularFile(file)) {
+                updated.add(file);
+                next.remove(file);
+                continue;
+            }
+            try {
+                next.put(file, parse(file));
+                updated.add(file);
+            } catch (IOException | IllegalArgumentException e) {
+                log.warn("Keeping previous templates of {}: {}", file.getFileName(), e.getMessage());
+            }
+        }
+
+        // Reverting a file can only bring back names the previous, consistent state had, so this ends
+        for (Map<Path, String> conflicts = conflicts(next, updated); !conflicts.isEmpty();
+             conflicts = conflicts(next, updated)) {
+            conflicts.forEach((file, name) -> {
+                log.warn("Keeping previous templates of {}: template {} is defined in another file",
+                        file.getFileName(), name);
+                updated.remove(file);
+                List<SqlTemplate> previous = files.get(file);
+                if (previous != null) {
+                    next.put(file, previous);
+                } else {
+                    next.remove(file);
+                }
+            });
+        }
+
+        if (next.equals(files)) {
+            return false;
+        }
+        files.clear();
+        files.putAll(next);
+        publish();
+        return true;
+    }
+
+    public synchronized int getFileCount() {
+        return files.size();
+    }
+
+    private void publish() {
+        Map<String, SqlTemplate> templates = new LinkedHashMap<>();
+        templateService.getBuiltInTemplates().forEach(template -> templates.put(template.getName(), template));
+        files.values().forEach(list -> list.forEach(template -> templates.put(template.getName(), template)));
+        templateService.publish(new ArrayList<>(templates.values()));
+    }
+
+    private void watch() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = collect(key, changed);
+                // Editors often save in several steps; gather the events that follow shortly after
+                Thread.sleep(reloadDelay);
+                for (WatchKey next = watchService.poll(); next != null; next = watchService.poll()) {
+                    overflow |= collect(next, changed);
+                }
+                if (overflow) {
+                    synchronized (this) {
+                        changed.addAll(files.keySet());
+                    }
+                    changed.addAll(listFiles());
+                }
+                try {
+                    reload(changed);
+                } catch (RuntimeException e) {
+                    log.warn("Template reload failed", e);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Stopped watching template directory {}", directory, e);
+        }
+    }
+
+    private boolean collect(WatchKey key, Set<Path> changed) {
+        boolean overflow = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                Path file = directory.resolve((Path) event.context());
+                if (isTemplateFile(file)) {
+                    changed.add(file);
+                }
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    private List<Path> listFiles() throws IOException {
+        try (Stream<Path> stream = Files.list(directory)) {
+            return stream.filter(TemplateDirectory::isTemplateFile).filter(Files::isRegularFile).sorted().toList();
+        }
+    }
+
+    private static boolean isTemplateFile(Path file) {
+        String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".yml") || name.endsWith(".yaml") || name.endsWith(".json");
+    }
+
+    /**
+     * Parse and validate one file
+     * @throws IllegalArgumentException if a template is invalid
+     */
+    private List<SqlTemplate> parse(Path file) throws IOException {
+        ObjectMapper mapper = file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json")
+                ? jsonMapper
+                : yamlMapper;
+        JsonNode root = mapper.readTree(file.toFile());
+        if (root == null || root.isMissingNode() || root.isNull()) {
+            return List.of();
+        }
+        List<SqlTemplate> templates = root.isArray()
+                ? mapper.convertValue(root, TEMPLATE_LIST)
+                : List.of(mapper.treeToValue(root, SqlTemplate.class));
+        Set<String> names = new HashSet<>();
+        for (SqlTemplate template : templates) {
+            validate(file, template);
+            if (!names.add(template.getName())) {
+                throw new IllegalArgumentException("Duplicate template " + template.getName() + " in "
+                        + file.getFileName());
+            }
+        }
+        return List.copyOf(templates);
+    }
+
+    private static void validate(Path file, SqlTemplate template) {
+        if (template == null || isBlank(template.getName())) {
+            throw new IllegalArgumentException("Template without a name in " + file.getFileName());
+        }
+        if (isBlank(template.getType()) || isBlank(template.getTemplate())) {
+            throw new IllegalArgumentException("Template " + template.getName() + " needs a type and a template");
+        }
+        if (template.getParameters() != null) {
+            for (TemplateParameter parameter : template.getParameters()) {
+                if (parameter == null || isBlank(parameter.getName())) {
+                    throw new IllegalArgumentException("Template " + template.getName() + " has an unnamed parameter");
+                }
+            }
+        }
+        CompiledTemplate.compile(template);
+    }
+
+    /**
+     * Files defining a template name that another file defines too. Changed files are blamed before
+     * unchanged ones; among changed files, all but the first in name order are.
+     * @param state Templates by file
+     * @param changed Files whose contents are new
+     * @return Conflicting name by file to revert
+     */
+    private static Map<Path, String> conflicts(Map<Path, List<SqlTemplate>> state, Set<Path> changed) {
+        Map<String, List<Path>> owners = new HashMap<>();
+        state.forEach((file, templates) -> templates.forEach(template ->
+                owners.computeIfAbsent(template.getName(), k -> new ArrayList<>()).add(file)));
+        Map<Path, String> conflicts = new TreeMap<>();
+        owners.forEach((name, paths) -> {
+            if (paths.size() < 2) {
+                return;
+            }
+            List<Path> blamed = paths.stream().filter(changed::contains).toList();
+            blamed = blamed.size() < paths.size() ? blamed : blamed.subList(1, blamed.size());
+            blamed.forEach(file -> conflicts.putIfAbsent(file, name));
+        });
+        return conflicts;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (watcher != null) {
+            watcher.interrupt();
+            watchService.close();
+        }
+    }
+}
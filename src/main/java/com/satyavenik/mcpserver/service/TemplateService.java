@@ -1,24 +1,101 @@
 package com.satyavenik.mcpserver.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.satyavenik.mcpserver.model.SqlTemplate;
 import com.satyavenik.mcpserver.model.TemplateParameter;
+import com.satyavenik.mcpserver.template.CompiledTemplate;
+import com.satyavenik.mcpserver.template.TemplateRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
- * Template Service - Provides SQL generation templates
+ * Template Service - Provides SQL generation templates.
+ * The registry is immutable and replaced as a whole by {@link #publish(List)}, so readers take a single
+ * volatile read and never lock or see a partially updated set of templates.
  */
 @Service
+@Slf4j
 public class TemplateService {
 
+    private final ObjectMapper objectMapper;
+
+    private final List<SqlTemplate> builtInTemplates;
+
+    private volatile TemplateRegistry registry;
+
+    private final List<Consumer<TemplateRegistry>> listeners = new CopyOnWriteArrayList<>();
+
+    public TemplateService(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.registry = TemplateRegistry.of(createDefaultTemplates(), objectMapper);
+        this.builtInTemplates = registry.getTemplates();
+    }
+
+    /**
+     * Get the current template registry
+     * @return TemplateRegistry with name and type indexes
+     */
+    public TemplateRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Templates defined in code, available without any template files
+     */
+    public List<SqlTemplate> getBuiltInTemplates() {
+        return builtInTemplates;
+    }
+
+    /**
+     * Replace the set of templates. The new registry is built completely before it is swapped in.
+     * @param templates Complete new set of templates
+     * @return The current registry after publishing; unchanged if the content is the same
+     * @throws IllegalArgumentException if the templates are invalid, e.g. two share a name
+     */
+    public synchronized TemplateRegistry publish(List<SqlTemplate> templates) {
+        TemplateRegistry current = registry;
+        TemplateRegistry candidate = TemplateRegistry.of(templates, objectMapper);
+        if (candidate.getContentHash().equals(current.getContentHash())) {
+            return current;
+        }
+        log.info("Publishing {} templates", candidate.size());
+        registry = candidate;
+        listeners.forEach(listener -> listener.accept(candidate));
+        return candidate;
+    }
+
+    /**
+     * Register a listener called with each newly published registry, on the publishing thread
+     */
+    public void addListener(Consumer<TemplateRegistry> listener) {
+        listeners.add(listener);
+    }
+
     /**
      * Get all available SQL templates
-     * @return List of SQL templates
+     * @return Unmodifiable list of SQL templates
      */
     public List<SqlTemplate> getAllTemplates() {
+        return registry.getTemplates();
+    }
+
+    /**
+     * Get all templates of a given type
+     * @param type Template type (SELECT, JOIN, INSERT, ...)
+     * @return Unmodifiable list of SQL templates
+     */
+    public List<SqlTemplate> getTemplatesByType(String type) {
+        return registry.getByType(type);
+    }
+
+    private List<SqlTemplate> createDefaultTemplates() {
         List<SqlTemplate> templates = new ArrayList<>();
 
         // SELECT template
@@ -228,9 +305,21 @@ public class TemplateService {
      * @return SqlTemplate or null if not found
      */
     public SqlTemplate getTemplateByName(String name) {
-        return getAllTemplates().stream()
-                .filter(t -> t.getName().equals(name))
-                .findFirst()
-                .orElse(null);
+        return registry.get(name);
+    }
+
+    /**
+     * Render a template into SQL
+     * @param name Template name
+     * @param arguments Placeholder values by parameter name
+     * @return Rendered SQL
+     * @throws IllegalArgumentException if the template does not exist or a required parameter is missing
+     */
+    public String renderTemplate(String name, Map<String, ?> arguments) {
+        CompiledTemplate compiled = registry.getCompiled(name);
+        if (compiled == null) {
+            throw new IllegalArgumentException("Template not found: " + name);
+        }
+        return compiled.render(arguments);
     }
 }
@@ -0,0 +1,230 @@
+package com.satyavenik.mcpserver.sql;
+
+import java.util.Arrays;
+
+/**
+ * SQL Tokens - Output of a single-pass SQL lexer. Every character is examined once and each token boundary
+ * is decided with at most two characters of lookahead, so the lexer never backtracks and runs in time linear
+ * in the input. Comments and whitespace are dropped. Tokens are kept as parallel int arrays of kind and
+ * source range rather than as objects.
+ */
+public final class SqlTokens {
+
+    public static final int WORD = 0;       // Unquoted identifier or keyword
+    public static final int QUOTED = 1;     // "identifier" or `identifier`
+    public static final int NUMBER = 2;
+    public static final int STRING = 3;
+    public static final int PARAMETER = 4;  // {placeholder}, ?, :name or $1
+    public static final int SYMBOL = 5;     // Operator or punctuation
+    public static final int ERROR = 6;      // Unterminated literal, comment or placeholder, or unexpected character
+
+    private final String sql;
+    private int size;
+    private int[] kinds;
+    private int[] starts;
+    private int[] ends;
+
+    private SqlTokens(String sql) {
+        this.sql = sql;
+        int capacity = Math.max(16, sql.length() / 4);
+        this.kinds = new int[capacity];
+        this.starts = new int[capacity];
+        this.ends = new int[capacity];
+    }
+
+    public static SqlTokens tokenize(String sql) {
+        SqlTokens tokens = new SqlTokens(sql);
+        int n = sql.length();
+        int i = 0;
+        while (i < n) {
+            char c = sql.charAt(i);
+            char next = i + 1 < n ? sql.charAt(i + 1) : 0;
+            int start = i;
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '-' && next == '-') {
+                int end = sql.indexOf('\n', i + 2);
+                i = end < 0 ? n : end + 1;
+            } else if (c == '/' && next == '*') {
+                int end = sql.indexOf("*/", i + 2);
+                if (end < 0) {
+                    tokens.add(ERROR, start, n);
+                    break;
+                }
+                i = end + 2;
+            } else if (isWordStart(c)) {
+                i = scanWord(sql, i + 1);
+                tokens.add(WORD, start, i);
+            } else if (isDigit(c) || (c == '.' && isDigit(next))) {
+                i = scanNumber(sql, i);
+                tokens.add(NUMBER, start, i);
+            } else if (c == '\'' || c == '"' || c == '`') {
+                i = scanQuoted(sql, i, c);
+                if (i < 0) {
+                    tokens.add(ERROR, start, n);
+                    break;
+                }
+                tokens.add(c == '\'' ? STRING : QUOTED, start, i);
+            } else if (c == '{') {
+                int end = sql.indexOf('}', i + 1);
+                if (end < 0) {
+                    tokens.add(ERROR, start, n);
+                    break;
+                }
+                i = end + 1;
+                tokens.add(PARAMETER, start, i);
+            } else if (c == '?') {
+                i++;
+                tokens.add(PARAMETER, start, i);
+            } else if (c == ':' && isWordStart(next)) {
+                i = scanWord(sql, i + 2);
+                tokens.add(PARAMETER, start, i);
+            } else if (c == '$' && isDigit(next)) {
+                i += 2;
+                while (i < n && isDigit(sql.charAt(i))) {
+                    i++;
+                }
+                tokens.add(PARAMETER, start, i);
+            } else if (isOperatorPair(c, next)) {
+                i += 2;
+                tokens.add(SYMBOL, start, i);
+            } else if ("(),.;*+-/%=<>[]^~&|!:".indexOf(c) >= 0) {
+                i++;
+                tokens.add(SYMBOL, start, i);
+            } else {
+                i++;
+                tokens.add(ERROR, start, i);
+            }
+        }
+        return tokens;
+    }
+
+    public String getSql() {
+        return sql;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int kind(int i) {
+        return kinds[i];
+    }
+
+    public int start(int i) {
+        return starts[i];
+    }
+
+    public int end(int i) {
+        return ends[i];
+    }
+
+    public String text(int i) {
+        return sql.substring(starts[i], ends[i]);
+    }
+
+    /**
+     * Check whether token i is the symbol c; false past the last token
+     */
+    public boolean isSymbol(int i, char c) {
+        return i < size && kinds[i] == SYMBOL && ends[i] - starts[i] == 1 && sql.charAt(starts[i]) == c;
+    }
+
+    /**
+     * Check whether token i is the two-character symbol "cc", e.g. the :: cast operator
+     */
+    public boolean isSymbol(int i, char first, char second) {
+        return i < size && kinds[i] == SYMBOL && ends[i] - starts[i] == 2
+                && sql.charAt(starts[i]) == first && sql.charAt(starts[i] + 1) == second;
+    }
+
+    /**
+     * Identifier named by a word or quoted token, without quotes
+     */
+    public String name(int i) {
+        if (kinds[i] != QUOTED) {
+            return text(i);
+        }
+        char quote = sql.charAt(starts[i]);
+        String inner = sql.substring(starts[i] + 1, ends[i] - 1);
+        return inner.indexOf(quote) < 0 ? inner : inner.replace(String.valueOf(quote) + quote, String.valueOf(quote));
+    }
+
+    private void add(int kind, int start, int end) {
+        if (size == kinds.length) {
+            kinds = Arrays.copyOf(kinds, size * 2);
+            starts = Arrays.copyOf(starts, size * 2);
+            ends = Arrays.copyOf(ends, size * 2);
+        }
+        kinds[size] = kind;
+        starts[size] = start;
+        ends[size] = end;
+        size++;
+    }
+
+    private static int scanWord(String sql, int i) {
+        while (i < sql.length() && isWordPart(sql.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static int scanNumber(String sql, int i) {
+        int n = sql.length();
+        while (i < n && isDigit(sql.charAt(i))) {
+            i++;
+        }
+        if (i < n && sql.charAt(i) == '.') {
+            i++;
+            while (i < n && isDigit(sql.charAt(i))) {
+                i++;
+            }
+        }
+        if (i < n && (sql.charAt(i) == 'e' || sql.charAt(i) == 'E')) {
+            char next = i + 1 < n ? sql.charAt(i + 1) : 0;
+            char after = i + 2 < n ? sql.charAt(i + 2) : 0;
+            if (isDigit(next) || ((next == '+' || next == '-') && isDigit(after))) {
+                i += 2;
+                while (i < n && isDigit(sql.charAt(i))) {
+                    i++;
+                }
+            }
+        }
+        return i;
+    }
+
+    // A doubled quote inside the literal stands for the quote itself; returns -1 if the literal is not closed
+    private static int scanQuoted(String sql, int i, char quote) {
+        int from = i + 1;
+        while (true) {
+            int end = sql.indexOf(quote, from);
+            if (end < 0) {
+                return -1;
+            }
+            if (end + 1 < sql.length() && sql.charAt(end + 1) == quote) {
+                from = end + 2;
+            } else {
+                return end + 1;
+            }
+        }
+    }
+
+    private static boolean isOperatorPair(char c, char next) {
+        return (c == '<' && (next == '=' || next == '>'))
+                || ((c == '>' || c == '!') && next == '=')
+                || (c == '|' && next == '|')
+                || (c == ':' && next == ':');
+    }
+
+    private static boolean isWordStart(char c) {
+        return Character.isLetter(c) || c == '_';
+    }
+
+    private static boolean isWordPart(char c) {
+        return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+}
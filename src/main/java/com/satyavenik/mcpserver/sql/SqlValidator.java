@@ -0,0 +1,608 @@
+package com.satyavenik.mcpserver.sql;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.SqlDiagnostic;
+import com.satyavenik.mcpserver.model.SqlValidation;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.schema.SchemaImage;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+/**
+ * SQL Validator - Checks the table and column references of SQL against symbol tables built from one schema
+ * snapshot. Statements are split into tokens by {@link SqlTokens} and resolved in two linear passes: the first
+ * collects the relations named after FROM, JOIN, UPDATE and INTO with their aliases, CTE names and derived
+ * tables; the second resolves qualified and unqualified column references against them. This is a reference
+ * check rather than a parser. All relations of a statement, subqueries included, share one scope, names are
+ * matched case-insensitively, and a statement reading a CTE, derived table or placeholder skips unqualified
+ * columns, so constructs it does not model are let through rather than reported.
+ */
+public final class SqlValidator implements SchemaSnapshot.Derived {
+
+    private static final Set<String> KEYWORDS = Set.of(
+            "select", "from", "where", "and", "or", "not", "in", "is", "null", "like", "ilike", "between",
+            "exists", "join", "inner", "left", "right", "full", "outer", "cross", "natural", "on", "using",
+            "group", "by", "order", "having", "limit", "offset", "as", "distinct", "all", "union", "intersect",
+            "except", "insert", "into", "values", "update", "set", "delete", "case", "when", "then", "else", "end",
+            "asc", "desc", "true", "false", "with", "recursive", "cast", "extract", "interval", "fetch", "first",
+            "next", "rows", "row", "only", "nulls", "last", "over", "partition", "window", "returning", "default",
+            "conflict", "do", "nothing", "any", "some", "array", "lateral", "for", "escape", "similar", "current_date",
+            "current_time", "current_timestamp", "localtime", "localtimestamp", "current_user");
+
+    // Keywords after which a "(" starts a call, e.g. EXTRACT(YEAR FROM created_at)
+    private static final Set<String> CALL_KEYWORDS = Set.of("cast", "extract");
+
+    // Keywords ending a FROM list
+    private static final Set<String> CLAUSE_KEYWORDS = Set.of(
+            "where", "group", "order", "having", "limit", "offset", "on", "using", "set", "values", "select",
+            "union", "intersect", "except", "returning", "window", "fetch", "for");
+
+    // Date parts and similar words that are not columns, e.g. EXTRACT(YEAR FROM ...) or INTERVAL '1' DAY
+    private static final Set<String> FIELD_WORDS = Set.of(
+            "year", "quarter", "month", "week", "day", "hour", "minute", "second", "millisecond", "microsecond",
+            "milliseconds", "microseconds", "epoch", "dow", "doy", "isodow", "isoyear", "timezone", "zone", "time",
+            "date", "timestamp", "both", "leading", "trailing");
+
+    // Stands for any relation whose columns are not known: CTEs, derived tables, table functions, placeholders
+    private static final Table OPAQUE = new Table(null, List.of(), -1, new AtomicLong());
+
+    private static final int PAREN_GROUP = 0;
+    private static final int PAREN_CALL = 1;
+    private static final int PAREN_DERIVED = 2;
+
+    private final Map<String, Table> tables;
+
+    // Size of the table symbols, and of the column symbols built so far
+    private final long tableBytes;
+    private final AtomicLong columnBytes;
+
+    private SqlValidator(Map<String, Table> tables, long tableBytes, AtomicLong columnBytes) {
+        this.tables = tables;
+        this.tableBytes = tableBytes;
+        this.columnBytes = columnBytes;
+    }
+
+    public static SqlValidator of(SchemaSnapshot snapshot) {
+        List<TableSchema> list = snapshot.getSchema().getTables() != null
+                ? snapshot.getSchema().getTables()
+                : List.of();
+        SchemaImage image = snapshot.getImage();
+        IntFunction<String> names = image != null ? image::tableName : table -> list.get(table).getName();
+        Map<String, Table> tables = new HashMap<>(list.size() * 2);
+        AtomicLong columnBytes = new AtomicLong();
+        long tableBytes = 0;
+        for (int i = 0; i < list.size(); i++) {
+            String name = names.apply(i);
+            String key = name.toLowerCase(Locale.ROOT);
+            if (tables.putIfAbsent(key, new Table(name, list, i, columnBytes)) == null) {
+                tableBytes += 80 + SchemaSnapshot.Derived.stringSize(key);
+            }
+        }
+        return new SqlValidator(tables, tableBytes, columnBytes);
+    }
+
+    @Override
+    public long estimatedSize() {
+        return tableBytes + columnBytes.get();
+    }
+
+    /**
+     * Validate SQL that may hold several statements separated by semicolons
+     * @param sql SQL text; template placeholders such as {table} are accepted as parameters
+     * @return Result with diagnostics in source order
+     */
+    public SqlValidation validate(String sql) {
+        Check check = new Check(SqlTokens.tokenize(sql != null ? sql : ""));
+        check.run();
+        List<SqlDiagnostic> diagnostics = check.diagnostics;
+        diagnostics.sort((a, b) -> Integer.compare(a.getOffset(), b.getOffset()));
+        return SqlValidation.builder()
+                .valid(diagnostics.isEmpty())
+                .statements(check.statements)
+                .tables(List.copyOf(check.referenced))
+                .diagnostics(diagnostics)
+                .build();
+    }
+
+    /**
+     * Table symbols; column symbols are built on first use, so large schemas only pay for tables queried
+     */
+    private static final class Table {
+
+        private final String name;
+        private final List<TableSchema> tables;
+        private final int index;
+        private final AtomicLong columnBytes;
+        private volatile Map<String, String> columns;
+
+        Table(String name, List<TableSchema> tables, int index, AtomicLong columnBytes) {
+            this.name = name;
+            this.tables = tables;
+            this.index = index;
+            this.columnBytes = columnBytes;
+        }
+
+        String name() {
+            return name;
+        }
+
+        Map<String, String> columns() {
+            Map<String, String> result = columns;
+            return result != null ? result : build();
+        }
+
+        // Built once, so the symbols are counted once
+        private synchronized Map<String, String> build() {
+            Map<String, String> result = columns;
+            if (result == null) {
+                TableSchema schema = tables.get(index);
+                List<ColumnSchema> list = schema.getColumns() != null ? schema.getColumns() : List.of();
+                result = new HashMap<>(list.size() * 2);
+                long size = 48;
+                for (ColumnSchema column : list) {
+                    String key = column.getName().toLowerCase(Locale.ROOT);
+                    if (result.putIfAbsent(key, column.getName()) == null) {
+                        size += 48 + SchemaSnapshot.Derived.stringSize(key);
+                    }
+                }
+                columnBytes.addAndGet(size);
+                columns = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * State of one validation call
+     */
+    private final class Check {
+
+        private final SqlTokens tokens;
+        private final String[] words;
+        private final boolean[] resolved;
+        private final List<SqlDiagnostic> diagnostics = new ArrayList<>();
+        private final Set<String> referenced = new LinkedHashSet<>();
+        private int statements;
+
+        // Offsets at which each line of the SQL starts, built with the first diagnostic
+        private int[] lineStarts;
+
+        // Per statement: relations by name or alias, schema tables in scope, and select-list aliases
+        private final Map<String, Table> relations = new HashMap<>();
+        private final List<Table> scope = new ArrayList<>();
+        private final Set<String> aliases = new HashSet<>();
+        private boolean opaque;
+        private int derivedParen;
+
+        Check(SqlTokens tokens) {
+            this.tokens = tokens;
+            this.words = new String[tokens.size()];
+            this.resolved = new boolean[tokens.size()];
+        }
+
+        void run() {
+            int start = 0;
+            for (int i = 0; i <= tokens.size(); i++) {
+                if (i == tokens.size() || tokens.isSymbol(i, ';')) {
+                    if (i > start) {
+                        statement(start, i);
+                    }
+                    start = i + 1;
+                } else if (tokens.kind(i) == SqlTokens.ERROR) {
+                    syntaxError(i);
+                }
+            }
+            if (statements == 0 && diagnostics.isEmpty()) {
+                diagnostics.add(diagnostic("syntax", "No SQL statement", 0, 0, null));
+            }
+        }
+
+        private void statement(int from, int to) {
+            statements++;
+            relations.clear();
+            scope.clear();
+            aliases.clear();
+            opaque = false;
+            derivedParen = -1;
+            collectRelations(from, to);
+            resolveColumns(from, to);
+        }
+
+        // Pass 1: relations, aliases and parenthesis balance
+        private void collectRelations(int from, int to) {
+            int[] parens = new int[8];
+            int[] openedAt = new int[8];
+            boolean[] selectList = new boolean[9];
+            int depth = 0;
+            boolean fromList = false;
+            int fromDepth = 0;
+            for (int i = from; i < to; i++) {
+                int kind = tokens.kind(i);
+                if (kind == SqlTokens.SYMBOL) {
+                    if (tokens.isSymbol(i, '(')) {
+                        if (depth == parens.length) {
+                            parens = Arrays.copyOf(parens, depth * 2);
+                            openedAt = Arrays.copyOf(openedAt, depth * 2);
+                            selectList = Arrays.copyOf(selectList, depth * 2 + 1);
+                        }
+                        parens[depth] = parenKind(i, from);
+                        openedAt[depth++] = i;
+                        selectList[depth] = false;
+                    } else if (tokens.isSymbol(i, ')')) {
+                        if (depth == 0) {
+                            diagnostics.add(diagnostic("syntax", "Unmatched ')'", tokens.start(i), 1, null));
+                            continue;
+                        }
+                        depth--;
+                        if (fromList && depth < fromDepth) {
+                            fromList = false;
+                        }
+                        if (parens[depth] == PAREN_DERIVED) {
+                            i = alias(i + 1, to, OPAQUE) - 1;
+                        }
+                    } else if (tokens.isSymbol(i, ',') && fromList && depth == fromDepth) {
+                        i = relation(i + 1, to, true) - 1;
+                    }
+                    continue;
+                }
+                if (kind != SqlTokens.WORD && kind != SqlTokens.QUOTED) {
+                    continue;
+                }
+                if (!isKeyword(i)) {
+                    // WITH name AS ( ... )
+                    if (isKeyword(i + 1, "as") && tokens.isSymbol(i + 2, '(')) {
+                        relations.put(word(i), OPAQUE);
+                        resolved[i] = true;
+                    } else if (selectList[depth] && impliedAlias(i, from, to)) {
+                        aliases.add(word(i));
+                        resolved[i] = true;
+                    }
+                    continue;
+                }
+                String keyword = word(i);
+                boolean inCall = depth > 0 && parens[depth - 1] == PAREN_CALL;
+                if (!inCall) {
+                    selectList[depth] = keyword.equals("select")
+                            || selectList[depth] && !keyword.equals("from") && !CLAUSE_KEYWORDS.contains(keyword);
+                }
+                switch (keyword) {
+                    case "from" -> {
+                        if (!inCall) {
+                            fromList = true;
+                            fromDepth = depth;
+                            i = relation(i + 1, to, true) - 1;
+                        }
+                    }
+                    case "join" -> i = relation(i + 1, to, true) - 1;
+                    case "update", "into" -> {
+                        fromList = false;
+                        i = relation(i + 1, to, false) - 1;
+                    }
+                    case "as" -> {
+                        if (i + 1 < to && isName(i + 1) && !isKeyword(i + 1)) {
+                            aliases.add(word(i + 1));
+                        }
+                    }
+                    default -> {
+                        if (fromList && depth == fromDepth && CLAUSE_KEYWORDS.contains(keyword)) {
+                            fromList = false;
+                        }
+                    }
+                }
+            }
+            if (depth > 0) {
+                diagnostics.add(diagnostic("syntax", "Missing ')'", tokens.start(openedAt[depth - 1]), 1, null));
+            }
+        }
+
+        /**
+         * Whether the name at i is a select-list alias written without AS, as in SELECT COUNT(*) cnt FROM ...:
+         * it directly follows a complete expression and comes before a comma, FROM or the end of the statement
+         */
+        private boolean impliedAlias(int i, int from, int to) {
+            if (i == from || !(i + 1 == to || tokens.isSymbol(i + 1, ',') || isKeyword(i + 1, "from"))) {
+                return false;
+            }
+            int previous = i - 1;
+            return switch (tokens.kind(previous)) {
+                case SqlTokens.NUMBER, SqlTokens.STRING, SqlTokens.QUOTED, SqlTokens.PARAMETER -> true;
+                case SqlTokens.WORD -> !isKeyword(previous) || isKeyword(previous, "end")
+                        || isKeyword(previous, "null") || isKeyword(previous, "true") || isKeyword(previous, "false");
+                case SqlTokens.SYMBOL -> tokens.isSymbol(previous, ')');
+                default -> false;
+            };
+        }
+
+        private int parenKind(int i, int from) {
+            if (i == derivedParen) {
+                return PAREN_DERIVED;
+            }
+            if (i > from && isName(i - 1) && (!isKeyword(i - 1) || CALL_KEYWORDS.contains(word(i - 1)))) {
+                return PAREN_CALL;
+            }
+            return PAREN_GROUP;
+        }
+
+        /**
+         * Read a relation reference and its alias
+         * @param functions Whether name( is a table function, as after FROM, rather than a column list
+         * @return Index of the first token after the relation
+         */
+        private int relation(int j, int to, boolean functions) {
+            if (j < to && isKeyword(j, "lateral")) {
+                j++;
+            }
+            if (j >= to) {
+                return j;
+            }
+            if (tokens.isSymbol(j, '(')) {
+                derivedParen = j;
+                opaque = true;
+                return j;
+            }
+            if (tokens.kind(j) == SqlTokens.PARAMETER) {
+                opaque = true;
+                return alias(j + 1, to, OPAQUE);
+            }
+            if (!isName(j) || isKeyword(j)) {
+                return j;
+            }
+            // schema.table names the table
+            int last = j;
+            while (last + 2 < to && tokens.isSymbol(last + 1, '.') && isName(last + 2)) {
+                last += 2;
+            }
+            for (int k = j; k <= last; k++) {
+                resolved[k] = true;
+            }
+            String name = word(last);
+            Table table = relations.get(name);
+            if (table == null && functions && tokens.isSymbol(last + 1, '(')) {
+                derivedParen = last + 1;
+                opaque = true;
+                return last + 1;
+            }
+            if (table == null) {
+                table = tables.get(name);
+                if (table == null) {
+                    diagnostics.add(diagnostic("unknown_table", "Unknown table '" + tokens.name(last) + "'",
+                            tokens.start(last), tokens.end(last) - tokens.start(last),
+                            closest(name, tables.keySet(), key -> tables.get(key).name())));
+                    table = OPAQUE;
+                } else {
+                    referenced.add(table.name());
+                    scope.add(table);
+                }
+            }
+            if (table == OPAQUE) {
+                opaque = true;
+            }
+            relations.put(name, table);
+            return alias(last + 1, to, table);
+        }
+
+        private int alias(int j, int to, Table table) {
+            if (j < to && isKeyword(j, "as")) {
+                j++;
+            }
+            if (j < to && isName(j) && !isKeyword(j)) {
+                resolved[j] = true;
+                relations.put(word(j), table);
+                return j + 1;
+            }
+            return j;
+        }
+
+        // Pass 2: column references
+        private void resolveColumns(int from, int to) {
+            for (int i = from; i < to; i++) {
+                if (!isName(i) || resolved[i] || isKeyword(i)) {
+                    continue;
+                }
+                int last = i;
+                while (last + 2 < to && tokens.isSymbol(last + 1, '.')
+                        && (isName(last + 2) || tokens.isSymbol(last + 2, '*'))) {
+                    last += 2;
+                }
+                if (tokens.isSymbol(last + 1, '(')) {
+                    // Function call, possibly schema-qualified
+                    i = last;
+                } else if (last > i) {
+                    qualified(last - 2, last);
+                    i = last;
+                } else if (!(i > from && (isKeyword(i - 1, "as") || isKeyword(i - 1, "over")
+                        || tokens.isSymbol(i - 1, ':', ':')))
+                        && !(i + 1 < to && tokens.kind(i + 1) == SqlTokens.STRING)) {
+                    unqualified(i);
+                }
+            }
+        }
+
+        private void qualified(int qualifier, int column) {
+            Table table = relations.get(word(qualifier));
+            if (table == null && word(qualifier).equals("excluded")) {
+                // Row proposed for insertion in ON CONFLICT ... DO UPDATE
+                return;
+            }
+            if (table == null) {
+                diagnostics.add(diagnostic("unknown_alias",
+                        "Unknown table or alias '" + tokens.name(qualifier) + "'", tokens.start(qualifier),
+                        tokens.end(qualifier) - tokens.start(qualifier),
+                        closest(word(qualifier), relations.keySet(), key -> key)));
+                return;
+            }
+            if (table == OPAQUE || tokens.isSymbol(column, '*') || table.columns().containsKey(word(column))) {
+                return;
+            }
+            diagnostics.add(diagnostic("unknown_column",
+                    "Unknown column '" + tokens.name(column) + "' in table '" + table.name() + "'",
+                    tokens.start(column), tokens.end(column) - tokens.start(column),
+                    closest(word(column), table.columns().keySet(), table.columns()::get)));
+        }
+
+        private void unqualified(int i) {
+            String name = word(i);
+            if (opaque || scope.isEmpty() || aliases.contains(name) || relations.containsKey(name)) {
+                return;
+            }
+            for (Table table : scope) {
+                if (table.columns().containsKey(name)) {
+                    return;
+                }
+            }
+            if (FIELD_WORDS.contains(name)) {
+                return;
+            }
+            String suggestion = null;
+            int best = Integer.MAX_VALUE;
+            for (Table table : scope) {
+                String candidate = closest(name, table.columns().keySet(), table.columns()::get);
+                int distance = candidate != null ? distance(name, candidate.toLowerCase(Locale.ROOT), best) : best;
+                if (distance < best) {
+                    best = distance;
+                    suggestion = candidate;
+                }
+            }
+            List<String> names = scope.stream().map(Table::name).distinct().toList();
+            diagnostics.add(diagnostic("unknown_column", "Unknown column '" + tokens.name(i) + "' in "
+                            + (names.size() == 1 ? "table '" + names.get(0) + "'" : "tables " + String.join(", ", names)),
+                    tokens.start(i), tokens.end(i) - tokens.start(i), suggestion));
+        }
+
+        private void syntaxError(int i) {
+            String text = tokens.text(i);
+            String message;
+            if (text.startsWith("'")) {
+                message = "Unterminated string literal";
+            } else if (text.startsWith("\"") || text.startsWith("`")) {
+                message = "Unterminated quoted identifier";
+            } else if (text.startsWith("/*")) {
+                message = "Unterminated comment";
+            } else if (text.startsWith("{")) {
+                message = "Unterminated placeholder";
+            } else {
+                message = "Unexpected character '" + text + "'";
+            }
+            diagnostics.add(diagnostic("syntax", message, tokens.start(i), text.length(), null));
+        }
+
+        private SqlDiagnostic diagnostic(String code, String message, int offset, int length, String suggestion) {
+            int[] starts = lineStarts();
+            int line = Arrays.binarySearch(starts, offset);
+            if (line < 0) {
+                line = -line - 2;
+            }
+            return SqlDiagnostic.builder()
+                    .code(code)
+                    .message(message)
+                    .line(line + 1)
+                    .column(offset - starts[line] + 1)
+                    .offset(offset)
+                    .length(length)
+                    .suggestion(suggestion)
+                    .build();
+        }
+
+        private int[] lineStarts() {
+            int[] starts = lineStarts;
+            if (starts == null) {
+                String sql = tokens.getSql();
+                starts = new int[8];
+                int lines = 1;
+                for (int k = sql.indexOf('\n'); k >= 0; k = sql.indexOf('\n', k + 1)) {
+                    if (lines == starts.length) {
+                        starts = Arrays.copyOf(starts, lines * 2);
+                    }
+                    starts[lines++] = k + 1;
+                }
+                starts = Arrays.copyOf(starts, lines);
+                lineStarts = starts;
+            }
+            return starts;
+        }
+
+        private boolean isName(int i) {
+            int kind = tokens.kind(i);
+            return kind == SqlTokens.WORD || kind == SqlTokens.QUOTED;
+        }
+
+        private boolean isKeyword(int i) {
+            return i < tokens.size() && tokens.kind(i) == SqlTokens.WORD && KEYWORDS.contains(word(i));
+        }
+
+        private boolean isKeyword(int i, String keyword) {
+            return i < tokens.size() && tokens.kind(i) == SqlTokens.WORD && word(i).equals(keyword);
+        }
+
+        // Lower-case identifier of token i, computed once per token
+        private String word(int i) {
+            String word = words[i];
+            if (word == null) {
+                word = tokens.name(i).toLowerCase(Locale.ROOT);
+                words[i] = word;
+            }
+            return word;
+        }
+    }
+
+    /**
+     * Closest candidate within a small edit distance, for "did you mean" suggestions
+     * @param name Lower-case name not found
+     * @param candidates Lower-case names known
+     * @param display Maps a candidate to the name shown
+     */
+    private static String closest(String name, Iterable<String> candidates,
+                                  Function<String, String> display) {
+        int limit = name.length() <= 4 ? 1 : 2;
+        String best = null;
+        int bestDistance = limit + 1;
+        for (String candidate : candidates) {
+            if (Math.abs(candidate.length() - name.length()) >= bestDistance) {
+                continue;
+            }
+            int distance = distance(name, candidate, bestDistance);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = candidate;
+            }
+        }
+        return best != null ? display.apply(best) : null;
+    }
+
+    // Levenshtein distance, or at least limit once it is clear the distance reaches it
+    private static int distance(String a, String b, int limit) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            int rowMin = current[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                current[j] = Math.min(Math.min(current[j - 1] + 1, previous[j] + 1), previous[j - 1] + cost);
+                rowMin = Math.min(rowMin, current[j]);
+            }
+            if (rowMin >= limit) {
+                return limit;
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,184 @@
+package com.satyavenik.mcpserver.template;
+
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.model.TemplateParameter;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compiled Template - SQL template parsed once into literal and placeholder segments.
+ * The template {@code SELECT {columns} FROM {table}} compiles to the literals
+ * {@code ["SELECT ", " FROM ", ""]} interleaved with the placeholders {@code [columns, table]}.
+ */
+public final class CompiledTemplate {
+
+    // Clause keywords dropped together with an omitted optional placeholder, as upper case words
+    private static final Set<String> CLAUSE_KEYWORDS = Set.of("WHERE", "AND", "OR", "HAVING", "LIMIT", "OFFSET",
+            "ON", "ORDER BY", "GROUP BY", "PARTITION BY", "UNION", "UNION ALL", "JOIN", "INNER JOIN", "CROSS JOIN",
+            "NATURAL JOIN", "LEFT JOIN", "RIGHT JOIN", "FULL JOIN", "LEFT OUTER JOIN", "RIGHT OUTER JOIN",
+            "FULL OUTER JOIN");
+
+    private static final int MAX_KEYWORD_WORDS = 3;
+
+    @Getter
+    private final SqlTemplate template;
+
+    // literals.length == placeholders.length + 1
+    private final String[] literals;
+
+    private final String[] placeholders;
+
+    private final boolean[] required;
+
+    // Offset in the preceding literal where the clause keyword of an optional placeholder starts,
+    // so "... WHERE {condition}" renders without the dangling WHERE when condition is omitted
+    private final int[] clauseStart;
+
+    private final int literalLength;
+
+    private CompiledTemplate(SqlTemplate template, String[] literals, String[] placeholders, boolean[] required) {
+        this.template = template;
+        this.literals = literals;
+        this.placeholders = placeholders;
+        this.required = required;
+        this.clauseStart = new int[placeholders.length];
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+        for (int i = 0; i < placeholders.length; i++) {
+            clauseStart[i] = required[i] ? literals[i].length() : findClauseStart(literals[i]);
+        }
+    }
+
+    /**
+     * Parse a template into segments
+     * @param template SQL template definition
+     * @return CompiledTemplate
+     * @throws IllegalArgumentException if a placeholder is not closed or empty
+     */
+    public static CompiledTemplate compile(SqlTemplate template) {
+        String text = template.getTemplate();
+        List<String> literals = new ArrayList<>();
+        List<String> placeholders = new ArrayList<>();
+
+        int start = 0;
+        int open = text.indexOf('{');
+        while (open >= 0) {
+            int close = text.indexOf('}', open + 1);
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in template " + template.getName()
+                        + " at offset " + open);
+            }
+            String name = text.substring(open + 1, close).trim();
+            if (name.isEmpty()) {
+                throw new IllegalArgumentException("Empty placeholder in template " + template.getName()
+                        + " at offset " + open);
+            }
+            literals.add(text.substring(start, open));
+            placeholders.add(name);
+            start = close + 1;
+            open = text.indexOf('{', start);
+        }
+        literals.add(text.substring(start));
+
+        // Placeholders not declared as parameters are treated as required
+        boolean[] required = new boolean[placeholders.size()];
+        for (int i = 0; i < required.length; i++) {
+            required[i] = true;
+            if (template.getParameters() != null) {
+                for (TemplateParameter parameter : template.getParameters()) {
+                    if (parameter.getName().equals(placeholders.get(i))) {
+                        required[i] = parameter.isRequired();
+                        break;
+                    }
+                }
+            }
+        }
+
+        return new CompiledTemplate(template, literals.toArray(String[]::new),
+                placeholders.toArray(String[]::new), required);
+    }
+
+    /**
+     * Render the template with the given arguments
+     * @param arguments Placeholder values by parameter name
+     * @return Rendered SQL
+     * @throws IllegalArgumentException if a required parameter is missing
+     */
+    public String render(Map<String, ?> arguments) {
+        String[] values = new String[placeholders.length];
+        int length = literalLength;
+        for (int i = 0; i < placeholders.length; i++) {
+            Object value = arguments != null ? arguments.get(placeholders[i]) : null;
+            String text = value != null ? value.toString() : null;
+            if (text == null || text.isBlank()) {
+                if (required[i]) {
+                    throw new IllegalArgumentException("Missing required parameter '" + placeholders[i]
+                            + "' for template " + template.getName());
+                }
+                continue;
+            }
+            values[i] = text;
+            length += text.length();
+        }
+
+        StringBuilder sql = new StringBuilder(length);
+        for (int i = 0; i < placeholders.length; i++) {
+            if (values[i] != null) {
+                sql.append(literals[i]).append(values[i]);
+            } else {
+                sql.append(literals[i], 0, clauseStart[i]);
+            }
+        }
+        sql.append(literals[placeholders.length]);
+        return sql.toString();
+    }
+
+    /**
+     * Find where the trailing clause keyword of a literal starts, e.g. the offset of " WHERE " in
+     * "SELECT * FROM users WHERE ". Only the keywords in CLAUSE_KEYWORDS count, in any case and after any
+     * whitespace, and the longest one wins, so LEFT OUTER JOIN is taken whole. Returns the literal length
+     * if it does not end with a clause keyword.
+     */
+    private static int findClauseStart(String literal) {
+        int clauseStart = literal.length();
+        int start = literal.length();
+        String phrase = null;
+        for (int words = 0; words < MAX_KEYWORD_WORDS; words++) {
+            int end = trimEnd(literal, start);
+            int wordStart = wordStart(literal, end);
+            if (wordStart == end || (wordStart > 0 && !Character.isWhitespace(literal.charAt(wordStart - 1)))) {
+                break;
+            }
+            String word = literal.substring(wordStart, end).toUpperCase(Locale.ROOT);
+            phrase = phrase == null ? word : word + " " + phrase;
+            start = wordStart;
+            if (CLAUSE_KEYWORDS.contains(phrase)) {
+                clauseStart = trimEnd(literal, start);
+            }
+        }
+        return clauseStart;
+    }
+
+    private static int trimEnd(String literal, int end) {
+        while (end > 0 && Character.isWhitespace(literal.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static int wordStart(String literal, int end) {
+        int start = end;
+        while (start > 0 && Character.isLetter(literal.charAt(start - 1))) {
+            start--;
+        }
+        return start;
+    }
+}
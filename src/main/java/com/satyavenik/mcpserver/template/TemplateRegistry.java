@@ -0,0 +1,182 @@
+package com.satyavenik.mcpserver.template;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.protocol.JsonPayload;
+import com.satyavenik.mcpserver.protocol.JsonText;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Template Registry - Immutable, indexed set of SQL templates with pre-encoded JSON payloads.
+ * Lookups by name and by type are O(1); the registry is built once and replaced as a whole.
+ * Each template is encoded once, and the list payloads are joined from those encodings.
+ */
+public final class TemplateRegistry {
+
+    private static final RawValue EMPTY_TEXT = JsonText.quote("[]");
+
+    @Getter
+    private final List<SqlTemplate> templates;
+
+    // Encoded template list, for MCP "text" fields and plain HTTP reads
+    @Getter
+    private final JsonPayload json;
+
+    // Hash of the encoded template list; equal for registries with identical content
+    @Getter
+    private final String contentHash;
+
+    private final Map<String, SqlTemplate> byName;
+
+    private final Map<String, CompiledTemplate> compiled;
+
+    private final Map<String, List<SqlTemplate>> byType;
+
+    private final Map<String, JsonPayload> jsonByType;
+
+    // Each template encoded on its own, for paged listings
+    private final List<RawValue> encoded;
+
+    private final Map<String, List<RawValue>> encodedByType;
+
+    private TemplateRegistry(List<SqlTemplate> templates, ObjectMapper objectMapper) {
+        Map<String, SqlTemplate> names = new LinkedHashMap<>();
+        Map<String, CompiledTemplate> compiledTemplates = new LinkedHashMap<>();
+        Map<String, List<SqlTemplate>> types = new LinkedHashMap<>();
+        for (SqlTemplate template : templates) {
+            if (names.putIfAbsent(template.getName(), template) != null) {
+                throw new IllegalArgumentException("Duplicate template name: " + template.getName());
+            }
+            compiledTemplates.put(template.getName(), CompiledTemplate.compile(template));
+            types.computeIfAbsent(normalizeType(template.getType()), k -> new ArrayList<>()).add(template);
+        }
+
+        Map<String, String> texts = new LinkedHashMap<>();
+        Map<String, RawValue> entries = new LinkedHashMap<>();
+        for (SqlTemplate template : templates) {
+            String text = encode(template, objectMapper);
+            texts.put(template.getName(), text);
+            entries.put(template.getName(), new RawValue(text));
+        }
+
+        Map<String, JsonPayload> typePayloads = new LinkedHashMap<>();
+        Map<String, List<SqlTemplate>> frozenTypes = new LinkedHashMap<>();
+        Map<String, List<RawValue>> typeEntries = new LinkedHashMap<>();
+        types.forEach((type, list) -> {
+            frozenTypes.put(type, List.copyOf(list));
+            typePayloads.put(type, JsonPayload.array(list.stream().map(template -> texts.get(template.getName()))
+                    .toList()));
+            typeEntries.put(type, list.stream().map(template -> entries.get(template.getName())).toList());
+        });
+
+        this.templates = List.copyOf(templates);
+        this.json = JsonPayload.array(List.copyOf(texts.values()));
+        this.contentHash = json.contentHash();
+        this.byName = Map.copyOf(names);
+        this.compiled = Map.copyOf(compiledTemplates);
+        this.byType = Map.copyOf(frozenTypes);
+        this.jsonByType = Map.copyOf(typePayloads);
+        this.encoded = List.copyOf(entries.values());
+        this.encodedByType = Map.copyOf(typeEntries);
+    }
+
+    /**
+     * Build a registry from a list of templates. Templates are copied so the registry
+     * is not affected by later changes to the source objects.
+     * @param templates Template definitions
+     * @param objectMapper Mapper used to encode the JSON payloads
+     * @return TemplateRegistry
+     */
+    public static TemplateRegistry of(List<SqlTemplate> templates, ObjectMapper objectMapper) {
+        return new TemplateRegistry(templates.stream().map(TemplateRegistry::freeze).toList(), objectMapper);
+    }
+
+    /**
+     * Get template by name
+     * @param name Template name
+     * @return SqlTemplate or null if not found
+     */
+    public SqlTemplate get(String name) {
+        return name != null ? byName.get(name) : null;
+    }
+
+    /**
+     * Get the compiled form of a template
+     * @param name Template name
+     * @return CompiledTemplate or null if not found
+     */
+    public CompiledTemplate getCompiled(String name) {
+        return name != null ? compiled.get(name) : null;
+    }
+
+    /**
+     * Get templates of a given type (SELECT, JOIN, INSERT, ...)
+     * @param type Template type, case-insensitive
+     * @return Templates of that type, empty if none
+     */
+    public List<SqlTemplate> getByType(String type) {
+        return byType.getOrDefault(normalizeType(type), List.of());
+    }
+
+    /**
+     * Get the JSON array of all templates as a string literal, for MCP "text" fields
+     */
+    public RawValue getJsonText() {
+        return json.text();
+    }
+
+    /**
+     * Get the pre-encoded JSON array of templates of a given type, as a string literal
+     * @param type Template type, case-insensitive
+     * @return JSON array, "[]" if no templates have that type
+     */
+    public RawValue getJsonTextByType(String type) {
+        JsonPayload payload = jsonByType.get(normalizeType(type));
+        return payload != null ? payload.text() : EMPTY_TEXT;
+    }
+
+    /**
+     * Get each template's pre-encoded JSON, optionally of one type only, in registry order
+     * @param type Template type, case-insensitive, or null for all templates
+     * @return Encoded templates
+     */
+    public List<RawValue> getEncoded(String type) {
+        return type == null ? encoded : encodedByType.getOrDefault(normalizeType(type), List.of());
+    }
+
+    public int size() {
+        return templates.size();
+    }
+
+    private static String normalizeType(String type) {
+        return type == null ? "" : type.toUpperCase(Locale.ROOT);
+    }
+
+    private static String encode(SqlTemplate template, ObjectMapper objectMapper) {
+        try {
+            return objectMapper.writeValueAsString(template);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode template " + template.getName(), e);
+        }
+    }
+
+    // Lists supplied to the builder are copied, so later changes to the source do not reach the registry
+    private static SqlTemplate freeze(SqlTemplate template) {
+        return SqlTemplate.builder()
+                .name(template.getName())
+                .type(template.getType())
+                .template(template.getTemplate())
+                .description(template.getDescription())
+                .parameters(template.getParameters() == null ? null : List.copyOf(template.getParameters()))
+                .examples(template.getExamples() == null ? null : List.copyOf(template.getExamples()))
+                .build();
+    }
+}
@@ -0,0 +1,31 @@
+package com.satyavenik.mcpserver.tool;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a public bean method as an MCP tool. Tools are discovered by {@link ToolRegistry} at startup;
+ * each method parameter must be annotated with {@link ToolParam}.
+ * <p>
+ * The return value becomes the tool's text content: a {@code String} is sent as plain text, a
+ * {@link com.fasterxml.jackson.databind.util.RawValue} as pre-quoted JSON, and any other object is
+ * serialized as JSON. An {@link IllegalArgumentException} thrown by the tool is reported as a tool error.
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface McpTool {
+
+    /**
+     * Tool name used in tools/call
+     */
+    String name();
+
+    /**
+     * Description shown to clients in tools/list
+     */
+    String description();
+}
@@ -0,0 +1,184 @@
+package com.satyavenik.mcpserver.tool;
+
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.JoinPath;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.SearchHit;
+import com.satyavenik.mcpserver.model.SqlValidation;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.model.TableSuggestion;
+import com.satyavenik.mcpserver.model.TableSuggestions;
+import com.satyavenik.mcpserver.schema.JoinPathFinder;
+import com.satyavenik.mcpserver.schema.SchemaGraph;
+import com.satyavenik.mcpserver.schema.SchemaRendering;
+import com.satyavenik.mcpserver.schema.SchemaSearchIndex;
+import com.satyavenik.mcpserver.schema.TableRelevanceIndex;
+import com.satyavenik.mcpserver.service.SchemaRegistry;
+import com.satyavenik.mcpserver.service.SchemaService;
+import com.satyavenik.mcpserver.sql.SqlValidator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Schema Tools - MCP tools exposing database schema information
+ */
+@Component
+public class SchemaTools {
+
+    private static final int MAX_RESULTS = 100;
+
+    private static final int MAX_STATEMENTS = 1000;
+
+    private final SchemaService schemaService;
+    private final SchemaRegistry schemaRegistry;
+
+    public SchemaTools(SchemaService schemaService, SchemaRegistry schemaRegistry) {
+        this.schemaService = schemaService;
+        this.schemaRegistry = schemaRegistry;
+    }
+
+    @McpTool(name = "get_schema", description = "Get database schema for SQL generation context. "
+            + "Pass tables to get only those tables and the tables related to them by foreign keys. "
+            + "Use format ddl or compact and max_tokens to keep the schema small; the most relevant tables "
+            + "are kept first")
+    public Object getSchema(
+            @ToolParam(name = "tables", description = "Optional table names to focus on", required = false)
+            List<String> tables,
+            @ToolParam(name = "depth", description = "Foreign key hops to include around the given tables (default 1)",
+                    required = false) Integer depth,
+            @ToolParam(name = "database", description = "Optional database name; the primary database by default",
+                    required = false) String database,
+            @ToolParam(name = "format", description = "json (default), ddl for CREATE TABLE statements, or compact "
+                    + "for one line per table", required = false) String format,
+            @ToolParam(name = "max_chars", description = "Optional size limit of the result in characters",
+                    required = false) Integer maxChars,
+            @ToolParam(name = "max_tokens", description = "Optional size limit in tokens, taken as 4 characters each",
+                    required = false) Integer maxTokens,
+            @ToolParam(name = "question", description = "Optional question used to pick the tables kept "
+                    + "within the size limit", required = false) String question) {
+        SchemaSnapshot snapshot = snapshot(database);
+        SchemaRendering.Format output = SchemaRendering.Format.of(format);
+        int budget = budget(maxChars, maxTokens);
+        boolean focused = tables != null && !tables.isEmpty();
+        if (!focused && question == null && budget == Integer.MAX_VALUE) {
+            return output == SchemaRendering.Format.JSON
+                    ? snapshot.getJsonText()
+                    : snapshot.derived(SchemaRendering.class, SchemaRendering::of).render(output);
+        }
+
+        SchemaRendering rendering = snapshot.derived(SchemaRendering.class, SchemaRendering::of);
+        int[] candidates;
+        if (focused) {
+            SchemaGraph graph = snapshot.getGraph();
+            candidates = graph.byDistance(graph.indexesOf(tables), depth != null ? depth : 1);
+        } else if (question != null) {
+            candidates = rendering.rank(question);
+        } else {
+            candidates = rendering.getDefaultOrder();
+        }
+        return rendering.render(output, candidates, budget);
+    }
+
+    @McpTool(name = "find_join_path", description = "Find the shortest chain of foreign key joins connecting "
+            + "two or more tables, with ready-made ON clauses")
+    public JoinPath findJoinPath(
+            @ToolParam(name = "tables", description = "Tables to connect; the first one starts the FROM clause")
+            List<String> tables,
+            @ToolParam(name = "database", description = "Optional database name; the primary database by default",
+                    required = false) String database) {
+        return snapshot(database).derived(JoinPathFinder.class, JoinPathFinder::of).find(tables);
+    }
+
+    @McpTool(name = "search_schema", description = "Search table and column names and descriptions. "
+            + "Tolerates typos and partial words; returns the best matches first")
+    public List<SearchHit> searchSchema(
+            @ToolParam(name = "query", description = "Words to look for, e.g. customer email") String query,
+            @ToolParam(name = "limit", description = "Maximum number of results (default 10, at most 100)",
+                    required = false) Integer limit,
+            @ToolParam(name = "database", description = "Optional database name; the primary database by default",
+                    required = false) String database) {
+        int size = limit != null ? Math.min(Math.max(limit, 1), MAX_RESULTS) : 10;
+        return snapshot(database).derived(SchemaSearchIndex.class, SchemaSearchIndex::of)
+                .search(query, size);
+    }
+
+    @McpTool(name = "suggest_tables", description = "Rank tables by relevance to a natural-language question, "
+            + "optionally returning the schema of just those tables")
+    public TableSuggestions suggestTables(
+            @ToolParam(name = "question", description = "Question the SQL should answer") String question,
+            @ToolParam(name = "limit", description = "Maximum number of tables (default 5, at most 100)",
+                    required = false) Integer limit,
+            @ToolParam(name = "include_schema", description = "Also return the schema of the suggested tables",
+                    required = false) Boolean includeSchema,
+            @ToolParam(name = "database", description = "Optional database name; the primary database by default",
+                    required = false) String database) {
+        SchemaSnapshot snapshot = snapshot(database);
+        int size = limit != null ? Math.min(Math.max(limit, 1), MAX_RESULTS) : 5;
+        List<TableSuggestion> suggestions = snapshot.derived(TableRelevanceIndex.class, TableRelevanceIndex::of)
+                .suggest(question, size);
+        TableSuggestions.TableSuggestionsBuilder result = TableSuggestions.builder().tables(suggestions);
+        if (Boolean.TRUE.equals(includeSchema)) {
+            SchemaGraph graph = snapshot.getGraph();
+            List<TableSchema> tables = suggestions.stream()
+                    .map(suggestion -> graph.table(graph.indexOf(suggestion.getTable())))
+                    .toList();
+            result.schema(DatabaseSchema.builder()
+                    .name(snapshot.getSchema().getName())
+                    .description(snapshot.getSchema().getDescription())
+                    .tables(tables)
+                    .build());
+        }
+        return result.build();
+    }
+
+    @McpTool(name = "validate_sql", description = "Check that the tables and columns SQL refers to exist in the "
+            + "schema, without running it. Returns diagnostics with line, column and the closest known name. "
+            + "Pass statements to validate many SQL texts in one call")
+    public Object validateSql(
+            @ToolParam(name = "sql", description = "SQL to validate; may hold several statements separated by ;",
+                    required = false) String sql,
+            @ToolParam(name = "statements", description = "SQL texts validated separately, one result each "
+                    + "(at most 1000)", required = false) List<String> statements,
+            @ToolParam(name = "database", description = "Optional database name; the primary database by default",
+                    required = false) String database) {
+        if ((sql == null) == (statements == null)) {
+            throw new IllegalArgumentException("Pass either sql or statements");
+        }
+        if (statements != null && statements.size() > MAX_STATEMENTS) {
+            throw new IllegalArgumentException("At most " + MAX_STATEMENTS + " statements per call");
+        }
+        SqlValidator validator = snapshot(database).derived(SqlValidator.class, SqlValidator::of);
+        if (sql != null) {
+            return validator.validate(sql);
+        }
+        List<SqlValidation> results = new ArrayList<>(statements.size());
+        for (String statement : statements) {
+            results.add(validator.validate(statement));
+        }
+        return results;
+    }
+
+    private static int budget(Integer maxChars, Integer maxTokens) {
+        if ((maxChars != null && maxChars <= 0) || (maxTokens != null && maxTokens <= 0)) {
+            throw new IllegalArgumentException("max_chars and max_tokens must be positive");
+        }
+        long budget = Long.MAX_VALUE;
+        if (maxChars != null) {
+            budget = maxChars;
+        }
+        if (maxTokens != null) {
+            budget = Math.min(budget, 4L * maxTokens);
+        }
+        return (int) Math.min(budget, Integer.MAX_VALUE);
+    }
+
+    private SchemaSnapshot snapshot(String database) {
+        SchemaSnapshot snapshot = database != null ? schemaRegistry.get(database) : schemaService.getSnapshot();
+        if (snapshot == null) {
+            throw new IllegalArgumentException("Unknown database: " + database);
+        }
+        return snapshot;
+    }
+}
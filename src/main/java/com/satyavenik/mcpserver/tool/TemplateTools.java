@@ -0,0 +1,61 @@
+package com.satyavenik.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.service.Paginator;
+import com.satyavenik.mcpserver.service.TemplateService;
+import com.satyavenik.mcpserver.template.TemplateRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Template Tools - MCP tools exposing and rendering SQL templates
+ */
+@Component
+public class TemplateTools {
+
+    private final TemplateService templateService;
+    private final Paginator paginator;
+
+    public TemplateTools(TemplateService templateService, Paginator paginator) {
+        this.templateService = templateService;
+        this.paginator = paginator;
+    }
+
+    @McpTool(name = "get_templates", description = "Get SQL generation templates. Without cursor or page_size "
+            + "all templates are returned as an array; otherwise one page {templates, nextCursor}")
+    public Object getTemplates(
+            @ToolParam(name = "type", description = "Optional template type filter (SELECT, JOIN, INSERT, UPDATE, DELETE)",
+                    required = false) String type,
+            @ToolParam(name = "cursor", description = "nextCursor of the previous page", required = false)
+            String cursor,
+            @ToolParam(name = "page_size", description = "Templates per page", required = false) Integer pageSize) {
+        TemplateRegistry registry = templateService.getRegistry();
+        if (cursor == null && pageSize == null) {
+            return type != null ? registry.getJsonTextByType(type) : registry.getJsonText();
+        }
+        List<RawValue> templates = registry.getEncoded(type);
+        String version = type != null ? registry.getContentHash() + "/" + type.toUpperCase(Locale.ROOT)
+                : registry.getContentHash();
+        return paginator.page("templates", templates.size(), templates::get, version, cursor, pageSize);
+    }
+
+    @McpTool(name = "get_template", description = "Get specific SQL template by name")
+    public SqlTemplate getTemplate(@ToolParam(name = "name", description = "Template name") String name) {
+        SqlTemplate template = templateService.getTemplateByName(name);
+        if (template == null) {
+            throw new IllegalArgumentException("Template not found");
+        }
+        return template;
+    }
+
+    @McpTool(name = "render_template", description = "Render a SQL template into a query by filling in its parameters")
+    public String renderTemplate(
+            @ToolParam(name = "name", description = "Template name") String name,
+            @ToolParam(name = "parameters", description = "Parameter values by name") Map<String, Object> parameters) {
+        return templateService.renderTemplate(name, parameters);
+    }
+}
@@ -0,0 +1,64 @@
+package com.satyavenik.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.JavaType;
+import lombok.Getter;
+
+import java.lang.invoke.MethodHandle;
+import java.util.Map;
+
+/**
+ * Tool Definition - A discovered tool bound to a prebuilt invoker
+ */
+@Getter
+public final class ToolDefinition {
+
+    private final String name;
+
+    private final String description;
+
+    // JSON schema of the arguments, as published in tools/list
+    private final Map<String, Object> inputSchema;
+
+    private final String[] parameterNames;
+
+    private final JavaType[] parameterTypes;
+
+    private final boolean[] required;
+
+    // Bound to the tool bean and spread over an Object[] of arguments: (Object[])Object
+    private final MethodHandle invoker;
+
+    ToolDefinition(String name, String description, Map<String, Object> inputSchema, String[] parameterNames,
+                   JavaType[] parameterTypes, boolean[] required, MethodHandle invoker) {
+        this.name = name;
+        this.description = description;
+        this.inputSchema = inputSchema;
+        this.parameterNames = parameterNames;
+        this.parameterTypes = parameterTypes;
+        this.required = required;
+        this.invoker = invoker;
+    }
+
+    /**
+     * Position of an argument in the invoker's argument array
+     * @param parameterName Argument name
+     * @return Index, or -1 if the tool has no such argument
+     */
+    public int indexOf(String parameterName) {
+        for (int i = 0; i < parameterNames.length; i++) {
+            if (parameterNames[i].equals(parameterName)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Invoke the tool
+     * @param arguments Arguments in parameter order
+     * @return Tool return value
+     */
+    public Object invoke(Object[] arguments) throws Throwable {
+        return (Object) invoker.invokeExact(arguments);
+    }
+}
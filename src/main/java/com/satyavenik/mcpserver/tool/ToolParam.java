@@ -0,0 +1,29 @@
+package com.satyavenik.mcpserver.tool;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Describes an argument of an {@link McpTool} method. The tool's inputSchema is derived from these.
+ */
+@Documented
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ToolParam {
+
+    /**
+     * Argument name in tools/call arguments
+     */
+    String name();
+
+    String description();
+
+    /**
+     * Whether the argument must be given. An omitted optional argument is passed as null, so optional
+     * parameters must have a reference type.
+     */
+    boolean required() default true;
+}
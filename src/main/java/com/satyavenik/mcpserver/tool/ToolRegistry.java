@@ -0,0 +1,319 @@
+package com.satyavenik.mcpserver.tool;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.satyavenik.mcpserver.protocol.JsonText;
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpException;
+import com.satyavenik.mcpserver.service.ContentEncoder;
+import com.satyavenik.mcpserver.service.ParamsDecoder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tool Registry - Discovers {@link McpTool} methods at startup and dispatches tools/call.
+ * Each tool is bound once to a method handle and its inputSchema derived from {@link ToolParam}s;
+ * the tools/list result is encoded once and served verbatim.
+ */
+@Component
+@Slf4j
+public class ToolRegistry implements SmartInitializingSingleton {
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final ObjectMapper objectMapper;
+    private final ContentEncoder contentEncoder;
+    private final ParamsDecoder paramsDecoder;
+
+    /**
+     * Pre-encoded tools/list payloads: the complete result and each tool on its own for paging
+     */
+    private record Listing(RawValue result, List<RawValue> tools, String version) {
+    }
+
+    private volatile Map<String, ToolDefinition> tools = Map.of();
+    private volatile Listing listing;
+
+    public ToolRegistry(ConfigurableListableBeanFactory beanFactory, ObjectMapper objectMapper,
+                        ContentEncoder contentEncoder, ParamsDecoder paramsDecoder) {
+        this.beanFactory = beanFactory;
+        this.objectMapper = objectMapper;
+        this.contentEncoder = contentEncoder;
+        this.paramsDecoder = paramsDecoder;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<ToolDefinition> definitions = new ArrayList<>();
+        for (String beanName : beanFactory.getBeanNamesForType(Object.class, false, false)) {
+            Class<?> beanType = beanFactory.getType(beanName);
+            if (beanType == null || beanType.getName().startsWith("org.springframework.")) {
+                continue;
+            }
+            Map<Method, McpTool> methods = MethodIntrospector.selectMethods(ClassUtils.getUserClass(beanType),
+                    (MethodIntrospector.MetadataLookup<McpTool>) method ->
+                            AnnotatedElementUtils.findMergedAnnotation(method, McpTool.class));
+            if (!methods.isEmpty()) {
+                Object bean = beanFactory.getBean(beanName);
+                methods.forEach((method, annotation) -> definitions.add(define(bean, method, annotation)));
+            }
+        }
+        register(definitions);
+    }
+
+    /**
+     * Replace the registered tools
+     * @param definitions Tool definitions
+     */
+    void register(Collection<ToolDefinition> definitions) {
+        Map<String, ToolDefinition> byName = new LinkedHashMap<>();
+        definitions.stream()
+                .sorted(Comparator.comparing(ToolDefinition::getName))
+                .forEach(definition -> {
+                    if (byName.putIfAbsent(definition.getName(), definition) != null) {
+                        throw new IllegalStateException("Duplicate MCP tool name: " + definition.getName());
+                    }
+                });
+
+        List<Map<String, Object>> list = new ArrayList<>(byName.size());
+        List<RawValue> encoded = new ArrayList<>(byName.size());
+        try {
+            for (ToolDefinition definition : byName.values()) {
+                Map<String, Object> tool = new LinkedHashMap<>();
+                tool.put("name", definition.getName());
+                tool.put("description", definition.getDescription());
+                tool.put("inputSchema", definition.getInputSchema());
+                list.add(tool);
+                encoded.add(new RawValue(objectMapper.writeValueAsString(tool)));
+            }
+            String result = objectMapper.writeValueAsString(Map.of("tools", list));
+            listing = new Listing(new RawValue(result), List.copyOf(encoded),
+                    JsonText.contentHash(result.getBytes(StandardCharsets.UTF_8)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to encode tools/list result", e);
+        }
+        tools = Map.copyOf(byName);
+        log.info("Registered {} MCP tools: {}", byName.size(), byName.keySet());
+    }
+
+    /**
+     * Get the pre-encoded tools/list result with all tools
+     */
+    public RawValue getToolsListResult() {
+        return listing.result();
+    }
+
+    /**
+     * Get each tool's pre-encoded tools/list entry, in listing order
+     */
+    public List<RawValue> getEncodedTools() {
+        return listing.tools();
+    }
+
+    /**
+     * Version of the tool listing, for pagination cursors
+     */
+    public String getToolsVersion() {
+        return listing.version();
+    }
+
+    /**
+     * Get a tool by name
+     * @param name Tool name
+     * @return ToolDefinition or null if not found
+     */
+    public ToolDefinition get(String name) {
+        return name != null ? tools.get(name) : null;
+    }
+
+    public Collection<ToolDefinition> getTools() {
+        return tools.values();
+    }
+
+    /**
+     * Call a tool and wrap its return value as a tools/call result
+     * @param name Tool name
+     * @param arguments Arguments object as buffered tokens or a map; may be null
+     * @return tools/call result with content and isError
+     * @throws McpException with INVALID_PARAMS for an unknown tool, unknown or invalid arguments,
+     *         or missing required arguments
+     */
+    public Map<String, Object> call(String name, Object arguments) {
+        ToolDefinition tool = get(name);
+        if (tool == null) {
+            throw new McpException(McpError.INVALID_PARAMS, "Unknown tool: " + name);
+        }
+        return invoke(tool, decodeArguments(tool, arguments));
+    }
+
+    /**
+     * Invoke a tool with already decoded arguments
+     * @param tool Tool to invoke
+     * @param values Arguments in parameter order
+     * @return tools/call result with content and isError
+     */
+    public Map<String, Object> invoke(ToolDefinition tool, Object[] values) {
+        Object text;
+        boolean error = false;
+        try {
+            Object result = tool.invoke(values);
+            text = result instanceof RawValue || result instanceof String ? result : contentEncoder.encode(result);
+        } catch (IllegalArgumentException e) {
+            error = true;
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            text = contentEncoder.encode(Map.of("error", message));
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Tool " + tool.getName() + " failed", e);
+        }
+
+        // Insertion order keeps the response bytes the same from run to run
+        Map<String, Object> content = new LinkedHashMap<>();
+        content.put("type", "text");
+        content.put("text", text);
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("content", List.of(content));
+        result.put("isError", error);
+        return result;
+    }
+
+    /**
+     * Decode arguments into the tool's parameter order. Buffered tokens are read field by field and
+     * each value is bound straight to its parameter type.
+     */
+    private Object[] decodeArguments(ToolDefinition tool, Object arguments) {
+        Object[] values = new Object[tool.getParameterNames().length];
+        if (arguments instanceof TokenBuffer buffer) {
+            try (JsonParser parser = buffer.asParser(objectMapper)) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new McpException(McpError.INVALID_PARAMS, "Arguments of tool " + tool.getName()
+                            + " must be an object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    int index = argumentIndex(tool, parser.currentName());
+                    parser.nextToken();
+                    values[index] = paramsDecoder.decode(parser, tool.getParameterTypes()[index]);
+                }
+            } catch (IOException e) {
+                throw new McpException(McpError.INVALID_PARAMS, "Invalid arguments for tool " + tool.getName(), e);
+            }
+        } else if (arguments instanceof Map<?, ?> map) {
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                int index = argumentIndex(tool, String.valueOf(entry.getKey()));
+                values[index] = paramsDecoder.decode(entry.getValue(), tool.getParameterTypes()[index]);
+            }
+        } else if (arguments != null) {
+            throw new McpException(McpError.INVALID_PARAMS, "Arguments of tool " + tool.getName() + " must be an object");
+        }
+
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == null && tool.getRequired()[i]) {
+                throw new McpException(McpError.INVALID_PARAMS,
+                        "Missing required argument '" + tool.getParameterNames()[i] + "' for tool " + tool.getName());
+            }
+        }
+        return values;
+    }
+
+    private static int argumentIndex(ToolDefinition tool, String argument) {
+        int index = tool.indexOf(argument);
+        if (index < 0) {
+            throw new McpException(McpError.INVALID_PARAMS,
+                    "Unknown argument '" + argument + "' for tool " + tool.getName());
+        }
+        return index;
+    }
+
+    ToolDefinition define(Object bean, Method method, McpTool annotation) {
+        Parameter[] parameters = method.getParameters();
+        String[] names = new String[parameters.length];
+        JavaType[] types = new JavaType[parameters.length];
+        boolean[] required = new boolean[parameters.length];
+        Map<String, Object> properties = new LinkedHashMap<>();
+        List<String> requiredNames = new ArrayList<>();
+
+        for (int i = 0; i < parameters.length; i++) {
+            ToolParam param = parameters[i].getAnnotation(ToolParam.class);
+            if (param == null) {
+                throw new IllegalStateException("Parameter " + i + " of MCP tool " + annotation.name()
+                        + " is missing @ToolParam");
+            }
+            if (!param.required() && parameters[i].getType().isPrimitive()) {
+                throw new IllegalStateException("Optional parameter " + param.name() + " of MCP tool "
+                        + annotation.name() + " must not be primitive, since it is null when omitted");
+            }
+            names[i] = param.name();
+            types[i] = objectMapper.constructType(parameters[i].getParameterizedType());
+            required[i] = param.required();
+            Map<String, Object> property = new LinkedHashMap<>();
+            property.put("type", jsonType(types[i]));
+            property.put("description", param.description());
+            properties.put(param.name(), property);
+            if (param.required()) {
+                requiredNames.add(param.name());
+            }
+        }
+
+        Map<String, Object> inputSchema = new LinkedHashMap<>();
+        inputSchema.put("type", "object");
+        inputSchema.put("properties", properties);
+        inputSchema.put("required", requiredNames);
+
+        try {
+            MethodHandle invoker = MethodHandles.publicLookup()
+                    .unreflect(AopUtils.selectInvocableMethod(method, bean.getClass()))
+                    .bindTo(bean)
+                    .asType(MethodType.genericMethodType(parameters.length))
+                    .asSpreader(Object[].class, parameters.length);
+            return new ToolDefinition(annotation.name(), annotation.description(), inputSchema,
+                    names, types, required, invoker);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("MCP tool method must be public: " + method, e);
+        }
+    }
+
+    private static String jsonType(JavaType type) {
+        Class<?> raw = type.getRawClass();
+        if (raw == String.class || raw.isEnum()) {
+            return "string";
+        }
+        if (raw == boolean.class || raw == Boolean.class) {
+            return "boolean";
+        }
+        if (raw == int.class || raw == Integer.class || raw == long.class || raw == Long.class) {
+            return "integer";
+        }
+        if (raw.isPrimitive() || Number.class.isAssignableFrom(raw)) {
+            return "number";
+        }
+        if (type.isArrayType() || type.isCollectionLikeType()) {
+            return "array";
+        }
+        return "object";
+    }
+}
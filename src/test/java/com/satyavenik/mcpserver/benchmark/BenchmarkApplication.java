@@ -0,0 +1,41 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.satyavenik.mcpserver.McpServerApplication;
+import com.satyavenik.mcpserver.service.SchemaService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Benchmark Application - The full application context serving a generated schema, for benchmarks that
+ * go through the request path rather than a single component, on a random port.
+ */
+public final class BenchmarkApplication implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+
+    private BenchmarkApplication(ConfigurableApplicationContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Start the application and publish a synthetic schema as the primary database
+     * @param tables Number of generated tables
+     */
+    public static BenchmarkApplication start(int tables) {
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(McpServerApplication.class)
+                .run("--server.port=0", "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN", "--logging.level.org.springframework=WARN",
+                        "--logging.level.com.satyavenik.mcpserver=WARN");
+        context.getBean(SchemaService.class).publish(SyntheticSchemas.generate(tables));
+        return new BenchmarkApplication(context);
+    }
+
+    public <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
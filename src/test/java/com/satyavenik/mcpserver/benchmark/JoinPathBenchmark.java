@@ -0,0 +1,65 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.JoinPath;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.schema.JoinPathFinder;
+import com.satyavenik.mcpserver.schema.SchemaGraph;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Join Path Benchmark - Graph construction and join path lookups on a generated 10k-table schema
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JoinPathBenchmark {
+
+    @Param({"10000"})
+    private int tables;
+
+    private SchemaSnapshot snapshot;
+
+    private JoinPathFinder finder;
+
+    // Two leaves in different subtrees, several hops apart
+    private List<String> distantPair;
+
+    private List<String> fourTables;
+
+    @Setup
+    public void setup() {
+        snapshot = SchemaSnapshot.of(1, SyntheticSchemas.generate(tables), new ObjectMapper());
+        finder = snapshot.derived(JoinPathFinder.class, JoinPathFinder::of);
+        distantPair = List.of(SyntheticSchemas.tableName(tables - 1), SyntheticSchemas.tableName(tables / 2));
+        fourTables = List.of(SyntheticSchemas.tableName(tables - 1), SyntheticSchemas.tableName(tables / 2),
+                SyntheticSchemas.tableName(tables / 3), SyntheticSchemas.tableName(7));
+        finder.find(distantPair);
+    }
+
+    @Benchmark
+    public SchemaGraph buildGraph() {
+        return SchemaGraph.of(snapshot);
+    }
+
+    @Benchmark
+    public JoinPath findUncached() {
+        return finder.compute(distantPair);
+    }
+
+    @Benchmark
+    public JoinPath findFourTablesUncached() {
+        return finder.compute(fourTables);
+    }
+
+    @Benchmark
+    public JoinPath findCached() {
+        return finder.find(distantPair);
+    }
+}
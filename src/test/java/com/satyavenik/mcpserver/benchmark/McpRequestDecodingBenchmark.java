@@ -0,0 +1,83 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.protocol.McpBatch;
+import com.satyavenik.mcpserver.protocol.McpRequest;
+import com.satyavenik.mcpserver.protocol.ToolsCallParams;
+import com.satyavenik.mcpserver.service.McpMessageReader;
+import com.satyavenik.mcpserver.service.ParamsDecoder;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MCP Request Decoding Benchmark - Jackson decoding of JSON-RPC payloads into McpRequest, through plain
+ * data binding and through the message reader the transports use, and binding tools/call params
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class McpRequestDecodingBenchmark {
+
+    private ObjectMapper objectMapper;
+
+    private McpMessageReader reader;
+
+    private ParamsDecoder paramsDecoder;
+
+    private byte[] toolsList;
+
+    private byte[] toolsCall;
+
+    private byte[] batch;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        reader = new McpMessageReader(objectMapper, new McpProperties());
+        paramsDecoder = new ParamsDecoder(objectMapper);
+        toolsList = "{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"tools/list\"}".getBytes(StandardCharsets.UTF_8);
+        String call = """
+                {"jsonrpc": "2.0", "id": 2, "method": "tools/call", "params": {"name": "render_template",
+                 "arguments": {"name": "basic_select", "parameters": {"columns": "id, username, email",
+                 "table": "users", "condition": "created_at > '2024-01-01'"}}}}""";
+        toolsCall = call.getBytes(StandardCharsets.UTF_8);
+        StringBuilder requests = new StringBuilder("[");
+        for (int i = 0; i < 10; i++) {
+            requests.append(i > 0 ? "," : "").append(call);
+        }
+        batch = requests.append(']').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public McpRequest bindToolsList() throws IOException {
+        return objectMapper.readValue(toolsList, McpRequest.class);
+    }
+
+    @Benchmark
+    public McpRequest bindToolsCall() throws IOException {
+        return objectMapper.readValue(toolsCall, McpRequest.class);
+    }
+
+    @Benchmark
+    public ToolsCallParams bindToolsCallWithParams() throws IOException {
+        McpRequest request = objectMapper.readValue(toolsCall, McpRequest.class);
+        return paramsDecoder.decode(request.getParams(), ToolsCallParams.class);
+    }
+
+    @Benchmark
+    public McpBatch readToolsCall() {
+        return reader.read(toolsCall);
+    }
+
+    @Benchmark
+    public McpBatch readBatchOfTen() {
+        return reader.read(batch);
+    }
+}
@@ -0,0 +1,212 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.protocol.McpRequest;
+import com.satyavenik.mcpserver.protocol.McpResponse;
+import com.satyavenik.mcpserver.service.McpService;
+import com.satyavenik.mcpserver.service.SchemaRegistry;
+import com.satyavenik.mcpserver.service.SchemaService;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MCP Service Benchmark - McpService.processRequest for each method and tools/call for each tool, against
+ * the full application context. Requests are decoded once in setup, so only dispatch and handling are
+ * measured; see McpRequestDecodingBenchmark and SchemaSerializationBenchmark for the wire formats.
+ * Subscriptions are measured against one fixed session, so repeating resources/subscribe re-adds the same
+ * subscriber. Run with the gc profiler (the benchmark profile's default) to see allocation per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class McpServiceBenchmark {
+
+    private static final String SESSION = "benchmark-session";
+
+    /** Statements per validate_sql batch call */
+    private static final int BATCH_STATEMENTS = 100;
+
+    @Param({"10", "1000", "100000"})
+    private int tables;
+
+    private BenchmarkApplication application;
+
+    private McpService mcpService;
+
+    private McpRequest initialize;
+    private McpRequest toolsList;
+    private McpRequest resourcesList;
+    private McpRequest resourcesRead;
+    private McpRequest resourcesReadNotModified;
+    private McpRequest resourcesSubscribe;
+    private McpRequest getSchema;
+    private McpRequest getSchemaFocused;
+    private McpRequest getSchemaCompactBudget;
+    private McpRequest findJoinPath;
+    private McpRequest searchSchema;
+    private McpRequest suggestTables;
+    private McpRequest validateSql;
+    private McpRequest validateSqlBatch;
+    private McpRequest getTemplates;
+    private McpRequest getTemplate;
+    private McpRequest renderTemplate;
+
+    @Setup
+    public void setup() throws IOException {
+        application = BenchmarkApplication.start(tables);
+        mcpService = application.getBean(McpService.class);
+        ObjectMapper objectMapper = application.getBean(ObjectMapper.class);
+        String schemaUri = SchemaRegistry.uri(application.getBean(SchemaRegistry.class).getDefaultName());
+        String version = application.getBean(SchemaService.class).getSnapshot().getContentHash();
+        String leaf = SyntheticSchemas.tableName(tables - 1);
+
+        initialize = request(objectMapper, "initialize", """
+                {"protocolVersion": "2024-11-05", "capabilities": {}, "clientInfo": {"name": "bench", "version": "1"}}""");
+        toolsList = request(objectMapper, "tools/list", "{}");
+        resourcesList = request(objectMapper, "resources/list", "{}");
+        resourcesRead = request(objectMapper, "resources/read", "{\"uri\": \"" + schemaUri + "\"}");
+        resourcesReadNotModified = request(objectMapper, "resources/read",
+                "{\"uri\": \"" + schemaUri + "\", \"ifNoneMatch\": \"" + version + "\"}");
+        resourcesSubscribe = request(objectMapper, "resources/subscribe", "{\"uri\": \"" + schemaUri + "\"}");
+        getSchema = tool(objectMapper, "get_schema", "{}");
+        getSchemaFocused = tool(objectMapper, "get_schema", "{\"tables\": [\"" + leaf + "\"], \"depth\": 2}");
+        getSchemaCompactBudget = tool(objectMapper, "get_schema",
+                "{\"format\": \"compact\", \"max_tokens\": 2000, \"question\": \"attribute of table 42\"}");
+        findJoinPath = tool(objectMapper, "find_join_path",
+                "{\"tables\": [\"" + leaf + "\", \"" + SyntheticSchemas.tableName(tables / 2) + "\"]}");
+        searchSchema = tool(objectMapper, "search_schema", "{\"query\": \"atribute_3 of tabel_7\", \"limit\": 10}");
+        suggestTables = tool(objectMapper, "suggest_tables", "{\"question\": \"parent reference of table 7\"}");
+        List<String> statements = new ArrayList<>(BATCH_STATEMENTS);
+        for (int i = 0; i < BATCH_STATEMENTS; i++) {
+            String table = SyntheticSchemas.tableName(i % tables);
+            statements.add("SELECT t.id, t.attribute_" + (i % 5) + " FROM " + table + " t WHERE t.id = " + i);
+        }
+        validateSql = tool(objectMapper, "validate_sql", "{\"sql\": \"SELECT c.attribute_0, p.attribute_1 FROM "
+                + leaf + " c JOIN table_0 p ON p.id = c.parent_id WHERE c.attribute_3 > 10\"}");
+        validateSqlBatch = tool(objectMapper, "validate_sql",
+                "{\"statements\": " + objectMapper.writeValueAsString(statements) + "}");
+        getTemplates = tool(objectMapper, "get_templates", "{\"type\": \"SELECT\"}");
+        getTemplate = tool(objectMapper, "get_template", "{\"name\": \"basic_select\"}");
+        renderTemplate = tool(objectMapper, "render_template", """
+                {"name": "basic_select", "parameters": {"columns": "id", "table": "users", "condition": "id = 1"}}""");
+
+        // A request that fails would measure the error path instead
+        for (McpRequest request : new McpRequest[]{initialize, toolsList, resourcesList, resourcesRead,
+                resourcesReadNotModified, resourcesSubscribe, getSchema, getSchemaFocused, getSchemaCompactBudget,
+                findJoinPath, searchSchema, suggestTables, validateSql, validateSqlBatch, getTemplates, getTemplate,
+                renderTemplate}) {
+            McpResponse response = mcpService.processRequest(request, SESSION);
+            if (response.getError() != null || (response.getResult() instanceof Map<?, ?> result
+                    && Boolean.TRUE.equals(result.get("isError")))) {
+                throw new IllegalStateException("Benchmark request failed: " + request + " -> " + response);
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+    }
+
+    private static McpRequest request(ObjectMapper objectMapper, String method, String params) throws IOException {
+        return objectMapper.readValue("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"" + method
+                + "\", \"params\": " + params + "}", McpRequest.class);
+    }
+
+    private static McpRequest tool(ObjectMapper objectMapper, String name, String arguments) throws IOException {
+        return request(objectMapper, "tools/call", "{\"name\": \"" + name + "\", \"arguments\": " + arguments + "}");
+    }
+
+    @Benchmark
+    public McpResponse initialize() {
+        return mcpService.processRequest(initialize);
+    }
+
+    @Benchmark
+    public McpResponse toolsList() {
+        return mcpService.processRequest(toolsList);
+    }
+
+    @Benchmark
+    public McpResponse resourcesList() {
+        return mcpService.processRequest(resourcesList);
+    }
+
+    @Benchmark
+    public McpResponse resourcesRead() {
+        return mcpService.processRequest(resourcesRead);
+    }
+
+    @Benchmark
+    public McpResponse resourcesReadNotModified() {
+        return mcpService.processRequest(resourcesReadNotModified);
+    }
+
+    @Benchmark
+    public McpResponse resourcesSubscribe() {
+        return mcpService.processRequest(resourcesSubscribe, SESSION);
+    }
+
+    @Benchmark
+    public McpResponse callGetSchema() {
+        return mcpService.processRequest(getSchema);
+    }
+
+    @Benchmark
+    public McpResponse callGetSchemaFocused() {
+        return mcpService.processRequest(getSchemaFocused);
+    }
+
+    @Benchmark
+    public McpResponse callGetSchemaCompactBudget() {
+        return mcpService.processRequest(getSchemaCompactBudget);
+    }
+
+    @Benchmark
+    public McpResponse callFindJoinPath() {
+        return mcpService.processRequest(findJoinPath);
+    }
+
+    @Benchmark
+    public McpResponse callSearchSchema() {
+        return mcpService.processRequest(searchSchema);
+    }
+
+    @Benchmark
+    public McpResponse callSuggestTables() {
+        return mcpService.processRequest(suggestTables);
+    }
+
+    @Benchmark
+    public McpResponse callValidateSql() {
+        return mcpService.processRequest(validateSql);
+    }
+
+    @Benchmark
+    public McpResponse callValidateSqlBatch() {
+        return mcpService.processRequest(validateSqlBatch);
+    }
+
+    @Benchmark
+    public McpResponse callGetTemplates() {
+        return mcpService.processRequest(getTemplates);
+    }
+
+    @Benchmark
+    public McpResponse callGetTemplate() {
+        return mcpService.processRequest(getTemplate);
+    }
+
+    @Benchmark
+    public McpResponse callRenderTemplate() {
+        return mcpService.processRequest(renderTemplate);
+    }
+}
@@ -0,0 +1,55 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.SearchHit;
+import com.satyavenik.mcpserver.schema.SchemaSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema Search Benchmark - Trigram search on generated schemas; 30k tables hold about 250k columns
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaSearchBenchmark {
+
+    @Param({"1000", "30000"})
+    private int tables;
+
+    private SchemaSnapshot snapshot;
+
+    private SchemaSearchIndex index;
+
+    @Setup
+    public void setup() {
+        snapshot = SchemaSnapshot.of(1, SyntheticSchemas.generate(tables), new ObjectMapper());
+        index = SchemaSearchIndex.of(snapshot);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchSelectiveName() {
+        return index.search("table_4711", 10);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchMisspelled() {
+        return index.search("atribute_3 of tabel_123", 10);
+    }
+
+    @Benchmark
+    public List<SearchHit> searchCommonPrefix() {
+        return index.search("paren", 10);
+    }
+
+    @Benchmark
+    public SchemaSearchIndex buildIndex() {
+        return SchemaSearchIndex.of(snapshot);
+    }
+}
@@ -0,0 +1,77 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.protocol.McpResponse;
+import com.satyavenik.mcpserver.schema.SchemaRendering;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schema Serialization Benchmark - Encoding generated schemas as JSON and text: the plain object model,
+ * the catalog view a snapshot serves, building a snapshot, rendering DDL, and writing a tools/call response
+ * around the cached schema text.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SchemaSerializationBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int tables;
+
+    private ObjectMapper objectMapper;
+
+    private DatabaseSchema schema;
+
+    private SchemaSnapshot snapshot;
+
+    private McpResponse schemaResponse;
+
+    @Setup
+    public void setup() {
+        objectMapper = new ObjectMapper();
+        schema = SyntheticSchemas.generate(tables);
+        snapshot = SchemaSnapshot.of(1, schema, objectMapper);
+        RawValue text = snapshot.getJsonText();
+        schemaResponse = McpResponse.builder()
+                .jsonrpc("2.0")
+                .id(1)
+                .result(Map.of("content", List.of(Map.of("type", "text", "text", text)), "isError", false))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] writeObjectModel() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(schema);
+    }
+
+    @Benchmark
+    public byte[] writeCatalogView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(snapshot.getSchema());
+    }
+
+    @Benchmark
+    public SchemaSnapshot buildSnapshot() {
+        return SchemaSnapshot.of(2, schema, objectMapper);
+    }
+
+    @Benchmark
+    public RawValue renderDdl() {
+        return SchemaRendering.of(snapshot).render(SchemaRendering.Format.DDL);
+    }
+
+    @Benchmark
+    public byte[] writeCachedSchemaResponse() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(schemaResponse);
+    }
+}
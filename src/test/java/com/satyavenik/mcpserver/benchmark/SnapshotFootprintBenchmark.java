@@ -0,0 +1,73 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Snapshot Footprint Benchmark - Heap retained by a generated schema held as plain objects, as a snapshot,
+ * and as a snapshot whose JSON has been read. Each invocation builds one form, and the heap still in use
+ * after collection is reported as the retainedBytes counter next to the build time.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SnapshotFootprintBenchmark {
+
+    @Param({"1000", "20000", "100000"})
+    private int tables;
+
+    @Param({"objects", "snapshot", "snapshot_json"})
+    private String form;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Retained {
+
+        public long retainedBytes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retainedBytes = 0;
+        }
+    }
+
+    @Benchmark
+    public Object retain(Retained retained) throws InterruptedException {
+        collect();
+        long before = used();
+        Object value = switch (form) {
+            case "objects" -> SyntheticSchemas.generate(tables);
+            case "snapshot" -> SchemaSnapshot.of(1, SyntheticSchemas.generate(tables), objectMapper);
+            default -> {
+                SchemaSnapshot snapshot = SchemaSnapshot.of(1, SyntheticSchemas.generate(tables), objectMapper);
+                snapshot.getJson();
+                yield snapshot;
+            }
+        };
+        collect();
+        retained.retainedBytes = used() - before;
+        Reference.reachabilityFence(value);
+        return value;
+    }
+
+    private static void collect() throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+    }
+
+    private static long used() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,63 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.TableSchema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Synthetic Schemas - Generated schemas of a given size for benchmarks.
+ * Tables form a tree (each table references a parent) plus a few random cross references,
+ * so join paths are several hops long.
+ */
+public final class SyntheticSchemas {
+
+    private SyntheticSchemas() {
+    }
+
+    public static String tableName(int table) {
+        return "table_" + table;
+    }
+
+    public static DatabaseSchema generate(int tables) {
+        Random random = new Random(42);
+        List<TableSchema> result = new ArrayList<>(tables);
+        for (int i = 0; i < tables; i++) {
+            List<ColumnSchema> columns = new ArrayList<>();
+            columns.add(ColumnSchema.builder().name("id").type("BIGINT").nullable(false)
+                    .description("Primary key").build());
+            List<ForeignKey> foreignKeys = new ArrayList<>();
+            if (i > 0) {
+                int parent = (i - 1) / 4;
+                columns.add(ColumnSchema.builder().name("parent_id").type("BIGINT").nullable(false)
+                        .description("Reference to " + tableName(parent)).build());
+                foreignKeys.add(ForeignKey.builder().columns(List.of("parent_id"))
+                        .referencedTable(tableName(parent)).referencedColumns(List.of("id")).build());
+            }
+            if (i > 1 && random.nextInt(10) == 0) {
+                int other = random.nextInt(i);
+                columns.add(ColumnSchema.builder().name("ref_" + other + "_id").type("BIGINT").nullable(true)
+                        .description("Cross reference").build());
+                foreignKeys.add(ForeignKey.builder().columns(List.of("ref_" + other + "_id"))
+                        .referencedTable(tableName(other)).referencedColumns(List.of("id")).build());
+            }
+            for (int c = 0; c < 6; c++) {
+                columns.add(ColumnSchema.builder().name("attribute_" + c).type(c % 2 == 0 ? "VARCHAR(255)" : "INTEGER")
+                        .nullable(true).description("Attribute " + c + " of " + tableName(i)).build());
+            }
+            result.add(TableSchema.builder()
+                    .name(tableName(i))
+                    .description("Generated table " + i)
+                    .columns(columns)
+                    .primaryKey(List.of("id"))
+                    .foreignKeys(foreignKeys)
+                    .build());
+        }
+        return DatabaseSchema.builder().name("synthetic_" + tables).description("Generated schema")
+                .tables(result).build();
+    }
+}
@@ -0,0 +1,83 @@
+package com.satyavenik.mcpserver.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.service.TemplateService;
+import com.satyavenik.mcpserver.template.CompiledTemplate;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Template Render Benchmark - Cost per call of rendering a compiled SQL template and of looking one up by name
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TemplateRenderBenchmark {
+
+    private TemplateService templateService;
+
+    private CompiledTemplate basicSelect;
+
+    private CompiledTemplate aggregate;
+
+    private Map<String, Object> selectArguments;
+
+    private Map<String, Object> selectWithoutCondition;
+
+    private Map<String, Object> aggregateArguments;
+
+    @Setup
+    public void setup() {
+        templateService = new TemplateService(new ObjectMapper());
+        basicSelect = templateService.getRegistry().getCompiled("basic_select");
+        aggregate = templateService.getRegistry().getCompiled("aggregate");
+        selectArguments = Map.of(
+                "columns", "id, username, email",
+                "table", "users",
+                "condition", "created_at > '2024-01-01'");
+        selectWithoutCondition = Map.of(
+                "columns", "*",
+                "table", "users");
+        aggregateArguments = Map.of(
+                "group_columns", "user_id",
+                "aggregate_function", "SUM",
+                "column", "total",
+                "table", "orders");
+    }
+
+    @Benchmark
+    public String renderBasicSelect() {
+        return basicSelect.render(selectArguments);
+    }
+
+    @Benchmark
+    public String renderOptionalClauseOmitted() {
+        return basicSelect.render(selectWithoutCondition);
+    }
+
+    @Benchmark
+    public String renderRepeatedPlaceholder() {
+        return aggregate.render(aggregateArguments);
+    }
+
+    @Benchmark
+    public String renderByName() {
+        return templateService.renderTemplate("basic_select", selectArguments);
+    }
+
+    @Benchmark
+    public SqlTemplate getTemplateByName() {
+        return templateService.getTemplateByName("basic_select");
+    }
+
+    @Benchmark
+    public SqlTemplate getTemplateByNameMissing() {
+        return templateService.getTemplateByName("no_such_template");
+    }
+}
@@ -1,14 +1,24 @@
 package com.satyavenik.mcpserver.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.protocol.McpNotification;
 import com.satyavenik.mcpserver.protocol.McpRequest;
+import com.satyavenik.mcpserver.service.McpSessionRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -22,6 +32,9 @@ class McpControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private McpSessionRegistry sessionRegistry;
+
     @Test
     void testHealth() throws Exception {
         mockMvc.perform(get("/mcp/health"))
@@ -64,4 +77,313 @@ class McpControllerTest {
                 .andExpect(jsonPath("$.result.tools").isArray())
                 .andExpect(jsonPath("$.result.tools[0].name").exists());
     }
+
+    @Test
+    void testRenderTemplateTool() throws Exception {
+        McpRequest request = McpRequest.builder()
+                .jsonrpc("2.0")
+                .id(3)
+                .method("tools/call")
+                .params(Map.of(
+                        "name", "render_template",
+                        "arguments", Map.of(
+                                "name", "basic_delete",
+                                "parameters", Map.of("table", "orders", "condition", "status = 'cancelled'"))))
+                .build();
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.content[0].text")
+                        .value("DELETE FROM orders WHERE status = 'cancelled'"));
+    }
+
+    @Test
+    void testBatchRequest() throws Exception {
+        String batch = """
+                [
+                  {"jsonrpc": "2.0", "id": 1, "method": "tools/list"},
+                  {"jsonrpc": "2.0", "method": "notifications/initialized"},
+                  {"jsonrpc": "2.0", "id": "b", "method": "tools/call",
+                   "params": {"name": "get_template", "arguments": {"name": "basic_select"}}},
+                  42,
+                  {"jsonrpc": "2.0", "id": 3, "method": "unknown/method"}
+                ]
+                """;
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(4))
+                .andExpect(jsonPath("$[0].id").value(1))
+                .andExpect(jsonPath("$[0].result.tools").isArray())
+                .andExpect(jsonPath("$[1].id").value("b"))
+                .andExpect(jsonPath("$[1].result.content[0].text").exists())
+                .andExpect(jsonPath("$[2].error.code").value(-32600))
+                .andExpect(jsonPath("$[3].id").value(3))
+                .andExpect(jsonPath("$[3].error.code").value(-32601));
+    }
+
+    @Test
+    void testNotificationOnlyBatch() throws Exception {
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"jsonrpc\": \"2.0\", \"method\": \"notifications/initialized\"}]"))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void testInvalidBatches() throws Exception {
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.error.code").value(-32600));
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"method\""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.error.code").value(-32700));
+    }
+
+    @Test
+    void testStreamedResponse() throws Exception {
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON, MediaType.TEXT_EVENT_STREAM)
+                        .content("[{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"tools/list\"},"
+                                + "{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"resources/list\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", containsString("text/event-stream")))
+                .andExpect(content().string(containsString("event: message\ndata: {\"jsonrpc\":\"2.0\",\"id\":1,")))
+                .andExpect(content().string(containsString("event: message\ndata: {\"jsonrpc\":\"2.0\",\"id\":2,")));
+    }
+
+    @Test
+    void testSessionStreamReceivesNotifications() throws Exception {
+        String sessionId = mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"initialize\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(McpController.SESSION_HEADER))
+                .andReturn().getResponse().getHeader(McpController.SESSION_HEADER);
+
+        MvcResult stream = mockMvc.perform(get("/mcp")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header(McpController.SESSION_HEADER, sessionId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        assertTrue(sessionRegistry.send(sessionId, McpNotification.builder()
+                .jsonrpc("2.0")
+                .method("notifications/message")
+                .build()));
+        assertTrue(stream.getResponse().getContentAsString()
+                .contains("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/message\"}"));
+
+        // Requests on the session keep working over plain JSON
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(McpController.SESSION_HEADER, sessionId)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"tools/list\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.tools").isArray());
+
+        mockMvc.perform(delete("/mcp").header(McpController.SESSION_HEADER, sessionId))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header(McpController.SESSION_HEADER, sessionId)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 3, \"method\": \"tools/list\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testToolContentIsJson() throws Exception {
+        String body = mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"tools/call\","
+                                + " \"params\": {\"name\": \"get_schema\"}},"
+                                + "{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"tools/call\","
+                                + " \"params\": {\"name\": \"get_template\", \"arguments\": {\"name\": \"inner_join\"}}},"
+                                + "{\"jsonrpc\": \"2.0\", \"id\": 3, \"method\": \"resources/read\","
+                                + " \"params\": {\"uri\": \"templates://sql/all\"}}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].result.isError").value(false))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode responses = objectMapper.readTree(body);
+        JsonNode schema = objectMapper.readTree(responses.at("/0/result/content/0/text").asText());
+        assertEquals("sample_ecommerce", schema.get("name").asText());
+        assertEquals(4, schema.get("tables").size());
+
+        JsonNode template = objectMapper.readTree(responses.at("/1/result/content/0/text").asText());
+        assertEquals("inner_join", template.get("name").asText());
+
+        JsonNode templates = objectMapper.readTree(responses.at("/2/result/contents/0/text").asText());
+        assertTrue(templates.isArray());
+    }
+
+    @Test
+    void testInvalidParams() throws Exception {
+        String batch = """
+                [
+                  {"jsonrpc": "2.0", "id": 1, "method": "tools/call",
+                   "params": {"name": "get_template", "arguments": {"name": "basic_select", "extra": 1}}},
+                  {"jsonrpc": "2.0", "id": 2, "method": "tools/call",
+                   "params": {"name": "get_template", "arguments": {"name": {"nested": true}}}},
+                  {"jsonrpc": "2.0", "id": 3, "method": "tools/call", "params": {"arguments": {}}},
+                  {"jsonrpc": "2.0", "id": 4, "method": "tools/call", "params": {"name": "get_schema", "unknown": 1}},
+                  {"jsonrpc": "2.0", "id": 5, "method": "resources/read", "params": ["schema://x"]},
+                  {"jsonrpc": "2.0", "id": 6, "method": "resources/read", "params": {"uri": "unknown://x"}},
+                  {"jsonrpc": "2.0", "id": 7, "method": "tools/call",
+                   "params": {"name": "get_template", "arguments": {"name": "basic_select"}, "_meta": {"progressToken": 1}}}
+                ]
+                """;
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].error.code").value(-32602))
+                .andExpect(jsonPath("$[1].error.code").value(-32602))
+                .andExpect(jsonPath("$[2].error.code").value(-32602))
+                .andExpect(jsonPath("$[3].error.code").value(-32602))
+                .andExpect(jsonPath("$[4].error.code").value(-32602))
+                .andExpect(jsonPath("$[5].error.code").value(-32002))
+                .andExpect(jsonPath("$[6].result.isError").value(false));
+    }
+
+    @Test
+    void testConditionalResourceRead() throws Exception {
+        MvcResult listed = mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"resources/list\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.resources[0].version").exists())
+                .andReturn();
+        String version = objectMapper.readTree(listed.getResponse().getContentAsString())
+                .at("/result/resources/0/version").asText();
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"resources/read\","
+                                + " \"params\": {\"uri\": \"schema://database/ecommerce\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.version").value(version))
+                .andExpect(jsonPath("$.result.contents[0].version").value(version))
+                .andExpect(jsonPath("$.result.contents[0].text").exists());
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 3, \"method\": \"resources/read\","
+                                + " \"params\": {\"uri\": \"schema://database/ecommerce\", \"ifNoneMatch\": \""
+                                + version + "\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.unchanged").value(true))
+                .andExpect(jsonPath("$.result.contents").isEmpty());
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 4, \"method\": \"resources/read\","
+                                + " \"params\": {\"uri\": \"schema://database/ecommerce\", \"ifNoneMatch\": \"stale\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.unchanged").doesNotExist())
+                .andExpect(jsonPath("$.result.contents[0].text").exists());
+    }
+
+    @Test
+    void testResourceETag() throws Exception {
+        MvcResult result = mockMvc.perform(get("/mcp/resources").param("uri", "templates://sql/all"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[0].name").exists())
+                .andReturn();
+        String etag = result.getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/mcp/resources").param("uri", "templates://sql/all").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        mockMvc.perform(get("/mcp/resources").param("uri", "templates://sql/all").header("If-None-Match", "\"other\""))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/mcp/resources").param("uri", "unknown://x"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testPaginatedToolsList() throws Exception {
+        Set<String> names = new LinkedHashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            String params = cursor == null ? "{\"pageSize\": 3}" : "{\"pageSize\": 3, \"cursor\": \"" + cursor + "\"}";
+            MvcResult result = mockMvc.perform(post("/mcp")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"tools/list\", \"params\": "
+                                    + params + "}"))
+                    .andExpect(status().isOk())
+                    .andReturn();
+            JsonNode page = objectMapper.readTree(result.getResponse().getContentAsString()).get("result");
+            assertTrue(page.get("tools").size() <= 3);
+            page.get("tools").forEach(tool -> assertTrue(names.add(tool.get("name").asText())));
+            cursor = page.has("nextCursor") ? page.get("nextCursor").asText() : null;
+            pages++;
+        } while (cursor != null);
+
+        MvcResult all = mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"tools/list\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.nextCursor").doesNotExist())
+                .andReturn();
+        JsonNode tools = objectMapper.readTree(all.getResponse().getContentAsString()).at("/result/tools");
+        assertEquals(tools.size(), names.size());
+        assertEquals((tools.size() + 2) / 3, pages);
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 3, \"method\": \"tools/list\","
+                                + " \"params\": {\"cursor\": \"bm90LWEtY3Vyc29y\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.error.code").value(-32602));
+    }
+
+    @Test
+    void testPaginatedResourcesList() throws Exception {
+        MvcResult first = mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"resources/list\","
+                                + " \"params\": {\"pageSize\": 1}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.resources.length()").value(1))
+                .andExpect(jsonPath("$.result.resources[0].uri").value("schema://database/ecommerce"))
+                .andExpect(jsonPath("$.result.nextCursor").exists())
+                .andReturn();
+        String cursor = objectMapper.readTree(first.getResponse().getContentAsString())
+                .at("/result/nextCursor").asText();
+
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 2, \"method\": \"resources/list\","
+                                + " \"params\": {\"pageSize\": 1, \"cursor\": \"" + cursor + "\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.result.resources[0].uri").value("templates://sql/all"))
+                .andExpect(jsonPath("$.result.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void testSubscribeRequiresSession() throws Exception {
+        mockMvc.perform(post("/mcp")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"jsonrpc\": \"2.0\", \"id\": 1, \"method\": \"resources/subscribe\","
+                                + " \"params\": {\"uri\": \"schema://database/ecommerce\"}}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.error.code").value(-32600));
+    }
 }
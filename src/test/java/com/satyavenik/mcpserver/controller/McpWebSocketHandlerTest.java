@@ -0,0 +1,168 @@
+package com.satyavenik.mcpserver.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.service.ResourceService;
+import com.satyavenik.mcpserver.service.ResourceSubscriptions;
+import com.satyavenik.mcpserver.service.SchemaService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.handler.TextWebSocketHandler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class McpWebSocketHandlerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SchemaService schemaService;
+
+    @Autowired
+    private ResourceSubscriptions subscriptions;
+
+    @Test
+    void testPipelinedRequests() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(received);
+        try {
+            // Send several requests without waiting for responses
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"initialize\"}"));
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"method\":\"notifications/initialized\"}"));
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/list\"}"));
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"id\":3,\"method\":\"tools/call\","
+                    + "\"params\":{\"name\":\"get_template\",\"arguments\":{\"name\":\"basic_select\"}}}"));
+
+            Map<Integer, JsonNode> responses = new HashMap<>();
+            for (int i = 0; i < 3; i++) {
+                String payload = received.poll(5, TimeUnit.SECONDS);
+                assertNotNull(payload, "Missing response " + (i + 1));
+                JsonNode response = objectMapper.readTree(payload);
+                responses.put(response.get("id").asInt(), response);
+            }
+
+            assertEquals("Spring MCP Toolkit", responses.get(1).at("/result/serverInfo/name").asText());
+            assertTrue(responses.get(2).at("/result/tools").isArray());
+            assertTrue(responses.get(3).at("/result/content/0/text").isTextual());
+            // The notification produced no response
+            assertNull(received.poll(200, TimeUnit.MILLISECONDS));
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    void testBatchFrame() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(received);
+        try {
+            session.sendMessage(new TextMessage("[{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"resources/list\"},"
+                    + "{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"tools/list\"}]"));
+
+            JsonNode responses = objectMapper.readTree(received.poll(5, TimeUnit.SECONDS));
+            assertEquals(2, responses.size());
+            assertEquals(1, responses.get(0).get("id").asInt());
+            assertEquals(2, responses.get(1).get("id").asInt());
+        } finally {
+            session.close();
+        }
+    }
+
+    @Test
+    void testSchemaChangesAreCoalescedIntoOneDelta() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(received);
+        DatabaseSchema original = schemaService.getSnapshot().getSchema();
+        try {
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"resources/subscribe\","
+                    + "\"params\":{\"uri\":\"schema://database/ecommerce\"}}"));
+            assertTrue(objectMapper.readTree(received.poll(5, TimeUnit.SECONDS)).has("result"));
+            String previousVersion = schemaService.getSnapshot().getContentHash();
+
+            // Two quick changes: drop a table, then add a column to another
+            List<TableSchema> tables = new ArrayList<>(original.getTables());
+            tables.removeIf(table -> table.getName().equals("order_items"));
+            schemaService.publish(DatabaseSchema.builder().name(original.getName())
+                    .description(original.getDescription()).tables(new ArrayList<>(tables)).build());
+            TableSchema users = tables.get(0);
+            List<ColumnSchema> columns = new ArrayList<>(users.getColumns());
+            columns.add(ColumnSchema.builder().name("last_login").type("TIMESTAMP").nullable(true).build());
+            tables.set(0, TableSchema.builder().name(users.getName()).description(users.getDescription())
+                    .columns(columns).primaryKey(users.getPrimaryKey()).foreignKeys(users.getForeignKeys()).build());
+            schemaService.publish(DatabaseSchema.builder().name(original.getName())
+                    .description(original.getDescription()).tables(tables).build());
+
+            JsonNode notification = objectMapper.readTree(received.poll(5, TimeUnit.SECONDS));
+            assertEquals("notifications/resources/updated", notification.get("method").asText());
+            JsonNode params = notification.get("params");
+            assertEquals("schema://database/ecommerce", params.get("uri").asText());
+            assertEquals(previousVersion, params.get("previousVersion").asText());
+            assertEquals(schemaService.getSnapshot().getContentHash(), params.get("version").asText());
+            assertEquals("order_items", params.at("/delta/tablesRemoved/0").asText());
+            assertEquals("users", params.at("/delta/tablesAltered/0/name").asText());
+            assertEquals("last_login", params.at("/delta/tablesAltered/0/columnsAdded/0/name").asText());
+            assertNull(received.poll(500, TimeUnit.MILLISECONDS));
+
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"id\":2,\"method\":\"resources/unsubscribe\","
+                    + "\"params\":{\"uri\":\"schema://database/ecommerce\"}}"));
+            assertTrue(objectMapper.readTree(received.poll(5, TimeUnit.SECONDS)).has("result"));
+        } finally {
+            schemaService.publish(original);
+            session.close();
+        }
+    }
+
+    @Test
+    void testSubscriptionsEndWithSession() throws Exception {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        WebSocketSession session = connect(received);
+        int before = subscriptions.getSubscriberCount(ResourceService.TEMPLATES_URI);
+        try {
+            session.sendMessage(new TextMessage("{\"jsonrpc\":\"2.0\",\"id\":1,\"method\":\"resources/subscribe\","
+                    + "\"params\":{\"uri\":\"templates://sql/all\"}}"));
+            assertTrue(objectMapper.readTree(received.poll(5, TimeUnit.SECONDS)).has("result"));
+            assertEquals(before + 1, subscriptions.getSubscriberCount(ResourceService.TEMPLATES_URI));
+        } finally {
+            session.close();
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (subscriptions.getSubscriberCount(ResourceService.TEMPLATES_URI) > before
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(before, subscriptions.getSubscriberCount(ResourceService.TEMPLATES_URI));
+    }
+
+    private WebSocketSession connect(BlockingQueue<String> received) throws Exception {
+        return new StandardWebSocketClient()
+                .execute(new TextWebSocketHandler() {
+                    @Override
+                    protected void handleTextMessage(WebSocketSession session, TextMessage message) {
+                        received.add(message.getPayload());
+                    }
+                }, "ws://localhost:" + port + "/mcp/ws")
+                .get(5, TimeUnit.SECONDS);
+    }
+}
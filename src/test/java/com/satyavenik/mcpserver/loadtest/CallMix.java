@@ -0,0 +1,109 @@
+package com.satyavenik.mcpserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Call Mix - Weighted set of MCP requests to replay, read from JSON Lines. Each line is either a JSON-RPC
+ * request, with weight 1, or {"weight": 5, "request": {...}}. Blank lines and lines starting with # are
+ * skipped. Requests are encoded once; each call is labelled by its method, or by tool name for tools/call.
+ */
+public final class CallMix {
+
+    /**
+     * One request of the mix
+     * @param label Method name, or "tools/call:" and the tool name
+     * @param body Encoded request
+     */
+    public record Call(String label, byte[] body) {
+    }
+
+    private final List<Call> calls;
+
+    // Cumulative weights, for picking a call with one binary search
+    private final long[] cumulative;
+
+    private CallMix(List<Call> calls, long[] cumulative) {
+        this.calls = calls;
+        this.cumulative = cumulative;
+    }
+
+    public static CallMix read(Path file, ObjectMapper objectMapper) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return read(in, file.toString(), objectMapper);
+        }
+    }
+
+    public static CallMix read(InputStream in, String source, ObjectMapper objectMapper) throws IOException {
+        List<Call> calls = new ArrayList<>();
+        List<Long> weights = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int number = 0;
+        while ((line = reader.readLine()) != null) {
+            number++;
+            if (line.isBlank() || line.stripLeading().startsWith("#")) {
+                continue;
+            }
+            JsonNode entry = objectMapper.readTree(line);
+            JsonNode request = entry.has("request") ? entry.get("request") : entry;
+            long weight = entry.has("request") ? entry.path("weight").asLong(1) : 1;
+            String method = request.path("method").asText(null);
+            if (!request.isObject() || method == null || weight <= 0) {
+                throw new IllegalArgumentException(source + ":" + number + ": expected a request with a method "
+                        + "and a positive weight");
+            }
+            ObjectNode body = ((ObjectNode) request).deepCopy();
+            body.put("jsonrpc", "2.0");
+            if (!body.has("id")) {
+                body.put("id", number);
+            }
+            String label = method.equals("tools/call")
+                    ? method + ":" + request.path("params").path("name").asText("?")
+                    : method;
+            calls.add(new Call(label, objectMapper.writeValueAsBytes(body)));
+            weights.add(weight);
+        }
+        if (calls.isEmpty()) {
+            throw new IllegalArgumentException(source + ": no requests");
+        }
+        long[] cumulative = new long[weights.size()];
+        long running = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            running += weights.get(i);
+            cumulative[i] = running;
+        }
+        return new CallMix(List.copyOf(calls), cumulative);
+    }
+
+    public List<Call> getCalls() {
+        return calls;
+    }
+
+    public Call pick(RandomGenerator random) {
+        long target = random.nextLong(cumulative[cumulative.length - 1]);
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] > target) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return calls.get(low);
+    }
+}
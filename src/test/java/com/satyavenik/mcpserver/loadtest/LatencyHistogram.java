@@ -0,0 +1,121 @@
+package com.satyavenik.mcpserver.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Latency Histogram - Log-linear histogram in the style of HdrHistogram. Values below 256 have a bucket
+ * each; above that, every power of two is split into 128 equal buckets, so any recorded value is reported
+ * within 1% of its true value while the whole range of a long fits in about 7,300 counters. Recording is
+ * a few shifts and an increment. Not thread-safe: give each thread its own histogram and merge them.
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int DIRECT_BITS = SUB_BUCKET_BITS + 1;
+
+    private final long[] counts = new long[index(Long.MAX_VALUE) + 1];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max;
+
+    /**
+     * Record one value; negative values count as 0
+     */
+    public void record(long value) {
+        long v = Math.max(0, value);
+        counts[index(v)]++;
+        total++;
+        sum += v;
+        min = Math.min(min, v);
+        max = Math.max(max, v);
+    }
+
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    public long count() {
+        return total;
+    }
+
+    public long min() {
+        return total > 0 ? min : 0;
+    }
+
+    public long max() {
+        return max;
+    }
+
+    public double mean() {
+        return total > 0 ? (double) sum / total : 0;
+    }
+
+    /**
+     * Value at a percentile
+     * @param percentile 0 to 100, e.g. 99.9
+     * @return Highest value equivalent to the recorded value at that rank, capped at the maximum recorded
+     */
+    public long percentile(double percentile) {
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(percentile, 100) / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(highestEquivalent(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Summary with values divided by a unit, e.g. 1000 to report nanoseconds as microseconds
+     */
+    public Map<String, Object> summary(double unit) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", total);
+        summary.put("min", round(min() / unit));
+        summary.put("mean", round(mean() / unit));
+        summary.put("p50", round(percentile(50) / unit));
+        summary.put("p90", round(percentile(90) / unit));
+        summary.put("p99", round(percentile(99) / unit));
+        summary.put("p99.9", round(percentile(99.9) / unit));
+        summary.put("max", round(max() / unit));
+        return summary;
+    }
+
+    public void reset() {
+        Arrays.fill(counts, 0);
+        total = 0;
+        sum = 0;
+        min = Long.MAX_VALUE;
+        max = 0;
+    }
+
+    static int index(long value) {
+        int shift = Math.max(0, 64 - Long.numberOfLeadingZeros(value) - DIRECT_BITS);
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long highestEquivalent(int index) {
+        int shift = Math.max(0, (index >>> SUB_BUCKET_BITS) - 1);
+        long mantissa = index - ((long) shift << SUB_BUCKET_BITS);
+        return ((mantissa + 1) << shift) - 1;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
@@ -0,0 +1,87 @@
+package com.satyavenik.mcpserver.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void testPercentilesWithinOnePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long v = 1; v <= 1_000_000; v++) {
+            histogram.record(v * 1000);
+        }
+
+        assertEquals(1_000_000, histogram.count());
+        assertEquals(1000, histogram.min());
+        assertEquals(1_000_000_000L, histogram.max());
+        assertEquals(500_000_000L, histogram.percentile(50), 5_000_000);
+        assertEquals(990_000_000L, histogram.percentile(99), 9_900_000);
+        assertEquals(999_000_000L, histogram.percentile(99.9), 9_990_000);
+        assertEquals(histogram.max(), histogram.percentile(100));
+    }
+
+    @Test
+    void testBucketsCoverTheWholeRange() {
+        for (long v : new long[]{0, 1, 255, 256, 257, 511, 512, 123_456_789, Long.MAX_VALUE}) {
+            long highest = LatencyHistogram.highestEquivalent(LatencyHistogram.index(v));
+            assertTrue(highest >= v && highest - v <= v / 128, "value " + v);
+        }
+        // Neighbouring values never fall in buckets out of order
+        for (long v = 1; v < 100_000; v++) {
+            assertTrue(LatencyHistogram.index(v) >= LatencyHistogram.index(v - 1));
+        }
+    }
+
+    @Test
+    void testMergeMatchesSingleHistogram() {
+        LatencyHistogram single = new LatencyHistogram();
+        LatencyHistogram merged = new LatencyHistogram();
+        LatencyHistogram[] parts = {new LatencyHistogram(), new LatencyHistogram()};
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long v = random.nextInt(5_000_000);
+            single.record(v);
+            parts[i % 2].record(v);
+        }
+        merged.merge(parts[0]);
+        merged.merge(parts[1]);
+
+        assertEquals(single.summary(1000), merged.summary(1000));
+    }
+
+    @Test
+    void testCallMixWeights() throws Exception {
+        String lines = """
+                # comment
+                {"weight": 3, "request": {"method": "tools/call", "params": {"name": "get_schema"}}}
+                {"method": "tools/list"}
+                """;
+        CallMix mix = CallMix.read(new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8)), "mix",
+                new ObjectMapper());
+
+        assertEquals(2, mix.getCalls().size());
+        assertEquals("tools/call:get_schema", mix.getCalls().get(0).label());
+        assertTrue(new String(mix.getCalls().get(1).body(), StandardCharsets.UTF_8).contains("\"jsonrpc\":\"2.0\""));
+
+        Map<String, Integer> picks = new HashMap<>();
+        Random random = new Random(1);
+        for (int i = 0; i < 40_000; i++) {
+            picks.merge(mix.pick(random).label(), 1, Integer::sum);
+        }
+        assertEquals(30_000, picks.get("tools/call:get_schema"), 1_000);
+        assertEquals(10_000, picks.get("tools/list"), 1_000);
+
+        assertThrows(IllegalArgumentException.class, () -> CallMix.read(
+                new ByteArrayInputStream("{\"weight\": 0, \"request\": {\"method\": \"x\"}}".getBytes()), "bad",
+                new ObjectMapper()));
+    }
+}
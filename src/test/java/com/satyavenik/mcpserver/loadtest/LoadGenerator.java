@@ -0,0 +1,379 @@
+package com.satyavenik.mcpserver.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.satyavenik.mcpserver.McpServerApplication;
+import com.satyavenik.mcpserver.benchmark.SyntheticSchemas;
+import com.satyavenik.mcpserver.service.SchemaService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load Generator - End-to-end load test of the /mcp endpoint. Starts the application on a random local port
+ * and replays a weighted call mix over HTTP, through Tomcat, the controller and the dispatcher.
+ *
+ * <p>In closed-loop mode a fixed number of clients each send their next call as soon as the previous one
+ * returns. In open-loop mode calls are started at a fixed rate whatever the server does, and latency is
+ * measured from the time a call was due rather than the time it was sent, so a stalled server is charged
+ * for the calls it held up instead of hiding them (coordinated omission).
+ *
+ * <p>Latencies are recorded per call label and overall, and written as a JSON report in microseconds
+ * that can be compared between builds. Run with
+ * {@code mvn -Ploadtest test -Dloadtest.args="--mode open --rate 2000 --duration 30s"}.
+ */
+public final class LoadGenerator {
+
+    private static final String USAGE = """
+            Options:
+              --mix FILE          JSON Lines call mix (default: the ecommerce mix on the classpath)
+              --mode MODE         closed (default) or open
+              --concurrency N     Closed loop: concurrent clients; open loop: cap on calls in flight (default 16)
+              --rate N            Open loop: calls started per second (default 1000)
+              --duration TIME     Measured run time, e.g. 30s or 2m (default 30s)
+              --warmup TIME       Unmeasured run time before measuring (default 10s)
+              --tables N          Serve a generated schema of N tables instead of the sample schema
+              --report FILE       Where to write the JSON report (default target/loadtest-report.json)
+            """;
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final Map<String, String> options;
+    private final CallMix mix;
+    private final boolean open;
+    private final int concurrency;
+    private final int rate;
+    private URI endpoint;
+
+    private LoadGenerator(Map<String, String> options) throws IOException {
+        this.options = options;
+        this.mix = readMix(options.get("mix"));
+        this.open = switch (options.getOrDefault("mode", "closed")) {
+            case "closed" -> false;
+            case "open" -> true;
+            default -> throw new IllegalArgumentException("Unknown mode: " + options.get("mode"));
+        };
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        this.rate = Integer.parseInt(options.getOrDefault("rate", "1000"));
+        if (concurrency <= 0 || rate <= 0) {
+            throw new IllegalArgumentException("--concurrency and --rate must be positive");
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options;
+        try {
+            options = parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+        new LoadGenerator(options).run();
+    }
+
+    private void run() throws Exception {
+        Duration warmup = duration(options.getOrDefault("warmup", "10s"));
+        Duration measured = duration(options.getOrDefault("duration", "30s"));
+        Path reportFile = Path.of(options.getOrDefault("report", "target/loadtest-report.json"));
+        int tables = Integer.parseInt(options.getOrDefault("tables", "0"));
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(McpServerApplication.class)
+                .run("--server.port=0", "--spring.main.banner-mode=off",
+                        "--logging.level.root=WARN", "--logging.level.org.springframework=WARN",
+                        "--logging.level.com.satyavenik.mcpserver=WARN");
+        try {
+            if (tables > 0) {
+                context.getBean(SchemaService.class).publish(SyntheticSchemas.generate(tables));
+            }
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+            endpoint = URI.create("http://localhost:" + port + "/mcp");
+            checkMix();
+
+            if (!warmup.isZero()) {
+                System.out.printf("Warming up for %s%n", warmup);
+                drive(warmup);
+            }
+            System.out.printf("Measuring %s loop for %s%n", open ? "open" : "closed", measured);
+            Instant started = Instant.now();
+            Result result = drive(measured);
+            double seconds = Duration.between(started, Instant.now()).toNanos() / 1e9;
+
+            Map<String, Object> report = report(result, seconds, tables);
+            Files.createDirectories(reportFile.toAbsolutePath().getParent());
+            objectMapper.writeValue(reportFile.toFile(), report);
+            System.out.println(objectMapper.writeValueAsString(report));
+            System.out.printf("Report written to %s%n", reportFile.toAbsolutePath());
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Send every call of the mix once, so a mix that does not fit the served schema fails before the run
+     */
+    private void checkMix() throws Exception {
+        for (CallMix.Call call : mix.getCalls()) {
+            HttpResponse<byte[]> response = send(call);
+            if (failed(response)) {
+                throw new IllegalStateException(call.label() + " failed: "
+                        + new String(response.body(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    private Result drive(Duration duration) throws InterruptedException {
+        int threads = concurrency;
+        long deadline = System.nanoTime() + duration.toNanos();
+        Recorder[] recorders = new Recorder[threads];
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            Recorder recorder = new Recorder();
+            recorders[t] = recorder;
+            int worker = t;
+            executor.execute(() -> {
+                try {
+                    if (open) {
+                        openLoop(recorder, worker, threads, start, deadline);
+                    } else {
+                        closedLoop(recorder, deadline);
+                    }
+                } finally {
+                    recorder.done = true;
+                }
+            });
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(duration.toMillis() + 60_000, TimeUnit.MILLISECONDS)) {
+            executor.shutdownNow();
+            // A call in flight ends within the request timeout
+            executor.awaitTermination(REQUEST_TIMEOUT.toMillis() + 5_000, TimeUnit.MILLISECONDS);
+        }
+
+        // Workers still running keep writing to their recorders, so those are left out
+        Result result = new Result();
+        int unfinished = 0;
+        for (Recorder recorder : recorders) {
+            if (recorder.done) {
+                result.merge(recorder);
+            } else {
+                unfinished++;
+            }
+        }
+        if (unfinished > 0) {
+            System.err.println("Left out the calls of " + unfinished + " workers that did not stop");
+        }
+        return result;
+    }
+
+    private void closedLoop(Recorder recorder, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+            CallMix.Call call = mix.pick(random);
+            call(recorder, call, System.nanoTime());
+        }
+    }
+
+    /**
+     * Each of the workers takes every threads-th slot of the schedule, so together they start calls at
+     * the configured rate. A worker that falls behind sends its overdue calls back to back, and their
+     * latency includes the time they waited, as it would for clients that do not wait for the server.
+     */
+    private void openLoop(Recorder recorder, int worker, int threads, long start, long deadline) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        double interval = 1e9 / rate;
+        for (long slot = worker; ; slot += threads) {
+            long due = start + (long) (slot * interval);
+            if (due >= deadline || Thread.currentThread().isInterrupted()) {
+                return;
+            }
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            CallMix.Call call = mix.pick(random);
+            call(recorder, call, due);
+        }
+    }
+
+    /**
+     * Send a call and record its latency from the given start. The latency ends when the response has
+     * arrived, before it is checked, so parsing the response on this side is not counted.
+     */
+    private void call(Recorder recorder, CallMix.Call call, long from) {
+        HttpResponse<byte[]> response;
+        try {
+            response = send(call);
+        } catch (IOException e) {
+            response = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            response = null;
+        }
+        long latency = System.nanoTime() - from;
+        recorder.record(call.label(), latency, response != null && !failed(response));
+    }
+
+    private HttpResponse<byte[]> send(CallMix.Call call) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(endpoint)
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(call.body()))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    /**
+     * A call failed if the status is not 200, the response is a JSON-RPC error or the tool reported an error.
+     * A body that is not JSON counts as failed.
+     */
+    private boolean failed(HttpResponse<byte[]> response) {
+        if (response.statusCode() != 200) {
+            return true;
+        }
+        try {
+            JsonNode body = objectMapper.readTree(response.body());
+            return body == null || !body.isObject() || body.has("error")
+                    || body.path("result").path("isError").asBoolean(false);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private Map<String, Object> report(Result result, double seconds, int tables) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("mode", open ? "open" : "closed");
+        if (open) {
+            config.put("rate", rate);
+        }
+        config.put("concurrency", concurrency);
+        config.put("mix", options.getOrDefault("mix", "classpath:loadtest/ecommerce-mix.jsonl"));
+        config.put("schema", tables > 0 ? "synthetic_" + tables : "sample");
+        config.put("javaVersion", System.getProperty("java.version"));
+        config.put("processors", Runtime.getRuntime().availableProcessors());
+
+        Map<String, Object> overall = new LinkedHashMap<>();
+        overall.put("calls", result.all.count());
+        overall.put("errors", result.errors.values().stream().mapToLong(Long::longValue).sum());
+        overall.put("throughput", Math.round(result.all.count() / seconds * 10) / 10.0);
+        overall.put("latencyMicros", result.all.summary(1000));
+
+        Map<String, Object> byCall = new LinkedHashMap<>();
+        result.byCall.forEach((label, histogram) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("errors", result.errors.getOrDefault(label, 0L));
+            entry.put("latencyMicros", histogram.summary(1000));
+            byCall.put(label, entry);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("durationSeconds", Math.round(seconds * 10) / 10.0);
+        report.put("config", config);
+        report.put("overall", overall);
+        report.put("byCall", byCall);
+        return report;
+    }
+
+    private CallMix readMix(String file) throws IOException {
+        if (file != null) {
+            return CallMix.read(Path.of(file), objectMapper);
+        }
+        try (InputStream in = LoadGenerator.class.getResourceAsStream("/loadtest/ecommerce-mix.jsonl")) {
+            if (in == null) {
+                throw new IllegalStateException("Default call mix not found on the classpath");
+            }
+            return CallMix.read(in, "ecommerce-mix.jsonl", objectMapper);
+        }
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        List<String> known = List.of("mix", "mode", "concurrency", "rate", "duration", "warmup", "tables", "report");
+        for (int i = 0; i < args.length; i++) {
+            String name = args[i].startsWith("--") ? args[i].substring(2) : null;
+            if (name == null || !known.contains(name) || i + 1 == args.length) {
+                throw new IllegalArgumentException("Unexpected argument: " + args[i]);
+            }
+            options.put(name, args[++i]);
+        }
+        return options;
+    }
+
+    private static Duration duration(String text) {
+        String value = text.trim().toLowerCase(Locale.ROOT);
+        if (value.endsWith("ms")) {
+            return Duration.ofMillis(Long.parseLong(value.substring(0, value.length() - 2)));
+        }
+        if (value.endsWith("m")) {
+            return Duration.ofMinutes(Long.parseLong(value.substring(0, value.length() - 1)));
+        }
+        return Duration.ofSeconds(Long.parseLong(value.endsWith("s") ? value.substring(0, value.length() - 1) : value));
+    }
+
+    /**
+     * Histograms of one worker thread, by call label
+     */
+    private static final class Recorder {
+
+        private final Map<String, LatencyHistogram> histograms = new HashMap<>();
+        private final Map<String, Long> errors = new HashMap<>();
+
+        // Set by the worker when it stops; what it recorded is visible to the thread that reads this
+        private volatile boolean done;
+
+        void record(String label, long latency, boolean succeeded) {
+            histograms.computeIfAbsent(label, k -> new LatencyHistogram()).record(latency);
+            if (!succeeded) {
+                errors.merge(label, 1L, Long::sum);
+            }
+        }
+    }
+
+    private static final class Result {
+
+        private final LatencyHistogram all = new LatencyHistogram();
+        private final Map<String, LatencyHistogram> byCall = new TreeMap<>();
+        private final Map<String, Long> errors = new TreeMap<>();
+
+        void merge(Recorder recorder) {
+            recorder.histograms.forEach((label, histogram) -> {
+                all.merge(histogram);
+                byCall.computeIfAbsent(label, k -> new LatencyHistogram()).merge(histogram);
+            });
+            recorder.errors.forEach((label, count) -> errors.merge(label, count, Long::sum));
+        }
+    }
+}
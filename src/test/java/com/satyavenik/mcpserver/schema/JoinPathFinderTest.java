@@ -0,0 +1,67 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.JoinPath;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JoinPathFinderTest {
+
+    private final SchemaSnapshot snapshot = TestSchemas.example();
+
+    @Test
+    void testFindJoinPath() {
+        JoinPathFinder finder = snapshot.derived(JoinPathFinder.class, JoinPathFinder::of);
+
+        JoinPath path = finder.find(List.of("users", "order_items"));
+        assertEquals(List.of("users", "orders", "order_items"), path.getTables());
+        assertEquals("users JOIN orders ON users.id = orders.user_id"
+                + " JOIN order_items ON orders.id = order_items.order_id", path.getSql());
+        assertEquals("orders", path.getJoins().get(0).getTable());
+        assertSame(path, finder.find(List.of("users", "order_items")));
+
+        // Cached paths are shared, so callers cannot change them
+        assertThrows(UnsupportedOperationException.class, () -> path.getTables().clear());
+        assertThrows(UnsupportedOperationException.class, () -> path.getJoins().remove(0));
+
+        // Each further table joins to the closest table already in the path
+        JoinPath tree = finder.find(List.of("orders", "users", "products"));
+        assertEquals(List.of("orders", "users", "order_items", "products"), tree.getTables());
+        assertEquals("order_items.product_id = products.id", tree.getJoins().get(2).getOn());
+
+        assertThrows(IllegalArgumentException.class, () -> finder.find(List.of("users")));
+        assertThrows(IllegalArgumentException.class, () -> finder.find(List.of("users", "missing")));
+    }
+
+    @Test
+    void testComputeBypassesCache() {
+        JoinPathFinder finder = JoinPathFinder.of(snapshot);
+
+        JoinPath cached = finder.find(List.of("products", "users"));
+        JoinPath computed = finder.compute(List.of("products", "users"));
+        assertNotSame(cached, computed);
+        assertEquals(cached, computed);
+        assertEquals(List.of("products", "order_items", "orders", "users"), computed.getTables());
+    }
+
+    @Test
+    void testQuotedNamesAndDisconnectedTables() throws Exception {
+        JoinPathFinder finder = JoinPathFinder.of(TestSchemas.irregular());
+
+        // Names are matched case-insensitively, and quoted in the SQL when they are not plain identifiers
+        JoinPath path = finder.find(List.of("invoices", "customer accounts"));
+        assertEquals(List.of("Invoices", "Customer Accounts"), path.getTables());
+        assertEquals("Invoices JOIN \"Customer Accounts\" ON Invoices.AccountId = \"Customer Accounts\".id",
+                path.getSql());
+        assertEquals(path, JoinPathFinder.of(TestSchemas.imageOf(TestSchemas.irregular()))
+                .find(List.of("invoices", "customer accounts")));
+
+        // A foreign key to a table outside the schema does not connect anything
+        assertThrows(IllegalArgumentException.class, () -> finder.find(List.of("audit_log", "Invoices")));
+        assertThrows(IllegalArgumentException.class, () -> finder.find(List.of("Tags", "audit_log")));
+        assertThrows(IllegalArgumentException.class, () -> finder.find(List.of("audit_log", "legacy_users")));
+    }
+}
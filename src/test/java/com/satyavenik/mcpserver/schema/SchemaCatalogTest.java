@@ -0,0 +1,39 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.service.SchemaService;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaCatalogTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testCatalogSharesRepeatedValues() throws Exception {
+        // Decoded from an image, so the catalog is built from objects that are not another catalog's copies
+        DatabaseSchema example = SchemaImage.wrap(SchemaImage.encode(
+                new SchemaService(objectMapper).getExampleSchema(), "hash")).toSchema();
+        SchemaCatalog catalog = SchemaCatalog.of(example);
+
+        assertEquals(4, catalog.tableCount());
+        assertEquals(19, catalog.columnCount());
+        // "id", "INTEGER", "Primary key", ... are stored once
+        assertTrue(catalog.stringCount() < 3 * catalog.columnCount());
+
+        DatabaseSchema view = catalog.toSchema();
+        assertEquals(example, view);
+        assertEquals(objectMapper.writeValueAsString(example), objectMapper.writeValueAsString(view));
+
+        ColumnSchema column = view.getTables().get(0).getColumns().get(0);
+        assertEquals("id", column.getName());
+        assertFalse(column.isNullable());
+        // Each access decodes the table again, into objects that cannot be changed
+        assertNotSame(view.getTables().get(0), view.getTables().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> view.getTables().get(0).getColumns().clear());
+        assertThrows(UnsupportedOperationException.class, () -> view.getTables().get(0).getPrimaryKey().set(0, "x"));
+    }
+}
@@ -0,0 +1,86 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaGraphTest {
+
+    private final SchemaSnapshot snapshot = TestSchemas.example();
+
+    @Test
+    void testForeignKeyNeighborhood() {
+        SchemaGraph graph = snapshot.getGraph();
+        assertSame(graph, snapshot.getGraph());
+
+        assertEquals(List.of("users"), names(graph.neighborhood(List.of("users"), 0)));
+        assertEquals(List.of("users", "orders"), names(graph.neighborhood(List.of("users"), 1)));
+        assertEquals(List.of("users", "orders", "order_items"), names(graph.neighborhood(List.of("USERS"), 2)));
+        assertEquals(4, graph.neighborhood(List.of("users"), 10).size());
+        assertEquals(List.of("products", "orders", "order_items"),
+                names(graph.neighborhood(List.of("order_items"), 1)));
+
+        assertThrows(IllegalArgumentException.class, () -> graph.neighborhood(List.of("missing"), 1));
+        assertThrows(IllegalArgumentException.class, () -> graph.neighborhood(List.of("users"), -1));
+    }
+
+    @Test
+    void testTablesByDistance() {
+        SchemaGraph graph = snapshot.getGraph();
+        int users = graph.indexOf("users");
+        assertEquals(users, graph.indexOf("Users"));
+        assertEquals(-1, graph.indexOf("missing"));
+
+        // Seeds first, in the order given, then each hop in turn
+        int[] order = graph.byDistance(graph.indexesOf(List.of("products", "users")), 2);
+        assertEquals(List.of("products", "users", "order_items", "orders"), Arrays.stream(order)
+                .mapToObj(table -> graph.table(table).getName()).toList());
+        assertEquals(1, graph.degree(users));
+        assertEquals("orders", graph.table(graph.neighbor(users, 0)).getName());
+        assertEquals("orders", graph.table(graph.owner(graph.edge(users, 0))).getName());
+    }
+
+    @Test
+    void testImageBackedGraphMaterializesNoTables() throws Exception {
+        SchemaSnapshot restored = TestSchemas.imageOf(snapshot);
+        SchemaGraph graph = restored.getGraph();
+
+        int users = graph.indexOf("USERS");
+        int[] order = graph.byDistance(graph.indexesOf(List.of("products", "users")), 2);
+        assertEquals(snapshot.getGraph().indexOf("users"), users);
+        assertArrayEquals(snapshot.getGraph().byDistance(graph.indexesOf(List.of("products", "users")), 2), order);
+        assertEquals(graph.indexOf("orders"), graph.neighbor(users, 0));
+        assertEquals(graph.indexOf("orders"), graph.owner(graph.edge(users, 0)));
+        assertEquals(0, restored.getImage().materializedSize());
+    }
+
+    @Test
+    void testDisconnectedTablesAndUnknownReferences() throws Exception {
+        SchemaSnapshot irregular = TestSchemas.irregular();
+        SchemaGraph graph = irregular.getGraph();
+        int accounts = graph.indexOf("customer accounts");
+        int auditLog = graph.indexOf("AUDIT_LOG");
+        assertEquals(0, accounts);
+        assertEquals(List.of("Customer Accounts", "Invoices"), names(graph.neighborhood(List.of("invoices"), 3)));
+
+        // A foreign key to a table outside the schema adds no edge
+        assertEquals(0, graph.degree(auditLog));
+        assertArrayEquals(new int[]{auditLog}, graph.byDistance(new int[]{auditLog}, 5));
+        assertEquals(List.of("Tags"), names(graph.neighborhood(List.of("Tags"), 5)));
+
+        SchemaGraph fromImage = TestSchemas.imageOf(irregular).getGraph();
+        for (int table = 0; table < graph.size(); table++) {
+            assertEquals(graph.degree(table), fromImage.degree(table));
+        }
+        assertEquals(auditLog, fromImage.indexOf("Audit_Log"));
+    }
+
+    private static List<String> names(List<TableSchema> tables) {
+        return tables.stream().map(TableSchema::getName).toList();
+    }
+}
@@ -0,0 +1,76 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.service.SchemaService;
+import com.satyavenik.mcpserver.sql.SqlValidator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaImageTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testSchemaImageRoundTrip(@TempDir Path dir) throws Exception {
+        SchemaSnapshot original = new SchemaService(objectMapper).getSnapshot();
+        Path file = dir.resolve("schema.bin");
+        SchemaImage.write(original, file);
+
+        SchemaImage image = SchemaImage.open(file);
+        assertEquals(4, image.tableCount());
+        assertEquals(original.getContentHash(), image.getContentHash());
+        assertEquals("order_items", image.tableName(image.indexOf("order_items")));
+        assertEquals(-1, image.indexOf("missing"));
+        assertEquals(original.getSchema().getTables().get(3), image.table(3));
+
+        SchemaSnapshot restored = SchemaSnapshot.of(7, image, objectMapper);
+        long imageOnly = restored.estimatedSize();
+        assertEquals(image.size(), imageOnly);
+        // Symbol tables and indexes built over every table materialize none of them
+        SqlValidator validator = restored.derived(SqlValidator.class, SqlValidator::of);
+        restored.derived(SchemaSearchIndex.class, SchemaSearchIndex::of);
+        restored.derived(TableRelevanceIndex.class, TableRelevanceIndex::of);
+        assertEquals(0, image.materializedSize());
+        assertTrue(restored.estimatedSize() > imageOnly);
+        assertFalse(validator.validate("SELECT emial FROM users").isValid());
+        assertTrue(image.materializedSize() > 0);
+        assertTrue(restored.hasSameContent(original));
+        assertEquals(List.of("products", "orders", "order_items"), restored.getGraph()
+                .neighborhood(List.of("order_items"), 1).stream().map(TableSchema::getName).toList());
+        TableSchema shared = restored.getSchema().getTables().get(3);
+        assertSame(shared, restored.getSchema().getTables().get(3));
+        assertThrows(UnsupportedOperationException.class, () -> shared.getPrimaryKey().set(0, "id"));
+        assertThrows(UnsupportedOperationException.class,
+                () -> shared.getForeignKeys().get(0).getColumns().set(0, "id"));
+        assertThrows(UnsupportedOperationException.class, () -> shared.getColumns().clear());
+        long materialized = restored.estimatedSize();
+        assertTrue(materialized > imageOnly);
+        assertArrayEquals(original.getJson().openStream().readAllBytes(),
+                restored.getJson().openStream().readAllBytes());
+        // The JSON built on first read is counted against the registry budget too
+        assertTrue(restored.estimatedSize() >= materialized + original.getJsonLength());
+    }
+
+    @Test
+    void testCorruptSchemaImageIsRejected(@TempDir Path dir) throws Exception {
+        DatabaseSchema example = new SchemaService(objectMapper).getExampleSchema();
+        byte[] bytes = SchemaImage.encode(example, "hash");
+        Path file = dir.resolve("truncated.bin");
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 4));
+
+        assertThrows(IOException.class, () -> SchemaImage.open(file));
+        assertThrows(IOException.class, () -> SchemaImage.wrap(new byte[64]));
+        assertEquals(example, SchemaImage.wrap(bytes).toSchema());
+    }
+}
@@ -0,0 +1,128 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaRenderingTest {
+
+    private final ObjectMapper objectMapper = TestSchemas.OBJECT_MAPPER;
+
+    private final SchemaSnapshot snapshot = TestSchemas.example();
+
+    @Test
+    void testRenderingsAreCachedPerSnapshot() {
+        SchemaRendering rendering = snapshot.derived(SchemaRendering.class, SchemaRendering::of);
+
+        assertSame(snapshot.getJsonText(), rendering.render(SchemaRendering.Format.JSON));
+        assertEquals(rendering.render(SchemaRendering.Format.DDL), rendering.render(SchemaRendering.Format.DDL));
+        // A budget covering the whole schema returns the whole rendering
+        assertEquals(rendering.render(SchemaRendering.Format.COMPACT), rendering.render(
+                SchemaRendering.Format.COMPACT, rendering.getDefaultOrder(), Integer.MAX_VALUE));
+
+        int[] ranked = rendering.rank("quantity of items per order");
+        assertEquals(4, ranked.length);
+        assertEquals("order_items", snapshot.getGraph().table(ranked[0]).getName());
+        // Without a question the best connected tables come first
+        assertEquals("orders", snapshot.getGraph().table(rendering.getDefaultOrder()[0]).getName());
+    }
+
+    @Test
+    void testTableRenderings() {
+        TableSchema table = TableSchema.builder()
+                .name("order lines")
+                .description("Lines\nof an order")
+                .columns(List.of(
+                        ColumnSchema.builder().name("order_id").type("INTEGER").nullable(false).build(),
+                        ColumnSchema.builder().name("line").type("INTEGER").nullable(false).build(),
+                        ColumnSchema.builder().name("note").type("TEXT").nullable(true).defaultValue("''").build(),
+                        ColumnSchema.builder().name("extra").nullable(true).build()))
+                .primaryKey(List.of("order_id", "line"))
+                .foreignKeys(List.of(ForeignKey.builder()
+                        .columns(List.of("order_id"))
+                        .referencedTable("orders")
+                        .referencedColumns(List.of("id"))
+                        .build()))
+                .build();
+
+        assertEquals("""
+                -- Lines of an order
+                CREATE TABLE "order lines" (
+                  order_id INTEGER NOT NULL,
+                  line INTEGER NOT NULL,
+                  note TEXT DEFAULT '',
+                  extra,
+                  PRIMARY KEY (order_id, line),
+                  FOREIGN KEY (order_id) REFERENCES orders (id)
+                );""", SchemaRendering.ddl(table));
+        assertEquals("\"order lines\"(order_id INTEGER PK -> orders.id, line INTEGER PK, note TEXT, extra)"
+                + " -- Lines of an order", SchemaRendering.compact(table));
+    }
+
+    @Test
+    void testBudgetSkipsTablesThatDoNotFit() {
+        SchemaRendering rendering = SchemaRendering.of(snapshot);
+        int full = ((String) rendering.render(SchemaRendering.Format.COMPACT).rawValue()).length();
+
+        String budgeted = (String) rendering.render(SchemaRendering.Format.COMPACT,
+                rendering.getDefaultOrder(), full / 2).rawValue();
+        assertTrue(budgeted.length() < full);
+        assertTrue(budgeted.contains("more tables omitted"));
+    }
+
+    @Test
+    void testBudgetedJsonKeepsTheSchemaEnvelope() throws Exception {
+        SchemaRendering rendering = SchemaRendering.of(snapshot);
+        int full = snapshot.getJsonLength();
+
+        JsonNode json = objectMapper.readTree(text(rendering.render(SchemaRendering.Format.JSON,
+                rendering.getDefaultOrder(), full / 2)));
+        assertEquals(snapshot.getSchema().getName(), json.get("name").asText());
+        assertEquals(snapshot.getSchema().getDescription(), json.get("description").asText());
+        assertTrue(json.get("tables").size() < 4);
+        assertEquals(4 - json.get("tables").size(), json.get("omittedTables").asInt());
+    }
+
+    @Test
+    void testImageBackedRenderingMaterializesNoTables() throws Exception {
+        SchemaSnapshot restored = TestSchemas.imageOf(snapshot);
+        SchemaRendering rendering = restored.derived(SchemaRendering.class, SchemaRendering::of);
+
+        for (SchemaRendering.Format format : SchemaRendering.Format.values()) {
+            rendering.render(format);
+            rendering.render(format, rendering.rank("quantity of items per order"), 200);
+        }
+        assertEquals(0, restored.getImage().materializedSize());
+        assertEquals(SchemaRendering.of(snapshot).render(SchemaRendering.Format.DDL),
+                rendering.render(SchemaRendering.Format.DDL));
+    }
+
+    @Test
+    void testIrregularSchemaRenderings() throws Exception {
+        SchemaRendering rendering = SchemaRendering.of(TestSchemas.irregular());
+        String ddl = text(rendering.render(SchemaRendering.Format.DDL));
+        String compact = text(rendering.render(SchemaRendering.Format.COMPACT));
+
+        assertTrue(ddl.contains("CREATE TABLE \"Customer Accounts\" ("));
+        assertTrue(ddl.contains("FOREIGN KEY (AccountId) REFERENCES \"Customer Accounts\" (id)"));
+        // References to tables outside the schema and columns without a type are rendered as declared
+        assertTrue(compact.contains("audit_log(id BIGINT PK, user_id INTEGER -> legacy_users.id, event)"));
+        assertTrue(compact.contains("Tags(label TEXT)"));
+        // The connected pair comes first, then the unconnected tables in schema order
+        assertArrayEquals(new int[]{0, 1, 2, 3}, rendering.getDefaultOrder());
+    }
+
+    // Renderings are JSON string literals
+    private String text(RawValue rendering) throws Exception {
+        return objectMapper.readTree((String) rendering.rawValue()).asText();
+    }
+}
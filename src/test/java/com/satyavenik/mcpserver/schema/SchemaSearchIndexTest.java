@@ -0,0 +1,72 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.SearchHit;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaSearchIndexTest {
+
+    private final SchemaSnapshot snapshot = TestSchemas.example();
+
+    @Test
+    void testSearchSchema() {
+        SchemaSearchIndex index = snapshot.derived(SchemaSearchIndex.class, SchemaSearchIndex::of);
+        assertSame(index, snapshot.derived(SchemaSearchIndex.class, SchemaSearchIndex::of));
+
+        SearchHit exact = index.search("email", 5).get(0);
+        assertEquals("users", exact.getTable());
+        assertEquals("email", exact.getColumn());
+
+        // Misspelled and partial words still find the column
+        assertEquals("email", index.search("emial adress", 3).get(0).getColumn());
+        assertEquals("quantity", index.search("quant", 3).get(0).getColumn());
+
+        // Descriptions are searched too, and tables match by name
+        assertTrue(index.search("stock", 5).stream().anyMatch(hit -> "products".equals(hit.getTable())));
+        SearchHit table = index.search("order items", 5).get(0);
+        assertEquals("order_items", table.getTable());
+        assertNull(table.getColumn());
+
+        assertEquals(2, index.search("id", 2).size());
+        assertTrue(index.search("", 5).isEmpty());
+        assertTrue(index.search("zzzz", 5).isEmpty());
+    }
+
+    @Test
+    void testImageBackedSearchMaterializesNoTables() throws Exception {
+        SchemaSnapshot restored = TestSchemas.imageOf(snapshot);
+        SchemaSearchIndex index = restored.derived(SchemaSearchIndex.class, SchemaSearchIndex::of);
+
+        // Every document is rescored and returned, so each table's name is read
+        List<SearchHit> hits = index.search("id name order", index.documentCount());
+        assertEquals(0, restored.getImage().materializedSize());
+        assertEquals(SchemaSearchIndex.of(snapshot).search("id name order", index.documentCount()), hits);
+    }
+
+    @Test
+    void testSearchMixedCaseAndQuotedNames() {
+        SchemaSearchIndex index = SchemaSearchIndex.of(TestSchemas.irregular());
+
+        SearchHit displayName = index.search("display name", 3).get(0);
+        assertEquals("Customer Accounts", displayName.getTable());
+        assertEquals("Display Name", displayName.getColumn());
+        assertEquals("AccountId", index.search("account id", 3).get(0).getColumn());
+        SearchHit accounts = index.search("customer accounts", 3).get(0);
+        assertEquals("Customer Accounts", accounts.getTable());
+        assertNull(accounts.getColumn());
+        // A column without a type is found by its name and description
+        assertEquals("event", index.search("what changed", 3).get(0).getColumn());
+    }
+
+    @Test
+    void testWordsSplitIdentifiers() {
+        assertEquals(List.of("order", "items"), SchemaSearchIndex.words("order_items"));
+        assertEquals(List.of("created", "at"), SchemaSearchIndex.words("createdAt"));
+        assertEquals(List.of("user", "id2"), SchemaSearchIndex.words("USER-id2"));
+        assertTrue(SchemaSearchIndex.words(null).isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSuggestion;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TableRelevanceIndexTest {
+
+    private final SchemaSnapshot snapshot = TestSchemas.example();
+
+    @Test
+    void testSuggestTables() {
+        TableRelevanceIndex index = snapshot.derived(TableRelevanceIndex.class, TableRelevanceIndex::of);
+
+        List<TableSuggestion> products = index.suggest("Which products are low on stock?", 3);
+        assertEquals("products", products.get(0).getTable());
+        assertTrue(products.get(0).getMatchedTerms().contains("stock"));
+
+        List<TableSuggestion> orders = index.suggest("total order amount per user", 2);
+        assertEquals("orders", orders.get(0).getTable());
+        assertTrue(orders.get(0).getScore() >= orders.get(1).getScore());
+
+        assertTrue(index.suggest("the of and", 5).isEmpty());
+
+        // Ranking returns only the tables holding a query term, in the order suggest gives them
+        int[] ranked = index.rank("Which products are low on stock?");
+        assertEquals(index.suggest("Which products are low on stock?", 10).stream()
+                        .map(TableSuggestion::getTable).toList(),
+                Arrays.stream(ranked).mapToObj(t -> snapshot.getGraph().table(t).getName()).toList());
+        assertEquals(0, index.rank("the of and").length);
+        assertTrue(index.suggest("weather forecast", 5).isEmpty());
+    }
+
+    @Test
+    void testIrregularSchemaFromImage() throws Exception {
+        SchemaSnapshot irregular = TestSchemas.imageOf(TestSchemas.irregular());
+        TableRelevanceIndex index = irregular.derived(TableRelevanceIndex.class, TableRelevanceIndex::of);
+
+        assertEquals("Invoices", index.suggest("invoice totals per account", 2).get(0).getTable());
+        assertEquals("Customer Accounts", index.suggest("customer display names", 2).get(0).getTable());
+        assertEquals("Tags", index.suggest("labels in the catalog", 2).get(0).getTable());
+        // Ranking and suggestions read each table from the image without keeping it
+        assertEquals(4, index.rank("id of accounts invoices changes labels").length);
+        assertEquals(0, irregular.getImage().materializedSize());
+    }
+
+    @Test
+    void testTermsDropStopWordsAndPlurals() {
+        assertEquals(List.of("category", "order", "status"),
+                TableRelevanceIndex.terms("the categories of orders by status"));
+        assertTrue(TableRelevanceIndex.terms("which are the").isEmpty());
+    }
+}
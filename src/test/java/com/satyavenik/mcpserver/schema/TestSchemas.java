@@ -0,0 +1,97 @@
+package com.satyavenik.mcpserver.schema;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.service.SchemaService;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Test Schemas - Snapshots shared by the schema tests: the built-in example schema, an image-backed copy
+ * of any snapshot, and a small schema with the shapes the example lacks.
+ */
+final class TestSchemas {
+
+    static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private TestSchemas() {
+    }
+
+    /**
+     * Snapshot of the example schema: users, orders, order_items and products, all connected
+     */
+    static SchemaSnapshot example() {
+        return new SchemaService(OBJECT_MAPPER).getSnapshot();
+    }
+
+    /**
+     * Snapshot read from the image of another snapshot, see {@link SchemaSnapshot#getImage()}
+     */
+    static SchemaSnapshot imageOf(SchemaSnapshot snapshot) throws IOException {
+        return SchemaSnapshot.of(snapshot.getVersion() + 1,
+                SchemaImage.wrap(SchemaImage.encode(snapshot.getSchema(), snapshot.getContentHash())), OBJECT_MAPPER);
+    }
+
+    /**
+     * Snapshot of a schema with mixed-case names that need quoting in SQL, and two tables outside the one
+     * connected pair: "Customer Accounts" &lt;- Invoices, audit_log referencing a table missing from the
+     * schema, and Tags with no foreign keys at all
+     */
+    static SchemaSnapshot irregular() {
+        DatabaseSchema schema = DatabaseSchema.builder()
+                .name("Irregular")
+                .tables(List.of(
+                        TableSchema.builder()
+                                .name("Customer Accounts")
+                                .description("Accounts of paying customers")
+                                .columns(List.of(
+                                        column("id", "INTEGER", "Primary key"),
+                                        column("Display Name", "VARCHAR(100)", "Name shown on invoices")))
+                                .primaryKey(List.of("id"))
+                                .foreignKeys(List.of())
+                                .build(),
+                        TableSchema.builder()
+                                .name("Invoices")
+                                .description("Invoices sent to customer accounts")
+                                .columns(List.of(
+                                        column("id", "INTEGER", "Primary key"),
+                                        column("AccountId", "INTEGER", "Invoiced account"),
+                                        column("total", "DECIMAL(10,2)", "Invoice total")))
+                                .primaryKey(List.of("id"))
+                                .foreignKeys(List.of(foreignKey("AccountId", "Customer Accounts", "id")))
+                                .build(),
+                        TableSchema.builder()
+                                .name("audit_log")
+                                .description("Changes made by legacy users")
+                                .columns(List.of(
+                                        column("id", "BIGINT", "Primary key"),
+                                        column("user_id", "INTEGER", "User who made the change"),
+                                        column("event", null, "What changed")))
+                                .primaryKey(List.of("id"))
+                                .foreignKeys(List.of(foreignKey("user_id", "legacy_users", "id")))
+                                .build(),
+                        TableSchema.builder()
+                                .name("Tags")
+                                .columns(List.of(column("label", "TEXT", "Tag shown in the catalog")))
+                                .build()))
+                .build();
+        return SchemaSnapshot.of(1, schema, OBJECT_MAPPER);
+    }
+
+    private static ColumnSchema column(String name, String type, String description) {
+        return ColumnSchema.builder().name(name).type(type).nullable(true).description(description).build();
+    }
+
+    private static ForeignKey foreignKey(String column, String referencedTable, String referencedColumn) {
+        return ForeignKey.builder()
+                .columns(List.of(column))
+                .referencedTable(referencedTable)
+                .referencedColumns(List.of(referencedColumn))
+                .build();
+    }
+}
@@ -0,0 +1,55 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.protocol.JsonText;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentEncoderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ContentEncoder contentEncoder = new ContentEncoder(objectMapper);
+
+    @Test
+    void testEncodeProducesQuotedJson() throws Exception {
+        SqlTemplate template = SqlTemplate.builder()
+                .name("quoted")
+                .type("SELECT")
+                .template("SELECT \"name\" FROM t WHERE a = '\\\\'\n\tAND b = 1")
+                .examples(List.of("line1\nline2", "\u0001control"))
+                .build();
+
+        RawValue text = contentEncoder.encode(template);
+
+        // The raw value is a JSON string literal whose content is the template's JSON
+        String literal = (String) text.rawValue();
+        String json = objectMapper.readValue(literal, String.class);
+        assertEquals(objectMapper.valueToTree(template), objectMapper.readTree(json));
+    }
+
+    @Test
+    void testEncodedTextEmbedsAsString() throws Exception {
+        String envelope = objectMapper.writeValueAsString(Map.of(
+                "text", contentEncoder.encode(Map.of("error", "Template \"x\" not found"))));
+
+        JsonNode text = objectMapper.readTree(envelope).get("text");
+        assertTrue(text.isTextual());
+        assertEquals("Template \"x\" not found", objectMapper.readTree(text.asText()).get("error").asText());
+    }
+
+    @Test
+    void testQuoteMatchesEncode() throws Exception {
+        Map<String, Object> value = Map.of("name", "users", "description", "Line\nbreak");
+
+        assertEquals(JsonText.quote(objectMapper.writeValueAsString(value)).rawValue(),
+                contentEncoder.encode(value).rawValue());
+    }
+}
@@ -0,0 +1,42 @@
+package com.satyavenik.mcpserver.service;
+
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpRequest;
+import com.satyavenik.mcpserver.protocol.McpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class McpDispatcherTest {
+
+    @Test
+    void testErrorThrownByProcessingBecomesInternalError() throws Exception {
+        McpService failing = new McpService(null, null, null, null, null) {
+            @Override
+            public McpResponse processRequest(McpRequest request, String sessionId) {
+                throw new StackOverflowError();
+            }
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            McpDispatcher dispatcher = new McpDispatcher(failing, executor);
+            McpRequest request = McpRequest.builder().jsonrpc("2.0").id(7).method("tools/list").build();
+
+            McpResponse response = dispatcher.submit(request, "session").get(5, TimeUnit.SECONDS);
+            assertEquals(7, response.getId());
+            assertEquals(McpError.INTERNAL_ERROR, response.getError().getCode());
+
+            // Batches wait for every element, so a failed one must not throw out of the batch
+            List<McpResponse> batch = dispatcher.processBatch(List.of(request, request));
+            assertEquals(2, batch.size());
+            assertEquals(McpError.INTERNAL_ERROR, batch.get(1).getError().getCode());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.ColumnSchema;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.ForeignKey;
+import com.satyavenik.mcpserver.model.TableSchema;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaIntrospectorTest {
+
+    private String url;
+
+    private Connection keepAlive;
+
+    private SchemaIntrospector introspector;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:h2:mem:" + UUID.randomUUID();
+        keepAlive = DriverManager.getConnection(url);
+        execute("CREATE TABLE customers (id INT PRIMARY KEY, name VARCHAR(100) NOT NULL)");
+        execute("COMMENT ON TABLE customers IS 'Customer accounts'");
+        execute("CREATE TABLE orders (id INT PRIMARY KEY, customer_id INT NOT NULL,"
+                + " total DECIMAL(10,2) DEFAULT 0,"
+                + " CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customers(id))");
+        execute("CREATE TABLE order_lines (order_id INT, line_no INT, sku VARCHAR(20),"
+                + " PRIMARY KEY (order_id, line_no), FOREIGN KEY (order_id) REFERENCES orders(id))");
+        introspector = new SchemaIntrospector(() -> DriverManager.getConnection(url), "shop", null, "PUBLIC",
+                List.of("TABLE"), 2);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        introspector.close();
+        keepAlive.close();
+    }
+
+    @Test
+    void testIntrospect() throws SQLException {
+        DatabaseSchema schema = introspector.introspect();
+
+        assertEquals("shop", schema.getName());
+        assertEquals(List.of("CUSTOMERS", "ORDERS", "ORDER_LINES"),
+                schema.getTables().stream().map(TableSchema::getName).toList());
+
+        TableSchema customers = table(schema, "CUSTOMERS");
+        assertEquals("Customer accounts", customers.getDescription());
+        assertEquals(List.of("ID"), customers.getPrimaryKey());
+        ColumnSchema name = customers.getColumns().get(1);
+        assertEquals("NAME", name.getName());
+        assertTrue(name.getType().endsWith("(100)"));
+        assertFalse(name.isNullable());
+
+        TableSchema orders = table(schema, "ORDERS");
+        assertTrue(orders.getColumns().get(2).getType().endsWith("(10,2)"));
+        assertEquals("0", orders.getColumns().get(2).getDefaultValue());
+        ForeignKey foreignKey = orders.getForeignKeys().get(0);
+        assertEquals(List.of("CUSTOMER_ID"), foreignKey.getColumns());
+        assertEquals("CUSTOMERS", foreignKey.getReferencedTable());
+        assertEquals(List.of("ID"), foreignKey.getReferencedColumns());
+
+        assertEquals(List.of("ORDER_ID", "LINE_NO"), table(schema, "ORDER_LINES").getPrimaryKey());
+        assertEquals(3, introspector.getLastReadCount());
+    }
+
+    @Test
+    void testRefreshRereadsOnlyChangedTables() throws SQLException {
+        DatabaseSchema first = introspector.introspect();
+
+        DatabaseSchema unchanged = introspector.refresh();
+        assertEquals(0, introspector.getLastReadCount());
+        assertEquals(first, unchanged);
+        assertSame(table(first, "ORDERS"), table(unchanged, "ORDERS"));
+
+        execute("ALTER TABLE orders ADD COLUMN status VARCHAR(20)");
+        execute("CREATE TABLE refunds (id INT PRIMARY KEY, order_id INT REFERENCES orders(id))");
+        execute("DROP TABLE order_lines");
+
+        DatabaseSchema changed = introspector.refresh();
+        assertEquals(2, introspector.getLastReadCount());
+        assertEquals(List.of("CUSTOMERS", "ORDERS", "REFUNDS"),
+                changed.getTables().stream().map(TableSchema::getName).toList());
+        assertEquals("STATUS", table(changed, "ORDERS").getColumns().get(3).getName());
+        assertEquals("ORDERS", table(changed, "REFUNDS").getForeignKeys().get(0).getReferencedTable());
+        assertSame(table(first, "CUSTOMERS"), table(changed, "CUSTOMERS"));
+
+        introspector.introspect();
+        assertEquals(3, introspector.getLastReadCount());
+    }
+
+    @Test
+    void testTablesOfSeveralSchemasAreQualified() throws SQLException {
+        execute("CREATE SCHEMA sales");
+        execute("CREATE TABLE sales.customers (id INT PRIMARY KEY, region VARCHAR(20))");
+        execute("CREATE TABLE sales.orders (id INT PRIMARY KEY, customer_id INT REFERENCES sales.customers(id))");
+        try (SchemaIntrospector all = new SchemaIntrospector(() -> DriverManager.getConnection(url), "shop", null,
+                null, List.of("TABLE"), 2)) {
+            DatabaseSchema schema = all.introspect();
+
+            List<String> names = schema.getTables().stream().map(TableSchema::getName).toList();
+            assertTrue(names.containsAll(List.of("PUBLIC.CUSTOMERS", "PUBLIC.ORDERS", "SALES.CUSTOMERS",
+                    "SALES.ORDERS")), names.toString());
+            assertEquals(List.of("ID", "REGION"), table(schema, "SALES.CUSTOMERS").getColumns().stream()
+                    .map(ColumnSchema::getName).toList());
+            assertEquals("SALES.CUSTOMERS", table(schema, "SALES.ORDERS").getForeignKeys().get(0).getReferencedTable());
+            assertEquals("PUBLIC.CUSTOMERS", table(schema, "PUBLIC.ORDERS").getForeignKeys().get(0).getReferencedTable());
+        }
+    }
+
+    @Test
+    void testPublishedThroughSchemaService() throws SQLException {
+        SchemaService schemaService = new SchemaService(new ObjectMapper());
+        long version = schemaService.getSnapshot().getVersion();
+
+        schemaService.publish(introspector.introspect());
+        assertEquals(version + 1, schemaService.getSnapshot().getVersion());
+        assertEquals("shop", schemaService.getSnapshot().getSchema().getName());
+
+        schemaService.publish(introspector.refresh());
+        assertEquals(version + 1, schemaService.getSnapshot().getVersion());
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = keepAlive.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static TableSchema table(DatabaseSchema schema, String name) {
+        return schema.getTables().stream().filter(t -> t.getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,202 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.schema.JoinPathFinder;
+import com.satyavenik.mcpserver.schema.SchemaRendering;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaRegistryTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private SchemaService schemaService;
+
+    private McpProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        schemaService = new SchemaService(objectMapper);
+        properties = new McpProperties();
+    }
+
+    @Test
+    void testPrimarySchemaIsAlwaysAvailable() {
+        SchemaRegistry registry = registry();
+
+        assertSame(schemaService.getSnapshot(), registry.get("ecommerce"));
+        assertEquals(List.of("ecommerce"), registry.getNames());
+        assertNull(registry.get("missing"));
+    }
+
+    @Test
+    void testConcurrentFirstLoadsShareOneLoad() throws Exception {
+        SchemaRegistry registry = registry();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        registry.register("sales", "Sales", () -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return schema("sales", 3);
+        });
+        assertNull(registry.getIfResident("sales"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<SchemaSnapshot>> futures = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> registry.get("sales")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            SchemaSnapshot first = futures.get(0).get(5, TimeUnit.SECONDS);
+            for (Future<SchemaSnapshot> future : futures) {
+                assertSame(first, future.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(1, loads.get());
+        assertSame(registry.get("sales"), registry.getIfResident("sales"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testResidentBytesAreBounded() {
+        long size = SchemaSnapshot.of(1, schema("a", 20), objectMapper).estimatedSize();
+        properties.getRegistry().setMaxBytes(size * 2 + size / 2);
+        SchemaRegistry registry = registry();
+        AtomicInteger loads = new AtomicInteger();
+        for (String name : List.of("a", "b", "c")) {
+            registry.register(name, name, () -> {
+                loads.incrementAndGet();
+                return schema(name, 20);
+            });
+        }
+
+        registry.get("a");
+        registry.get("a");
+        registry.get("b");
+        registry.get("b");
+        assertEquals(2, registry.getResidentCount());
+
+        // A schema requested once does not displace schemas requested more often
+        registry.get("c");
+        assertNull(registry.getIfResident("c"));
+        assertEquals(2, registry.getResidentCount());
+
+        // Requested again, it is admitted as it reloads and replaces the least recently used schema
+        registry.get("c");
+        registry.get("c");
+        assertNotNull(registry.getIfResident("c"));
+        assertNull(registry.getIfResident("a"));
+        assertTrue(registry.getResidentBytes() <= properties.getRegistry().getMaxBytes());
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void testDerivedStructuresCountTowardsTheBudget() {
+        SchemaRegistry registry = registry();
+        registry.register("sales", "Sales", () -> schema("sales", 20));
+        SchemaSnapshot snapshot = registry.get("sales");
+        long loaded = registry.getResidentBytes();
+        assertEquals(snapshot.estimatedSize(), loaded);
+
+        snapshot.getGraph();
+        snapshot.derived(JoinPathFinder.class, JoinPathFinder::of);
+        snapshot.derived(SchemaRendering.class, SchemaRendering::of).render(SchemaRendering.Format.DDL);
+        registry.get("sales");
+        assertTrue(registry.getResidentBytes() > loaded);
+        assertEquals(snapshot.estimatedSize(), registry.getResidentBytes());
+    }
+
+    @Test
+    void testLargeSchemaIsAdmittedOnlyWhenRequestedAgain() {
+        long small = SchemaSnapshot.of(1, schema("a", 20), objectMapper).estimatedSize();
+        long large = SchemaSnapshot.of(1, schema("c", 60), objectMapper).estimatedSize();
+        properties.getRegistry().setMaxBytes(large + small / 2);
+        SchemaRegistry registry = registry();
+        registry.register("a", "a", () -> schema("a", 20));
+        registry.register("b", "b", () -> schema("b", 20));
+        registry.register("c", "c", () -> schema("c", 60));
+
+        registry.get("a");
+        for (int i = 0; i < 3; i++) {
+            registry.get("b");
+        }
+        assertEquals(2, registry.getResidentCount());
+
+        // c is used no more often than a and b, and would have to evict both to fit
+        registry.get("c");
+        assertNull(registry.getIfResident("c"));
+        assertNotNull(registry.getIfResident("a"));
+        assertNotNull(registry.getIfResident("b"));
+
+        // Requested again after it was rejected, it is in use and replaces them rather than reloading each time
+        registry.get("c");
+        assertNotNull(registry.getIfResident("c"));
+        assertEquals(1, registry.getResidentCount());
+    }
+
+    @Test
+    void testFailedLoadIsRetried() {
+        SchemaRegistry registry = registry();
+        AtomicInteger attempts = new AtomicInteger();
+        registry.register("flaky", "Flaky", () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("database down");
+            }
+            return schema("flaky", 1);
+        });
+
+        assertThrows(IllegalStateException.class, () -> registry.get("flaky"));
+        assertEquals("flaky", registry.get("flaky").getSchema().getName());
+    }
+
+    @Test
+    void testSchemaFromFile(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("legacy.json");
+        Files.writeString(file, objectMapper.writeValueAsString(schema("legacy", 2)));
+        McpProperties.Database database = new McpProperties.Database();
+        database.setDescription("Legacy database");
+        database.setLocation(file.toUri().toString());
+        properties.getDatabases().put("legacy", database);
+        SchemaRegistry registry = registry();
+
+        assertEquals(List.of("ecommerce", "legacy"), registry.getNames());
+        assertEquals("Legacy database", registry.getDescription("legacy"));
+        assertEquals(2, registry.get("legacy").getSchema().getTables().size());
+        assertEquals("schema://database/legacy", SchemaRegistry.uri("legacy"));
+    }
+
+    private SchemaRegistry registry() {
+        return new SchemaRegistry(schemaService, properties, objectMapper, new DefaultResourceLoader());
+    }
+
+    private static DatabaseSchema schema(String name, int tables) {
+        List<TableSchema> list = new ArrayList<>();
+        for (int i = 0; i < tables; i++) {
+            list.add(TableSchema.builder().name(name + "_table_" + i).description("Table " + i).build());
+        }
+        return DatabaseSchema.builder().name(name).tables(list).build();
+    }
+}
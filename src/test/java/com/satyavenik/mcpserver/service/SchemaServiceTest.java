@@ -1,10 +1,18 @@
 package com.satyavenik.mcpserver.service;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.satyavenik.mcpserver.model.DatabaseSchema;
+import com.satyavenik.mcpserver.model.SchemaSnapshot;
+import com.satyavenik.mcpserver.model.TableSchema;
+import com.satyavenik.mcpserver.schema.SchemaImage;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -13,6 +21,9 @@ class SchemaServiceTest {
     @Autowired
     private SchemaService schemaService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void testGetExampleSchema() {
         DatabaseSchema schema = schemaService.getExampleSchema();
@@ -26,4 +37,55 @@ class SchemaServiceTest {
         assertTrue(schema.getTables().stream()
                 .anyMatch(t -> t.getName().equals("users")));
     }
+
+    @Test
+    void testSnapshotIsReusedAcrossCalls() throws Exception {
+        SchemaSnapshot first = schemaService.getSnapshot();
+        SchemaSnapshot second = schemaService.getSnapshot();
+
+        assertSame(first, second);
+        assertSame(first.getSchema(), schemaService.getExampleSchema());
+
+        JsonNode json = objectMapper.readTree(first.getJson().openStream());
+        assertEquals("sample_ecommerce", json.get("name").asText());
+        assertEquals(4, json.get("tables").size());
+        // The hash streamed while building the snapshot is the hash of the JSON it serves
+        assertEquals(first.getJson().contentHash(), first.getContentHash());
+    }
+
+    @Test
+    void testSnapshotIsImmutable() {
+        List<TableSchema> tables = schemaService.getSnapshot().getSchema().getTables();
+
+        assertThrows(UnsupportedOperationException.class, () -> tables.remove(0));
+    }
+
+    @Test
+    void testPublishOnlyVersionsChangedContent() {
+        SchemaSnapshot current = schemaService.getSnapshot();
+
+        // Same content does not produce a new snapshot
+        assertSame(current, schemaService.publish(current.getSchema()));
+
+        DatabaseSchema changed = DatabaseSchema.builder()
+                .name(current.getSchema().getName())
+                .description("Changed description")
+                .tables(new ArrayList<>(current.getSchema().getTables()))
+                .build();
+        SchemaSnapshot published = schemaService.publish(changed);
+        try {
+            assertEquals(current.getVersion() + 1, published.getVersion());
+            assertSame(published, schemaService.getSnapshot());
+        } finally {
+            schemaService.publish(current.getSchema());
+        }
+    }
+
+    @Test
+    void testPublishImageOfCurrentContentKeepsSnapshot() throws Exception {
+        SchemaSnapshot current = schemaService.getSnapshot();
+        SchemaImage image = SchemaImage.wrap(SchemaImage.encode(current.getSchema(), current.getContentHash()));
+
+        assertSame(current, schemaService.publish(image));
+    }
 }
@@ -0,0 +1,158 @@
+package com.satyavenik.mcpserver.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.config.McpProperties;
+import com.satyavenik.mcpserver.template.TemplateRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TemplateDirectoryTest {
+
+    private static final String COUNT_YAML = """
+            name: count_rows
+            type: SELECT
+            template: SELECT COUNT(*) FROM {table}
+            parameters:
+              - name: table
+                type: string
+                required: true
+            """;
+
+    private final TemplateService templateService = new TemplateService(new ObjectMapper());
+
+    private TemplateDirectory open(Path dir, boolean watch) throws Exception {
+        McpProperties properties = new McpProperties();
+        properties.getTemplates().setDirectory(dir.toString());
+        properties.getTemplates().setWatch(watch);
+        properties.getTemplates().setReloadDelay(20);
+        return new TemplateDirectory(templateService, properties);
+    }
+
+    @Test
+    void testLoadsYamlAndJsonFiles(@TempDir Path dir) throws Exception {
+        int builtIn = templateService.getRegistry().size();
+        Files.writeString(dir.resolve("count.yml"), COUNT_YAML);
+        Files.writeString(dir.resolve("more.json"), """
+                [{"name": "latest_rows", "type": "SELECT",
+                  "template": "SELECT * FROM {table} ORDER BY {column} DESC LIMIT 10"},
+                 {"name": "basic_select", "type": "SELECT", "template": "SELECT * FROM {table}"}]
+                """);
+        Files.writeString(dir.resolve("notes.txt"), "ignored");
+
+        TemplateDirectory directory = open(dir, false);
+
+        TemplateRegistry registry = templateService.getRegistry();
+        assertEquals(2, directory.getFileCount());
+        assertEquals(builtIn + 2, registry.size());
+        assertNotNull(registry.get("count_rows"));
+        assertNotNull(registry.get("latest_rows"));
+        // A file template replaces the built-in template of the same name
+        assertEquals("SELECT * FROM {table}", registry.get("basic_select").getTemplate());
+    }
+
+    @Test
+    void testRendersMultiLineTemplateWithoutOptionalClause(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("active.yml"), """
+                name: active_users
+                type: SELECT
+                template: |
+                  SELECT id, email
+                  FROM users
+                  WHERE {condition}
+                parameters:
+                  - name: condition
+                    type: string
+                    required: false
+                """);
+        open(dir, false);
+
+        assertEquals("SELECT id, email\nFROM users\n", templateService.renderTemplate("active_users", Map.of()));
+        assertEquals("SELECT id, email\nFROM users\nWHERE active\n",
+                templateService.renderTemplate("active_users", Map.of("condition", "active")));
+    }
+
+    @Test
+    void testInvalidFilesFailStartup(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve("a.yml"), COUNT_YAML);
+        Files.writeString(dir.resolve("b.yml"), COUNT_YAML);
+        assertThrows(IllegalArgumentException.class, () -> open(dir, false));
+
+        Files.delete(dir.resolve("b.yml"));
+        Files.writeString(dir.resolve("c.yml"), "name: no_template\ntype: SELECT\n");
+        assertThrows(IllegalArgumentException.class, () -> open(dir, false));
+
+        assertThrows(IllegalStateException.class, () -> open(dir.resolve("missing"), false));
+    }
+
+    @Test
+    void testReloadOnlyChangedFiles(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("count.yml");
+        Files.writeString(file, COUNT_YAML);
+        TemplateDirectory directory = open(dir, false);
+        TemplateRegistry loaded = templateService.getRegistry();
+
+        // Unchanged content publishes nothing new
+        assertFalse(directory.reload(List.of(file)));
+        assertSame(loaded, templateService.getRegistry());
+
+        // A broken edit keeps the previous templates
+        Files.writeString(file, "name: count_rows\ntype: SELECT\ntemplate: [unclosed\n");
+        assertFalse(directory.reload(List.of(file)));
+        assertSame(loaded, templateService.getRegistry());
+
+        Files.writeString(file, COUNT_YAML.replace("COUNT(*)", "COUNT(1)"));
+        assertTrue(directory.reload(List.of(file)));
+        assertEquals("SELECT COUNT(1) FROM {table}", templateService.getRegistry().get("count_rows").getTemplate());
+        assertNotEquals(loaded.getContentHash(), templateService.getRegistry().getContentHash());
+
+        Files.delete(file);
+        assertTrue(directory.reload(List.of(file)));
+        assertNull(templateService.getRegistry().get("count_rows"));
+        assertEquals(0, directory.getFileCount());
+    }
+
+    @Test
+    void testTemplateMovedBetweenFiles(@TempDir Path dir) throws Exception {
+        Path first = dir.resolve("a.yml");
+        Path second = dir.resolve("b.yml");
+        Files.writeString(first, COUNT_YAML);
+        TemplateDirectory directory = open(dir, false);
+
+        // Moved in one batch, with the new file seen before the old one
+        Files.writeString(second, COUNT_YAML);
+        Files.delete(first);
+        assertTrue(directory.reload(List.of(second, first)));
+        assertNotNull(templateService.getRegistry().get("count_rows"));
+        assertEquals(1, directory.getFileCount());
+
+        // A new file repeating a name of an unchanged file is rejected as a whole
+        Files.writeString(first, COUNT_YAML);
+        assertFalse(directory.reload(List.of(first)));
+        assertEquals(1, directory.getFileCount());
+    }
+
+    @Test
+    void testWatcherPublishesChanges(@TempDir Path dir) throws Exception {
+        TemplateDirectory directory = open(dir, true);
+        try {
+            Files.writeString(dir.resolve("count.yml"), COUNT_YAML);
+
+            // The watch service may poll rather than receive events, so allow it some time
+            long deadline = System.currentTimeMillis() + 15_000;
+            while (templateService.getRegistry().get("count_rows") == null
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertNotNull(templateService.getRegistry().get("count_rows"));
+        } finally {
+            directory.shutdown();
+        }
+    }
+}
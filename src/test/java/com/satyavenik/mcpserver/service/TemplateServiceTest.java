@@ -1,11 +1,14 @@
 package com.satyavenik.mcpserver.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.template.TemplateRegistry;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -15,6 +18,9 @@ class TemplateServiceTest {
     @Autowired
     private TemplateService templateService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void testGetAllTemplates() {
         List<SqlTemplate> templates = templateService.getAllTemplates();
@@ -43,4 +49,70 @@ class TemplateServiceTest {
         
         assertNull(template);
     }
+
+    @Test
+    void testGetTemplatesByType() {
+        List<SqlTemplate> selects = templateService.getTemplatesByType("select");
+
+        assertEquals(2, selects.size());
+        assertTrue(selects.stream().allMatch(t -> t.getType().equals("SELECT")));
+        assertTrue(templateService.getTemplatesByType("MERGE").isEmpty());
+    }
+
+    @Test
+    void testRegistryIsBuiltOnce() throws Exception {
+        assertSame(templateService.getTemplateByName("basic_select"),
+                templateService.getTemplateByName("basic_select"));
+        assertSame(templateService.getRegistry().getJson(), templateService.getRegistry().getJson());
+        assertThrows(UnsupportedOperationException.class, () -> templateService.getAllTemplates().clear());
+
+        // Templates handed out are immutable, so callers cannot change what the registry encoded
+        SqlTemplate template = templateService.getTemplateByName("basic_select");
+        assertThrows(UnsupportedOperationException.class, () -> template.getParameters().clear());
+
+        // The list payload is joined from the per-template encodings
+        TemplateRegistry registry = templateService.getRegistry();
+        assertEquals(objectMapper.readTree(objectMapper.writeValueAsString(registry.getTemplates())),
+                objectMapper.readTree(registry.getJson().openStream()));
+    }
+
+    @Test
+    void testRenderTemplate() {
+        String sql = templateService.renderTemplate("basic_select", Map.of(
+                "columns", "id, email",
+                "table", "users",
+                "condition", "id = 1"));
+
+        assertEquals("SELECT id, email FROM users WHERE id = 1", sql);
+    }
+
+    @Test
+    void testRenderTemplateOmitsOptionalClause() {
+        String sql = templateService.renderTemplate("basic_select", Map.of(
+                "columns", "*",
+                "table", "users"));
+
+        assertEquals("SELECT * FROM users", sql);
+    }
+
+    @Test
+    void testRenderTemplateRepeatedPlaceholder() {
+        String sql = templateService.renderTemplate("aggregate", Map.of(
+                "group_columns", "status",
+                "aggregate_function", "SUM",
+                "column", "total",
+                "table", "orders"));
+
+        assertEquals("SELECT status, SUM(total) FROM orders GROUP BY status", sql);
+    }
+
+    @Test
+    void testRenderTemplateMissingRequiredParameter() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> templateService.renderTemplate("basic_delete", Map.of("table", "users")));
+
+        assertTrue(e.getMessage().contains("condition"));
+        assertThrows(IllegalArgumentException.class,
+                () -> templateService.renderTemplate("nonexistent", Map.of()));
+    }
 }
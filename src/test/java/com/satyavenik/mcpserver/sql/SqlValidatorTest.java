@@ -0,0 +1,177 @@
+package com.satyavenik.mcpserver.sql;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.model.SqlDiagnostic;
+import com.satyavenik.mcpserver.model.SqlValidation;
+import com.satyavenik.mcpserver.service.SchemaService;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlValidatorTest {
+
+    private final SqlValidator validator = SqlValidator.of(new SchemaService(new ObjectMapper()).getSnapshot());
+
+    @Test
+    void testResolvesReferences() {
+        SqlValidation valid = validator.validate("""
+                SELECT u.username, COUNT(o.id) AS order_count, EXTRACT(YEAR FROM u.created_at) AS joined
+                FROM users u
+                JOIN "orders" AS o ON o.user_id = u.id -- line comment
+                WHERE o.status = 'it''s shipped' AND o.total > 1.5e2
+                  AND created_at > CURRENT_DATE - INTERVAL '7' DAY
+                GROUP BY u.username ORDER BY order_count DESC;
+                WITH recent AS (SELECT id FROM orders) SELECT r.anything FROM recent r;
+                INSERT INTO order_items (order_id, product_id, quantity, price) VALUES (1, 2, 3, {price})""");
+        assertTrue(valid.isValid(), () -> valid.getDiagnostics().toString());
+        assertEquals(3, valid.getStatements());
+        assertEquals(List.of("users", "orders", "order_items"), valid.getTables());
+
+        SqlValidation invalid = validator.validate("SELECT u.username, u.emial, x.id\n"
+                + "FROM users u JOIN orders o ON o.user_id = u.id\n"
+                + "WHERE statu = 'new';\n"
+                + "SELECT * FROM product");
+        assertFalse(invalid.isValid());
+        List<SqlDiagnostic> diagnostics = invalid.getDiagnostics();
+        assertEquals(List.of("unknown_column", "unknown_alias", "unknown_column", "unknown_table"),
+                diagnostics.stream().map(SqlDiagnostic::getCode).toList());
+
+        SqlDiagnostic column = diagnostics.get(0);
+        assertEquals(1, column.getLine());
+        assertEquals(22, column.getColumn());
+        assertEquals(5, column.getLength());
+        assertEquals("email", column.getSuggestion());
+
+        assertEquals(3, diagnostics.get(2).getLine());
+        assertEquals(7, diagnostics.get(2).getColumn());
+        assertEquals("status", diagnostics.get(2).getSuggestion());
+
+        assertEquals(4, diagnostics.get(3).getLine());
+        assertEquals("products", diagnostics.get(3).getSuggestion());
+
+        SqlValidation unterminated = validator.validate("SELECT * FROM users WHERE username = 'bob");
+        assertEquals("syntax", unterminated.getDiagnostics().get(0).getCode());
+        assertFalse(validator.validate("SELECT (id FROM users").isValid());
+    }
+
+    @Test
+    void testAcceptsAliasesWithoutAs() {
+        for (String sql : List.of(
+                "SELECT COUNT(*) cnt FROM orders ORDER BY cnt",
+                "SELECT SUM(o.total) revenue FROM orders o GROUP BY o.user_id HAVING revenue > 10",
+                "SELECT username name FROM users ORDER BY name",
+                "SELECT status, (SELECT MAX(total) FROM orders) top FROM orders ORDER BY top")) {
+            SqlValidation validation = validator.validate(sql);
+            assertTrue(validation.isValid(), () -> sql + ": " + validation.getDiagnostics());
+        }
+
+        // A misspelled column is not taken for an alias
+        SqlValidation invalid = validator.validate("SELECT COUNT(*) cnt, statu FROM orders\nORDER BY cnt, totl");
+        assertEquals(List.of("statu", "totl"), invalid.getDiagnostics().stream()
+                .map(d -> d.getMessage().split("'")[1]).toList());
+        assertEquals(2, invalid.getDiagnostics().get(1).getLine());
+        assertEquals(15, invalid.getDiagnostics().get(1).getColumn());
+    }
+
+    @Test
+    void testSubqueries() {
+        assertValid("SELECT username FROM users WHERE id IN (SELECT user_id FROM orders WHERE total > 100)",
+                "SELECT u.username FROM users u WHERE EXISTS (SELECT 1 FROM orders o WHERE o.user_id = u.id)",
+                "SELECT t.user_id, t.n FROM (SELECT user_id, COUNT(*) AS n FROM orders GROUP BY user_id) t",
+                "SELECT id, (SELECT COUNT(*) FROM order_items i WHERE i.order_id = orders.id) FROM orders");
+
+        assertEquals(List.of("totl"),
+                unknown("SELECT id FROM users WHERE id IN (SELECT user_id FROM orders WHERE totl > 1)"));
+        assertEquals(List.of("user"), unknown("SELECT id FROM users WHERE id IN (SELECT user.id FROM orders)"));
+    }
+
+    @Test
+    void testSetOperations() {
+        assertValid("SELECT id FROM users UNION SELECT user_id FROM orders",
+                "SELECT id FROM products UNION ALL SELECT product_id FROM order_items ORDER BY 1",
+                "SELECT id FROM users INTERSECT SELECT user_id FROM orders EXCEPT SELECT 1");
+
+        assertEquals(List.of("price"), unknown("SELECT id FROM users UNION SELECT price FROM orders"));
+    }
+
+    @Test
+    void testInsertOnConflict() {
+        assertValid("""
+                INSERT INTO products (id, name, price) VALUES (1, 'Pen', 2.5)
+                ON CONFLICT (id) DO UPDATE SET name = EXCLUDED.name, price = excluded.price
+                RETURNING id""",
+                "INSERT INTO order_items (order_id, product_id, quantity) SELECT id, 1, 1 FROM orders",
+                "INSERT INTO users (id, email) VALUES (1, 'a@b.c') ON CONFLICT DO NOTHING");
+
+        assertEquals(List.of("emial"), unknown("INSERT INTO users (id, emial) VALUES (1, 'a@b.c')"));
+    }
+
+    @Test
+    void testUpdateAndDelete() {
+        assertValid("UPDATE orders SET status = 'shipped' WHERE id = 1",
+                "UPDATE orders o SET total = o.total * 2 WHERE o.user_id = 3",
+                "DELETE FROM order_items WHERE order_id IN (SELECT id FROM orders WHERE status = 'cancelled')");
+
+        assertEquals(List.of("state"), unknown("UPDATE orders SET state = 'shipped'"));
+    }
+
+    @Test
+    void testWindowFunctions() {
+        assertValid("""
+                SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY created_at DESC) AS rn,
+                       SUM(total) OVER w
+                FROM orders
+                WINDOW w AS (PARTITION BY user_id)""",
+                "SELECT id, RANK() OVER (ORDER BY total) rank_in_orders FROM orders");
+
+        assertEquals(List.of("user"), unknown("SELECT ROW_NUMBER() OVER (PARTITION BY user ORDER BY id) FROM orders"));
+    }
+
+    @Test
+    void testTableFunctionsAndCteScope() {
+        assertValid("SELECT g FROM generate_series(1, 10) AS g",
+                "SELECT u.id, s.n FROM users u CROSS JOIN LATERAL generate_series(1, u.id) s(n)",
+                "WITH big AS (SELECT * FROM orders WHERE total > 100) SELECT b.id, anything FROM big b");
+
+        // A CTE is only visible in its own statement
+        SqlValidation second = validator.validate("WITH big AS (SELECT id FROM orders) SELECT * FROM big;\n"
+                + "SELECT * FROM big");
+        assertEquals(List.of("unknown_table"), codes(second));
+        assertEquals(2, second.getDiagnostics().get(0).getLine());
+    }
+
+    @Test
+    void testNoFalsePositives() {
+        assertValid("SELECT id FROM orders WHERE status = ANY(ARRAY['new', 'paid'])",
+                "SELECT ARRAY(SELECT id FROM users) AS ids",
+                "SELECT id FROM orders WHERE status::text = 'new' AND total::numeric > 1",
+                "SELECT CAST(total AS DECIMAL(10, 2)) FROM orders",
+                "SELECT COALESCE(description, name) FROM products",
+                "SELECT id FROM orders WHERE created_at > DATE '2024-01-01' - INTERVAL '1' MONTH",
+                "SELECT CASE WHEN stock = 0 THEN 'out' ELSE 'in' END AS availability FROM products",
+                "SELECT id FROM users WHERE email LIKE '%@example.com' ESCAPE '\\' AND email IS NOT NULL",
+                "SELECT o.* FROM orders o LIMIT 10 OFFSET 20",
+                "SELECT public.users.id FROM public.users",
+                "SELECT * FROM {table} WHERE {column} = 1");
+    }
+
+    private void assertValid(String... statements) {
+        for (String sql : statements) {
+            SqlValidation validation = validator.validate(sql);
+            assertTrue(validation.isValid(), () -> sql + ": " + validation.getDiagnostics());
+        }
+    }
+
+    // Names reported as unknown, in source order
+    private List<String> unknown(String sql) {
+        return validator.validate(sql).getDiagnostics().stream()
+                .map(d -> d.getMessage().split("'")[1])
+                .toList();
+    }
+
+    private static List<String> codes(SqlValidation validation) {
+        return validation.getDiagnostics().stream().map(SqlDiagnostic::getCode).toList();
+    }
+}
@@ -0,0 +1,68 @@
+package com.satyavenik.mcpserver.template;
+
+import com.satyavenik.mcpserver.model.SqlTemplate;
+import com.satyavenik.mcpserver.model.TemplateParameter;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateTest {
+
+    @Test
+    void testOmitsMultiWordClause() {
+        SqlTemplate template = SqlTemplate.builder()
+                .name("ordered_select")
+                .type("SELECT")
+                .template("SELECT {columns} FROM {table} LEFT OUTER JOIN {other} ORDER BY {order_by}")
+                .parameters(List.of(
+                        TemplateParameter.builder().name("columns").required(true).build(),
+                        TemplateParameter.builder().name("table").required(true).build(),
+                        TemplateParameter.builder().name("other").required(false).build(),
+                        TemplateParameter.builder().name("order_by").required(false).build()))
+                .build();
+        CompiledTemplate compiled = CompiledTemplate.compile(template);
+
+        assertEquals("SELECT id FROM users", compiled.render(Map.of("columns", "id", "table", "users")));
+        assertEquals("SELECT id FROM users ORDER BY id",
+                compiled.render(Map.of("columns", "id", "table", "users", "order_by", "id")));
+        assertEquals("SELECT id FROM users LEFT OUTER JOIN orders USING (id)",
+                compiled.render(Map.of("columns", "id", "table", "users", "other", "orders USING (id)")));
+    }
+
+    @Test
+    void testOmitsOnlyClauseKeywords() {
+        CompiledTemplate select = CompiledTemplate.compile(template("SELECT {columns} FROM users", "columns"));
+        assertEquals("SELECT  FROM users", select.render(Map.of()));
+
+        CompiledTemplate multiLine = CompiledTemplate.compile(template("SELECT *\nFROM users\nWHERE {condition}",
+                "condition"));
+        assertEquals("SELECT *\nFROM users", multiLine.render(Map.of()));
+        assertEquals("SELECT *\nFROM users\nWHERE id = 1", multiLine.render(Map.of("condition", "id = 1")));
+
+        CompiledTemplate lowerCase = CompiledTemplate.compile(template("select * from users\twhere {condition}",
+                "condition"));
+        assertEquals("select * from users", lowerCase.render(Map.of()));
+
+        CompiledTemplate grouped = CompiledTemplate.compile(template("SELECT status FROM orders group\n  by {columns}",
+                "columns"));
+        assertEquals("SELECT status FROM orders", grouped.render(Map.of()));
+
+        // Other words stay, whatever their case
+        CompiledTemplate aliased = CompiledTemplate.compile(template("SELECT * FROM USERS {alias}", "alias"));
+        assertEquals("SELECT * FROM USERS ", aliased.render(Map.of()));
+        CompiledTemplate filtered = CompiledTemplate.compile(template("SELECT * FROM users WHERE id = {id}", "id"));
+        assertEquals("SELECT * FROM users WHERE id = ", filtered.render(Map.of()));
+    }
+
+    private static SqlTemplate template(String text, String optional) {
+        return SqlTemplate.builder()
+                .name("test")
+                .type("SELECT")
+                .template(text)
+                .parameters(List.of(TemplateParameter.builder().name(optional).required(false).build()))
+                .build();
+    }
+}
@@ -0,0 +1,222 @@
+package com.satyavenik.mcpserver.tool;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.satyavenik.mcpserver.protocol.McpError;
+import com.satyavenik.mcpserver.protocol.McpException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ToolRegistryTest {
+
+    @Autowired
+    private ToolRegistry toolRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testToolsAreDiscovered() throws Exception {
+        assertNotNull(toolRegistry.get("get_schema"));
+        assertNotNull(toolRegistry.get("get_templates"));
+        assertNotNull(toolRegistry.get("get_template"));
+        assertNotNull(toolRegistry.get("render_template"));
+
+        // The tools/list result is encoded once and reused
+        assertSame(toolRegistry.getToolsListResult(), toolRegistry.getToolsListResult());
+        JsonNode tools = objectMapper.readTree((String) toolRegistry.getToolsListResult().rawValue()).get("tools");
+        assertEquals(toolRegistry.getTools().size(), tools.size());
+    }
+
+    @Test
+    void testInputSchemaIsDerivedFromParameters() {
+        Map<String, Object> schema = toolRegistry.get("render_template").getInputSchema();
+        JsonNode json = objectMapper.valueToTree(schema);
+
+        assertEquals("object", json.get("type").asText());
+        assertEquals("string", json.at("/properties/name/type").asText());
+        assertEquals("object", json.at("/properties/parameters/type").asText());
+        assertEquals(2, json.get("required").size());
+
+        JsonNode templates = objectMapper.valueToTree(toolRegistry.get("get_templates").getInputSchema());
+        assertEquals(0, templates.get("required").size());
+    }
+
+    @Test
+    void testCallTool() {
+        Map<String, Object> result = toolRegistry.call("render_template", Map.of(
+                "name", "basic_delete",
+                "parameters", Map.of("table", "users", "condition", "id = 1")));
+
+        assertEquals(false, result.get("isError"));
+        JsonNode content = objectMapper.valueToTree(result.get("content"));
+        assertEquals("DELETE FROM users WHERE id = 1", content.at("/0/text").asText());
+    }
+
+    @Test
+    void testToolErrorsAreReportedInResult() {
+        Map<String, Object> result = toolRegistry.call("get_template", Map.of("name", "nonexistent"));
+
+        assertEquals(true, result.get("isError"));
+        assertEquals(List.of("content", "isError"), List.copyOf(result.keySet()));
+    }
+
+    @Test
+    void testToolErrorWithoutMessage() throws Exception {
+        MethodHandle failing = MethodHandles.dropArguments(MethodHandles.throwException(Object.class,
+                IllegalArgumentException.class).bindTo(new IllegalArgumentException()), 0, Object[].class);
+        ToolDefinition tool = new ToolDefinition("failing", "Always fails", Map.of(), new String[0],
+                new JavaType[0], new boolean[0], failing);
+
+        Map<String, Object> result = toolRegistry.invoke(tool, new Object[0]);
+
+        assertEquals(true, result.get("isError"));
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsString(result.get("content")));
+        assertTrue(content.at("/0/text").asText().contains("IllegalArgumentException"));
+    }
+
+    @Test
+    void testInvalidCalls() {
+        McpException unknown = assertThrows(McpException.class, () -> toolRegistry.call("no_such_tool", Map.of()));
+        assertEquals(McpError.INVALID_PARAMS, unknown.getCode());
+
+        McpException missing = assertThrows(McpException.class, () -> toolRegistry.call("get_template", null));
+        assertEquals(McpError.INVALID_PARAMS, missing.getCode());
+    }
+
+    @Test
+    void testOptionalPrimitiveParameterIsRejected() throws Exception {
+        Object bean = new Object() {
+            @McpTool(name = "limited", description = "Takes an optional limit")
+            public String limited(@ToolParam(name = "limit", description = "Limit", required = false) int limit) {
+                return String.valueOf(limit);
+            }
+        };
+        Method method = bean.getClass().getMethod("limited", int.class);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class,
+                () -> toolRegistry.define(bean, method, method.getAnnotation(McpTool.class)));
+        assertTrue(e.getMessage().contains("limit"));
+    }
+
+    @Test
+    void testGetSchemaSubset() throws Exception {
+        Map<String, Object> result = toolRegistry.call("get_schema", Map.of("tables", List.of("orders"), "depth", 1));
+        assertEquals(false, result.get("isError"));
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsString(result.get("content")));
+        JsonNode schema = objectMapper.readTree(content.at("/0/text").asText());
+        assertEquals(3, schema.get("tables").size());
+        assertEquals("users", schema.at("/tables/0/name").asText());
+
+        Map<String, Object> unknown = toolRegistry.call("get_schema", Map.of("tables", List.of("missing")));
+        assertEquals(true, unknown.get("isError"));
+    }
+
+    @Test
+    void testSuggestTablesWithSchema() throws Exception {
+        Map<String, Object> result = toolRegistry.call("suggest_tables",
+                Map.of("question", "products low on stock", "limit", 1, "include_schema", true));
+        assertEquals(false, result.get("isError"));
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsString(result.get("content")));
+        JsonNode suggestions = objectMapper.readTree(content.at("/0/text").asText());
+        assertEquals("products", suggestions.at("/tables/0/table").asText());
+        assertEquals(1, suggestions.at("/schema/tables").size());
+        assertEquals("products", suggestions.at("/schema/tables/0/name").asText());
+    }
+
+    @Test
+    void testSchemaToolsTakeDatabase() {
+        for (Map.Entry<String, Map<String, Object>> call : Map.of(
+                "find_join_path", Map.<String, Object>of("tables", List.of("users", "order_items")),
+                "search_schema", Map.<String, Object>of("query", "email"),
+                "suggest_tables", Map.<String, Object>of("question", "products low on stock")).entrySet()) {
+            Map<String, Object> arguments = new HashMap<>(call.getValue());
+            arguments.put("database", "ecommerce");
+            assertEquals(false, toolRegistry.call(call.getKey(), arguments).get("isError"), call.getKey());
+            arguments.put("database", "missing");
+            assertEquals(true, toolRegistry.call(call.getKey(), arguments).get("isError"), call.getKey());
+        }
+    }
+
+    @Test
+    void testPaginatedTemplates() throws Exception {
+        Map<String, Object> first = toolRegistry.call("get_templates", Map.of("page_size", 2));
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsString(first.get("content")));
+        JsonNode page = objectMapper.readTree(content.at("/0/text").asText());
+        assertEquals(2, page.get("templates").size());
+        assertTrue(page.has("nextCursor"));
+
+        Map<String, Object> second = toolRegistry.call("get_templates",
+                Map.of("page_size", 2, "cursor", page.get("nextCursor").asText()));
+        JsonNode next = objectMapper.readTree(objectMapper.readTree(objectMapper.writeValueAsString(
+                second.get("content"))).at("/0/text").asText());
+        assertNotEquals(page.at("/templates/0/name"), next.at("/templates/0/name"));
+
+        McpException stale = assertThrows(McpException.class, () -> toolRegistry.call("get_templates",
+                Map.of("type", "SELECT", "cursor", page.get("nextCursor").asText())));
+        assertEquals(McpError.INVALID_PARAMS, stale.getCode());
+    }
+
+    @Test
+    void testValidateSqlBatch() throws Exception {
+        Map<String, Object> result = toolRegistry.call("validate_sql", Map.of("statements", List.of(
+                "SELECT name, price FROM products WHERE stock > 0",
+                "SELECT nme FROM products")));
+        assertEquals(false, result.get("isError"));
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsString(result.get("content")));
+        JsonNode results = objectMapper.readTree(content.at("/0/text").asText());
+        assertEquals(2, results.size());
+        assertTrue(results.at("/0/valid").asBoolean());
+        assertFalse(results.at("/1/valid").asBoolean());
+        assertEquals("name", results.at("/1/diagnostics/0/suggestion").asText());
+
+        Map<String, Object> neither = toolRegistry.call("validate_sql", Map.of());
+        assertEquals(true, neither.get("isError"));
+    }
+
+    @Test
+    void testGetSchemaFormats() throws Exception {
+        String ddl = text(toolRegistry.call("get_schema", Map.of("format", "ddl")));
+        assertTrue(ddl.startsWith("-- sample_ecommerce"));
+        assertTrue(ddl.contains("CREATE TABLE orders (\n  id INTEGER PRIMARY KEY,"));
+        assertTrue(ddl.contains("FOREIGN KEY (user_id) REFERENCES users (id)"));
+
+        String compact = text(toolRegistry.call("get_schema", Map.of("format", "compact")));
+        assertEquals(5, compact.lines().count());
+        assertTrue(compact.contains("user_id INTEGER -> users.id"));
+        assertTrue(compact.length() < ddl.length());
+
+        // The best matching table is kept and the rest reported as omitted
+        String budgeted = text(toolRegistry.call("get_schema",
+                Map.of("format", "compact", "max_chars", 250, "question", "products low on stock")));
+        assertTrue(budgeted.length() <= 250);
+        assertTrue(budgeted.contains("products("));
+        assertTrue(budgeted.contains("more tables omitted"));
+
+        JsonNode json = objectMapper.readTree(text(toolRegistry.call("get_schema",
+                Map.of("max_tokens", 300, "tables", List.of("orders")))));
+        assertEquals("orders", json.at("/tables/0/name").asText());
+        assertTrue(json.get("tables").size() < 3);
+        assertTrue(json.get("omittedTables").asInt() > 0);
+
+        assertEquals(true, toolRegistry.call("get_schema", Map.of("format", "xml")).get("isError"));
+    }
+
+    private String text(Map<String, Object> result) throws Exception {
+        assertEquals(false, result.get("isError"));
+        JsonNode content = objectMapper.readTree(objectMapper.writeValueAsString(result.get("content")));
+        return content.at("/0/text").asText();
+    }
+}